@@ -4,6 +4,7 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.TimeZone;
 
@@ -16,9 +17,12 @@ import java.util.TimeZone;
  * It also uses {@link EnableCaching} to activate Spring's caching abstraction layer,
  * allowing for the use of caching annotations like @Cacheable, @CachePut, and @CacheEvict
  * throughout the application.
+ *
+ * {@link EnableScheduling} activates {@code @Scheduled} tasks such as the outbox relay.
  */
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class BonreCremeApplication {
 
     /**
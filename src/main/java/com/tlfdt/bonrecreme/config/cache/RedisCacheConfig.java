@@ -1,13 +1,23 @@
 package com.tlfdt.bonrecreme.config.cache;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tlfdt.bonrecreme.config.properties.NearCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -22,6 +32,13 @@ import java.util.Objects;
 @Configuration
 public class RedisCacheConfig {
 
+    /**
+     * The version of the cached value format, part of every cache key. Bump it whenever the
+     * serialized form changes, so entries written in the old format are never read back; they
+     * simply expire.
+     */
+    static final String CACHE_FORMAT_VERSION = "v2";
+
     @Value("${cache.default.ttl}")
     private long defaultTtlSeconds;
 
@@ -45,17 +62,80 @@ public class RedisCacheConfig {
 
     /**
      * Defines the central cache configuration for the application.
+     * <p>
+     * Cached values are written with their type so they read back as the original DTOs rather than
+     * as maps. Typing is enabled on a copy of the ObjectMapper, so the shared mapper stays untyped.
+     * Only type ids naming the application's own packages or the JDK collection, time and math types
+     * are accepted when reading; any other type id in Redis fails deserialization instead of being
+     * instantiated.
+     * <p>
+     * Keys are prefixed with {@link #CACHE_FORMAT_VERSION}, so untyped entries written before typing
+     * was enabled are ignored instead of failing to deserialize.
      *
      * @param objectMapper The securely configured ObjectMapper for serialization.
      * @return The RedisCacheConfiguration bean.
      */
     @Bean
     public RedisCacheConfiguration cacheConfiguration(ObjectMapper objectMapper) {
+        PolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.tlfdt.bonrecreme.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.math.")
+                .build();
+        ObjectMapper cacheObjectMapper = objectMapper.copy()
+                .activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofSeconds(defaultTtlSeconds))
                 .disableCachingNullValues()
+                .computePrefixWith(cacheName -> CACHE_FORMAT_VERSION + "::" + cacheName + "::")
                 .serializeKeysWith(SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer(objectMapper)));
+                .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer(cacheObjectMapper)));
+    }
+
+    /**
+     * Creates the application's cache manager: Redis for every cache, with an in-process near
+     * cache in front of the caches listed in {@link NearCacheProperties}.
+     *
+     * @param connectionFactory  The Redis connection factory.
+     * @param cacheConfiguration The central Redis cache configuration.
+     * @param redisTemplate      The template used to publish invalidations.
+     * @param objectMapper       The ObjectMapper used for invalidation messages.
+     * @param properties         The near cache settings.
+     * @param meterRegistry      The registry for the per-tier cache metrics.
+     * @return The two-tier cache manager.
+     */
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                           RedisCacheConfiguration cacheConfiguration,
+                                           StringRedisTemplate redisTemplate,
+                                           ObjectMapper objectMapper,
+                                           NearCacheProperties properties,
+                                           MeterRegistry meterRegistry) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return new TwoTierCacheManager(redisCacheManager, redisTemplate, objectMapper, properties, meterRegistry);
+    }
+
+    /**
+     * Subscribes the cache manager to the invalidations published by other instances.
+     *
+     * @param connectionFactory The Redis connection factory.
+     * @param cacheManager      The two-tier cache manager.
+     * @param properties        The near cache settings holding the channel name.
+     * @return The listener container.
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           TwoTierCacheManager cacheManager,
+                                                                           NearCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
     }
 
     @Bean
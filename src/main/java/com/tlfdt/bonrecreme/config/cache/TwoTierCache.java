@@ -0,0 +1,193 @@
+package com.tlfdt.bonrecreme.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A cache that keeps an in-process Caffeine near cache in front of a Redis cache.
+ * <p>
+ * Reads try the near cache first and fall back to Redis, copying what they find into the
+ * near cache. Writes and evictions go to both tiers and are announced to the other instances,
+ * which drop their near copy. Filling a miss through {@link #get(Object, Callable)} is not a
+ * write and is not announced; {@link #put} is, so {@code @Cacheable} methods on these caches
+ * use {@code sync = true} to fill through the loader and leave {@code put} to {@code @CachePut}.
+ * Near cache keys are the string form of the cache key, which is
+ * also how the Redis tier and the invalidation messages identify an entry.
+ * <p>
+ * Per tier, it records {@code cache.tier.requests} (tagged {@code result} hit or miss) and
+ * the {@code cache.tier.latency} timer.
+ */
+public class TwoTierCache implements Cache {
+
+    /**
+     * Announces a local change to the other instances.
+     */
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+
+        /**
+         * @param cacheName The name of the changed cache.
+         * @param key       The string form of the changed key, or {@code null} if the whole cache was cleared.
+         */
+        void publish(String cacheName, String key);
+    }
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> near;
+    private final InvalidationPublisher invalidationPublisher;
+
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Timer nearLatency;
+    private final Timer remoteLatency;
+
+    public TwoTierCache(Cache remote,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> near,
+                        InvalidationPublisher invalidationPublisher,
+                        MeterRegistry meterRegistry) {
+        this.name = remote.getName();
+        this.remote = remote;
+        this.near = near;
+        this.invalidationPublisher = invalidationPublisher;
+        this.nearHits = requests(meterRegistry, "near", "hit");
+        this.nearMisses = requests(meterRegistry, "near", "miss");
+        this.remoteHits = requests(meterRegistry, "remote", "hit");
+        this.remoteMisses = requests(meterRegistry, "remote", "miss");
+        this.nearLatency = latency(meterRegistry, "near");
+        this.remoteLatency = latency(meterRegistry, "remote");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = nearKey(key);
+        Object value = nearLatency.record(() -> near.getIfPresent(nearKey));
+        if (value != null) {
+            nearHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        nearMisses.increment();
+
+        ValueWrapper wrapper = remoteLatency.record(() -> remote.get(key));
+        if (wrapper == null || wrapper.get() == null) {
+            remoteMisses.increment();
+            return wrapper;
+        }
+        remoteHits.increment();
+        near.put(nearKey, wrapper.get());
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String nearKey = nearKey(key);
+        Object value = nearLatency.record(() -> near.getIfPresent(nearKey));
+        if (value != null) {
+            nearHits.increment();
+            return (T) value;
+        }
+        nearMisses.increment();
+
+        AtomicBoolean loaded = new AtomicBoolean();
+        T result = remoteLatency.record(() -> remote.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        }));
+        (loaded.get() ? remoteMisses : remoteHits).increment();
+        if (result != null) {
+            near.put(nearKey, result);
+        }
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String nearKey = nearKey(key);
+        if (value != null) {
+            near.put(nearKey, value);
+        } else {
+            near.invalidate(nearKey);
+        }
+        invalidationPublisher.publish(name, nearKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String nearKey = nearKey(key);
+        near.invalidate(nearKey);
+        invalidationPublisher.publish(name, nearKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        near.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    /**
+     * Drops a near cache entry because another instance changed it.
+     *
+     * @param key The string form of the key, or {@code null} to drop every entry.
+     */
+    void invalidateNear(String key) {
+        if (key == null) {
+            near.invalidateAll();
+        } else {
+            near.invalidate(key);
+        }
+    }
+
+    private static String nearKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("Cache lookups per tier")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Timer latency(MeterRegistry meterRegistry, String tier) {
+        return Timer.builder("cache.tier.latency")
+                .description("Cache lookup latency per tier")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+}
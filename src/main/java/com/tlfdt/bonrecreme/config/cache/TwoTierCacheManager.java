@@ -0,0 +1,156 @@
+package com.tlfdt.bonrecreme.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tlfdt.bonrecreme.config.properties.NearCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A cache manager that serves the configured caches through a {@link TwoTierCache} and every
+ * other cache straight from Redis.
+ * <p>
+ * Each instance publishes its cache writes on a Redis pub/sub channel and, as a
+ * {@link MessageListener} on that channel, drops the near cache entries other instances
+ * changed. Messages carry the publishing instance's ID so an instance ignores its own.
+ * <p>
+ * Other in-process caches can share the channel: they announce their changes with
+ * {@link #publishInvalidation} under a name of their own and hear about other instances' changes
+ * through {@link #addInvalidationListener}.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    /**
+     * An invalidation broadcast to the other instances.
+     *
+     * @param origin    The ID of the publishing instance.
+     * @param cacheName The name of the changed cache.
+     * @param key       The string form of the changed key, or {@code null} if the whole cache was cleared.
+     */
+    record Invalidation(String origin, String cacheName, String key) {
+    }
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final NearCacheProperties properties;
+    private final Set<String> nearCacheNames;
+    private final MeterRegistry meterRegistry;
+
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager,
+                               StringRedisTemplate redisTemplate,
+                               ObjectMapper objectMapper,
+                               NearCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.nearCacheNames = Set.copyOf(properties.getCacheNames());
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> nearCacheNames.contains(n) ? twoTier(remote) : remote);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * Registers a listener for the invalidations other instances publish under the given name.
+     *
+     * @param name     The name the invalidations are published under.
+     * @param listener Called with the changed key, or {@code null} if everything changed.
+     */
+    public void addInvalidationListener(String name, Consumer<String> listener) {
+        listeners.computeIfAbsent(name, n -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Announces a change to the other instances. Failures are logged, not thrown; the receivers
+     * must bound their staleness with a TTL.
+     *
+     * @param name The name of the changed cache.
+     * @param key  The string form of the changed key, or {@code null} if everything changed.
+     */
+    public void publishInvalidation(String name, String key) {
+        publish(name, key);
+    }
+
+    /**
+     * Drops the near cache entry named by an invalidation from another instance and notifies
+     * the listeners registered for its name.
+     *
+     * @param message The invalidation message.
+     * @param pattern The channel pattern, unused.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (instanceId.equals(invalidation.origin())) {
+            return;
+        }
+        if (caches.get(invalidation.cacheName()) instanceof TwoTierCache cache) {
+            cache.invalidateNear(invalidation.key());
+        }
+        listeners.getOrDefault(invalidation.cacheName(), List.of()).forEach(listener -> listener.accept(invalidation.key()));
+    }
+
+    private TwoTierCache twoTier(Cache remote) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> near = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+                .build();
+        return new TwoTierCache(remote, near, this::publish, meterRegistry);
+    }
+
+    private void publish(String cacheName, String key) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Invalidation(instanceId, cacheName, key));
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), payload);
+        } catch (Exception e) {
+            // The write itself succeeded; other instances fall back to the near cache TTL.
+            log.warn("Failed to publish invalidation for cache '{}', key '{}': {}", cacheName, key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.tlfdt.bonrecreme.config.database;
+
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the expression indexes behind the menu name search, which JPA cannot declare.
+ * <p>
+ * Substring searches on {@code lower(name)} are served by a pg_trgm GIN index. If the extension
+ * cannot be installed (e.g. missing privileges), a {@code text_pattern_ops} index is created
+ * instead, which still serves prefix searches. All statements are idempotent.
+ */
+@Component
+@Slf4j
+public class MenuSearchIndexInitializer {
+
+    static final String CREATE_TRIGRAM_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+    static final String CREATE_TRIGRAM_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_menu_items_name_trgm ON menu_items USING gin (lower(name) gin_trgm_ops)";
+    static final String CREATE_PREFIX_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_menu_items_name_prefix ON menu_items (lower(name) text_pattern_ops)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MenuProperties menuProperties;
+
+    public MenuSearchIndexInitializer(@Qualifier("restaurantDataSource") DataSource restaurantDataSource,
+                                      MenuProperties menuProperties) {
+        this.jdbcTemplate = new JdbcTemplate(restaurantDataSource);
+        this.menuProperties = menuProperties;
+    }
+
+    /**
+     * Creates the indexes once the schema has been updated and the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndexes() {
+        if (!menuProperties.isSearchIndexesEnabled()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute(CREATE_TRIGRAM_EXTENSION);
+            jdbcTemplate.execute(CREATE_TRIGRAM_INDEX);
+            log.info("Menu name search uses the trigram index.");
+            return;
+        } catch (DataAccessException e) {
+            log.warn("Could not create the trigram index for menu search, falling back to a prefix index: {}", e.getMessage());
+        }
+        try {
+            jdbcTemplate.execute(CREATE_PREFIX_INDEX);
+        } catch (DataAccessException e) {
+            log.warn("Could not create the prefix index for menu search: {}", e.getMessage());
+        }
+    }
+}
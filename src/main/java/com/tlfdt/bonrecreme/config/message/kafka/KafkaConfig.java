@@ -1,20 +1,36 @@
 package com.tlfdt.bonrecreme.config.message.kafka;
 
+import com.tlfdt.bonrecreme.config.properties.KafkaConsumerProperties;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.List;
 
 /**
- * Unified configuration for Kafka consumers. The producer configuration is
+ * Unified configuration for Kafka consumers and topics. The producer configuration is
  * now handled entirely by Spring Boot's auto-configuration based on the
  * properties in application.yml.
  */
 @Configuration
 public class KafkaConfig {
 
+    /**
+     * The topics carrying order and bill events, which are created with the configured partition count.
+     */
+    private static final List<String> EVENT_TOPICS = List.of(
+            "order-topic",
+            "update-order-topic",
+            "customer-order-update-topic",
+            "serve-order-topic",
+            "paid-bills-topic");
+
     /**
      * Creates the Kafka ConsumerFactory.
      * It uses the properties defined in application.yml, including the bootstrap servers, group ID,
@@ -32,20 +48,60 @@ public class KafkaConfig {
 
     /**
      * Creates the container factory for Kafka listeners.
-     * This factory is used by the @KafkaListener annotation to create message consumers.
+     * This factory is used by the @KafkaListener annotation to create message consumers
+     * that receive one record at a time.
      *
-     * @param consumerFactory The configured ConsumerFactory.
+     * @param consumerFactory    The configured ConsumerFactory.
+     * @param consumerProperties The listener concurrency settings.
      * @return A ConcurrentKafkaListenerContainerFactory.
      */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
-            ConsumerFactory<String, Object> consumerFactory) {
+            ConsumerFactory<String, Object> consumerFactory, KafkaConsumerProperties consumerProperties) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(consumerProperties.effectiveConcurrency());
+        return factory;
+    }
+
+    /**
+     * Creates the container factory for batch listeners, which receive every record of a poll
+     * as one list. Each listener runs one consumer thread per partition, up to the configured
+     * concurrency, so throughput scales with the partition count.
+     *
+     * @param consumerFactory    The configured ConsumerFactory.
+     * @param consumerProperties The listener concurrency settings.
+     * @return A ConcurrentKafkaListenerContainerFactory in batch mode.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory, KafkaConsumerProperties consumerProperties) {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(consumerProperties.effectiveConcurrency());
         return factory;
     }
 
+    /**
+     * Declares the event topics so they exist with enough partitions for the listener concurrency.
+     * Spring Boot's {@link KafkaAdmin} creates missing topics and adds partitions to existing ones at startup.
+     *
+     * @param consumerProperties The partition and replication settings.
+     * @return The topic declarations.
+     */
+    @Bean
+    public KafkaAdmin.NewTopics eventTopics(KafkaConsumerProperties consumerProperties) {
+        return new KafkaAdmin.NewTopics(EVENT_TOPICS.stream()
+                .map(name -> TopicBuilder.name(name)
+                        .partitions(consumerProperties.getPartitions())
+                        .replicas(consumerProperties.getReplicationFactor())
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
     // The ProducerFactory and KafkaTemplate beans have been removed.
     // Spring Boot will auto-configure them based on your application.yml settings,
     // which is the recommended approach. You can directly @Autowired KafkaTemplate
@@ -1,12 +1,18 @@
 package com.tlfdt.bonrecreme.config.message.kafka.producer;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A generic, type-safe service for producing messages to Kafka topics.
@@ -14,6 +20,12 @@ import java.util.concurrent.CompletableFuture;
  * This service leverages Spring's configured {@link KafkaTemplate} to automatically
  * serialize Java objects to JSON. It also provides robust, asynchronous error
  * handling for all outgoing messages.
+ * <p>
+ * Instead of logging every send, it records per-topic metrics:
+ * <ul>
+ *     <li>{@code kafka.producer.messages} - sent messages, tagged by {@code outcome} (success or failure).</li>
+ *     <li>{@code kafka.producer.ack.latency} - time from send to broker acknowledgement, with a percentile histogram.</li>
+ * </ul>
  */
 @Service
 @RequiredArgsConstructor
@@ -24,37 +36,84 @@ public class KafkaProducerService {
      * The KafkaTemplate is configured to handle Object serialization.
      */
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
 
     /**
      * Sends a payload to a specified Kafka topic asynchronously.
      * <p>
      * The method automatically serializes the payload object to JSON. It handles the
-     * asynchronous response from Kafka, logging success or failure appropriately.
+     * asynchronous response from Kafka, recording success or failure appropriately.
      *
      * @param topic   The target Kafka topic.
      * @param payload The object to be sent as the message payload.
      * @param <T>     The type of the payload object.
      */
     public <T> void sendMessage(String topic, T payload) {
-        log.info("Attempting to send message to topic: {}", topic);
+        sendMessage(topic, null, payload);
+    }
+
+    /**
+     * Sends a keyed payload to a specified Kafka topic asynchronously.
+     * <p>
+     * Messages with the same key land on the same partition and keep their relative order.
+     * The returned future completes when the broker acknowledges the message, which lets
+     * callers such as the outbox relay confirm delivery.
+     *
+     * @param topic   The target Kafka topic.
+     * @param key     The message key, or {@code null} for no key.
+     * @param payload The object to be sent as the message payload.
+     * @param <T>     The type of the payload object.
+     * @return A future that completes with the send result once the broker acknowledges it.
+     */
+    public <T> CompletableFuture<SendResult<String, Object>> sendMessage(String topic, String key, T payload) {
+        TopicMeters meters = topicMeters.computeIfAbsent(topic, this::registerMeters);
+        long startNanos = System.nanoTime();
 
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, payload);
+        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, key, payload);
 
         future.whenComplete((result, ex) -> {
             if (ex == null) {
-                // Success
-                log.info("Successfully sent message to topic [{}], partition [{}], offset [{}]",
-                        result.getRecordMetadata().topic(),
-                        result.getRecordMetadata().partition(),
-                        result.getRecordMetadata().offset());
+                meters.ackLatency().record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                meters.succeeded().increment();
+                if (log.isDebugEnabled()) {
+                    log.debug("Sent message to topic [{}], partition [{}], offset [{}]",
+                            result.getRecordMetadata().topic(),
+                            result.getRecordMetadata().partition(),
+                            result.getRecordMetadata().offset());
+                }
             } else {
-                // Failure
+                meters.failed().increment();
                 log.error("Failed to send message to topic [{}]. Error: {}",
                         topic,
                         ex.getMessage());
-                // In a production system, you might add logic here to send the failed message
-                // to a Dead Letter Queue (DLQ) or trigger an alert.
             }
         });
+        return future;
+    }
+
+    private TopicMeters registerMeters(String topic) {
+        return new TopicMeters(
+                Counter.builder("kafka.producer.messages")
+                        .description("Messages sent to Kafka")
+                        .tag("topic", topic)
+                        .tag("outcome", "success")
+                        .register(meterRegistry),
+                Counter.builder("kafka.producer.messages")
+                        .description("Messages sent to Kafka")
+                        .tag("topic", topic)
+                        .tag("outcome", "failure")
+                        .register(meterRegistry),
+                Timer.builder("kafka.producer.ack.latency")
+                        .description("Time from send until the broker acknowledges the message")
+                        .tag("topic", topic)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+
+    /**
+     * The meters of one topic, resolved once so that sends do not look them up in the registry.
+     */
+    private record TopicMeters(Counter succeeded, Counter failed, Timer ackLatency) {
     }
-}
\ No newline at end of file
+}
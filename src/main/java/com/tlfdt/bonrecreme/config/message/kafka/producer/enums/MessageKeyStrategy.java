@@ -0,0 +1,44 @@
+package com.tlfdt.bonrecreme.config.message.kafka.producer.enums;
+
+/**
+ * Defines how order-related Kafka messages are keyed.
+ * <p>
+ * Kafka only guarantees ordering within a partition, and messages with the same key
+ * always land on the same partition. The key therefore decides which events keep their
+ * relative order.
+ */
+public enum MessageKeyStrategy {
+
+    /**
+     * Messages are sent without a key and spread across partitions.
+     * No ordering is guaranteed between events of the same order.
+     */
+    NONE,
+
+    /**
+     * Messages are keyed by order ID, so the events of one order are consumed in order.
+     * Events without an order, such as bill payments, fall back to the table ID.
+     */
+    ORDER,
+
+    /**
+     * Messages are keyed by table ID, so every event of one table is consumed in order.
+     */
+    TABLE;
+
+    /**
+     * Resolves the message key for an event.
+     *
+     * @param orderId The order the event concerns, may be {@code null}.
+     * @param tableId The table the event concerns, may be {@code null}.
+     * @return The message key, or {@code null} if the message should not be keyed.
+     */
+    public String keyFor(Long orderId, Long tableId) {
+        Long key = switch (this) {
+            case NONE -> null;
+            case ORDER -> orderId != null ? orderId : tableId;
+            case TABLE -> tableId;
+        };
+        return key != null ? key.toString() : null;
+    }
+}
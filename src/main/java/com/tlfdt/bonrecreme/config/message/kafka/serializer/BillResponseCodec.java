@@ -0,0 +1,95 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillResponseDTO;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary codec for {@link BillResponseDTO}.
+ * <p>
+ * Schema version 1: bill ID, table ID, total amount, bill time, paid flag, then the order
+ * list. Each order holds its ID, total price and item list; each item its name, quantity
+ * and price. Amounts keep their exact scale.
+ */
+public final class BillResponseCodec implements EventCodec<BillResponseDTO> {
+
+    @Override
+    public Class<BillResponseDTO> type() {
+        return BillResponseDTO.class;
+    }
+
+    @Override
+    public String typeId() {
+        return "bill-response";
+    }
+
+    @Override
+    public int schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(BillResponseDTO event, CompactOutput output) {
+        output.writeNullableLong(event.getBillId());
+        output.writeNullableLong(event.getTableId());
+        output.writeDecimal(event.getTotalAmount());
+        output.writeDateTime(event.getBillTime());
+        output.writeBoolean(event.isPaid());
+        output.writeSize(event.getOrders());
+        if (event.getOrders() == null) {
+            return;
+        }
+        for (BillResponseDTO.OrderDTO order : event.getOrders()) {
+            output.writeNullableLong(order.getOrderId());
+            output.writeDecimal(order.getTotalPrice());
+            output.writeSize(order.getItems());
+            if (order.getItems() != null) {
+                for (BillResponseDTO.OrderItemDTO item : order.getItems()) {
+                    output.writeString(item.getName());
+                    output.writeInt(item.getQuantity());
+                    output.writeDecimal(item.getPrice());
+                }
+            }
+        }
+    }
+
+    @Override
+    public BillResponseDTO read(CompactInput input, int schemaVersion) {
+        if (schemaVersion != 1) {
+            throw new SerializationException("Unsupported " + typeId() + " schema version: " + schemaVersion);
+        }
+        Long billId = input.readNullableLong();
+        Long tableId = input.readNullableLong();
+        BigDecimal totalAmount = input.readDecimal();
+        LocalDateTime billTime = input.readDateTime();
+        boolean paid = input.readBoolean();
+
+        int orderCount = input.readSize();
+        List<BillResponseDTO.OrderDTO> orders = null;
+        if (orderCount >= 0) {
+            orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) {
+                orders.add(readOrder(input));
+            }
+        }
+        return new BillResponseDTO(billId, tableId, totalAmount, billTime, paid, orders);
+    }
+
+    private static BillResponseDTO.OrderDTO readOrder(CompactInput input) {
+        Long orderId = input.readNullableLong();
+        BigDecimal totalPrice = input.readDecimal();
+        int itemCount = input.readSize();
+        List<BillResponseDTO.OrderItemDTO> items = null;
+        if (itemCount >= 0) {
+            items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(new BillResponseDTO.OrderItemDTO(input.readString(), input.readInt(), input.readDecimal()));
+            }
+        }
+        return new BillResponseDTO.OrderDTO(orderId, totalPrice, items);
+    }
+}
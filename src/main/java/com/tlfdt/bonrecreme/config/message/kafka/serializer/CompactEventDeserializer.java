@@ -0,0 +1,60 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * A Kafka value deserializer for records written by {@link CompactEventSerializer}.
+ * <p>
+ * Records carrying an {@link EventCodecs#TYPE_HEADER} are decoded by the matching
+ * {@link EventCodec}. Records without it, such as JSON messages produced before the switch
+ * or by other producers, are delegated to Spring's {@link JsonDeserializer}, configured from
+ * the same consumer properties, including its trusted packages.
+ */
+public class CompactEventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        Header typeHeader = headers == null ? null : headers.lastHeader(EventCodecs.TYPE_HEADER);
+        if (typeHeader == null) {
+            return jsonDeserializer.deserialize(topic, headers, data);
+        }
+        if (data == null) {
+            return null;
+        }
+
+        String typeId = new String(typeHeader.value(), StandardCharsets.UTF_8);
+        EventCodec<?> codec = EventCodecs.forTypeId(typeId);
+        if (codec == null) {
+            throw new SerializationException("No codec registered for event type '" + typeId + "' on topic " + topic);
+        }
+        Header schemaHeader = headers.lastHeader(EventCodecs.SCHEMA_HEADER);
+        if (schemaHeader == null || schemaHeader.value().length != 1) {
+            throw new SerializationException("Missing or invalid schema version for event type '" + typeId + "' on topic " + topic);
+        }
+        return codec.read(new CompactInput(data), schemaHeader.value()[0] & 0xFF);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * A Kafka value serializer that writes events with a registered {@link EventCodec} in the
+ * compact binary format. The type ID and schema version go into the {@link EventCodecs#TYPE_HEADER}
+ * and {@link EventCodecs#SCHEMA_HEADER} headers, so consumers need no class names or trusted-package checks.
+ * <p>
+ * Any other payload is delegated to Spring's {@link JsonSerializer}, configured from the same
+ * producer properties, so unregistered types keep working unchanged.
+ */
+public class CompactEventSerializer implements Serializer<Object> {
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        EventCodec<Object> codec = codecFor(data);
+        if (codec == null || headers == null) {
+            return jsonSerializer.serialize(topic, headers, data);
+        }
+
+        CompactOutput output = new CompactOutput(256);
+        codec.write(data, output);
+        headers.remove(EventCodecs.TYPE_HEADER);
+        headers.remove(EventCodecs.SCHEMA_HEADER);
+        headers.add(EventCodecs.TYPE_HEADER, codec.typeId().getBytes(StandardCharsets.UTF_8));
+        headers.add(EventCodecs.SCHEMA_HEADER, new byte[]{(byte) codec.schemaVersion()});
+        return output.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EventCodec<Object> codecFor(Object data) {
+        return (EventCodec<Object>) EventCodecs.forType(data.getClass());
+    }
+}
@@ -0,0 +1,128 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Reads values written by {@link CompactOutput}. Truncated or malformed input fails with a
+ * {@link SerializationException}. This class is not thread-safe.
+ */
+public final class CompactInput {
+
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private final byte[] data;
+    private int position;
+
+    public CompactInput(byte[] data) {
+        this.data = data;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public long readLong() {
+        long raw = readUnsignedVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public int readInt() {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new SerializationException("Integer value out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    public Long readNullableLong() {
+        return readBoolean() ? readLong() : null;
+    }
+
+    public Integer readNullableInt() {
+        return readBoolean() ? readInt() : null;
+    }
+
+    public String readString() {
+        int length = readLength();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public BigDecimal readDecimal() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int scale = readInt();
+        int length = (int) readUnsignedVarLong();
+        require(length);
+        BigInteger unscaled = new BigInteger(Arrays.copyOfRange(data, position, position + length));
+        position += length;
+        return new BigDecimal(unscaled, scale);
+    }
+
+    public LocalDateTime readDateTime() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long epochSecond = readLong();
+        int nanos = readInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * Reads a collection size written by {@link CompactOutput#writeSize}.
+     *
+     * @return The size, or {@code -1} for a {@code null} collection.
+     */
+    public int readSize() {
+        long raw = readUnsignedVarLong();
+        // Every element takes at least one byte, which bounds the size by the remaining input.
+        if (raw < 0 || raw - 1 > data.length - position) {
+            throw new SerializationException("Collection size " + (raw - 1) + " exceeds the remaining input.");
+        }
+        return (int) raw - 1;
+    }
+
+    private int readLength() {
+        long raw = readUnsignedVarLong();
+        if (raw == 0) {
+            return -1;
+        }
+        require(raw - 1);
+        return (int) raw - 1;
+    }
+
+    private long readUnsignedVarLong() {
+        long value = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint.");
+    }
+
+    private int readByte() {
+        require(1);
+        return data[position++];
+    }
+
+    private void require(long length) {
+        if (length < 0 || length > data.length - position) {
+            throw new SerializationException("Unexpected end of compact event payload.");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A growable buffer that writes primitives in a compact binary form: integers as
+ * zig-zag varints, strings as length-prefixed UTF-8 and nullable values behind a
+ * one-byte presence flag. This class is not thread-safe.
+ */
+public final class CompactOutput {
+
+    private byte[] buffer;
+    private int size;
+
+    public CompactOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a signed value as a zig-zag encoded varint; small magnitudes take one byte.
+     */
+    public void writeLong(long value) {
+        writeUnsignedVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeInt(int value) {
+        writeLong(value);
+    }
+
+    public void writeNullableLong(Long value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeLong(value);
+        }
+    }
+
+    public void writeNullableInt(Integer value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeInt(value);
+        }
+    }
+
+    /**
+     * Writes a string as its UTF-8 length plus one, followed by the bytes; zero marks {@code null}.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeUnsignedVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedVarLong(bytes.length + 1L);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Writes a decimal as its scale followed by the two's-complement bytes of its unscaled value.
+     */
+    public void writeDecimal(BigDecimal value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeInt(value.scale());
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeUnsignedVarLong(unscaled.length);
+            writeBytes(unscaled);
+        }
+    }
+
+    /**
+     * Writes a timestamp as UTC epoch seconds and nanoseconds, matching how the application
+     * treats {@link LocalDateTime} values on the wire.
+     */
+    public void writeDateTime(LocalDateTime value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeInt(value.getNano());
+        }
+    }
+
+    /**
+     * Writes a collection size plus one; zero marks a {@code null} collection.
+     */
+    public void writeSize(Collection<?> collection) {
+        writeUnsignedVarLong(collection == null ? 0 : collection.size() + 1L);
+    }
+
+    /**
+     * Returns a copy of the bytes written so far.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void writeUnsignedVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+/**
+ * A hand-written binary codec for one event type sent over Kafka.
+ * <p>
+ * The type ID and schema version travel in record headers, so consumers pick the codec
+ * without inspecting the payload or resolving class names. A codec must keep reading every
+ * schema version it has ever written, so that records produced before an upgrade remain
+ * readable; new fields are introduced by bumping {@link #schemaVersion()}.
+ *
+ * @param <T> The event type.
+ */
+public interface EventCodec<T> {
+
+    /**
+     * Returns the event class this codec handles.
+     *
+     * @return The event class.
+     */
+    Class<T> type();
+
+    /**
+     * Returns the stable, class-name independent identifier written to the type header.
+     *
+     * @return The type ID.
+     */
+    String typeId();
+
+    /**
+     * Returns the schema version this codec writes.
+     *
+     * @return The current schema version.
+     */
+    int schemaVersion();
+
+    /**
+     * Writes an event in the current schema version.
+     *
+     * @param event  The event to encode.
+     * @param output The destination buffer.
+     */
+    void write(T event, CompactOutput output);
+
+    /**
+     * Reads an event written in the given schema version.
+     *
+     * @param input         The encoded event.
+     * @param schemaVersion The schema version from the record header.
+     * @return The decoded event.
+     */
+    T read(CompactInput input, int schemaVersion);
+}
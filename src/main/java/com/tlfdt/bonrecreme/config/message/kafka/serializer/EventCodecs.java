@@ -0,0 +1,59 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The registry of binary event codecs and the record headers that identify them.
+ * <p>
+ * Kafka instantiates serializers reflectively, so the registry is static. To move another
+ * event type onto the compact format, implement an {@link EventCodec} and add it to {@link #CODECS}.
+ */
+public final class EventCodecs {
+
+    /**
+     * The record header holding the codec's type ID.
+     */
+    public static final String TYPE_HEADER = "event-type";
+
+    /**
+     * The record header holding the schema version as a single byte.
+     */
+    public static final String SCHEMA_HEADER = "event-schema";
+
+    private static final List<EventCodec<?>> CODECS = List.of(
+            new OrderNotificationCodec(),
+            new BillResponseCodec());
+
+    private static final Map<Class<?>, EventCodec<?>> BY_TYPE = CODECS.stream()
+            .collect(Collectors.toUnmodifiableMap(EventCodec::type, Function.identity()));
+
+    private static final Map<String, EventCodec<?>> BY_TYPE_ID = CODECS.stream()
+            .collect(Collectors.toUnmodifiableMap(EventCodec::typeId, Function.identity()));
+
+    private EventCodecs() {
+    }
+
+    /**
+     * Returns the codec for an event class.
+     *
+     * @param type The exact event class.
+     * @return The codec, or {@code null} if the type has no compact encoding.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EventCodec<T> forType(Class<T> type) {
+        return (EventCodec<T>) BY_TYPE.get(type);
+    }
+
+    /**
+     * Returns the codec for a type ID read from a record header.
+     *
+     * @param typeId The type ID.
+     * @return The codec, or {@code null} if the ID is unknown.
+     */
+    public static EventCodec<?> forTypeId(String typeId) {
+        return BY_TYPE_ID.get(typeId);
+    }
+}
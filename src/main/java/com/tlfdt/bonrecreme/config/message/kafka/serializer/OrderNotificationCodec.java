@@ -0,0 +1,63 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary codec for {@link OrderNotificationDTO}.
+ * <p>
+ * Schema version 1: order ID, table ID, then the item list, each item holding its menu item
+ * name, quantity and special requests.
+ */
+public final class OrderNotificationCodec implements EventCodec<OrderNotificationDTO> {
+
+    @Override
+    public Class<OrderNotificationDTO> type() {
+        return OrderNotificationDTO.class;
+    }
+
+    @Override
+    public String typeId() {
+        return "order-notification";
+    }
+
+    @Override
+    public int schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(OrderNotificationDTO event, CompactOutput output) {
+        output.writeNullableLong(event.getOrderId());
+        output.writeNullableLong(event.getTableId());
+        output.writeSize(event.getItems());
+        if (event.getItems() != null) {
+            for (OrderNotificationDTO.OrderItemDTO item : event.getItems()) {
+                output.writeString(item.getMenuItemName());
+                output.writeNullableInt(item.getQuantity());
+                output.writeString(item.getSpecialRequests());
+            }
+        }
+    }
+
+    @Override
+    public OrderNotificationDTO read(CompactInput input, int schemaVersion) {
+        if (schemaVersion != 1) {
+            throw new SerializationException("Unsupported " + typeId() + " schema version: " + schemaVersion);
+        }
+        Long orderId = input.readNullableLong();
+        Long tableId = input.readNullableLong();
+        int size = input.readSize();
+        List<OrderNotificationDTO.OrderItemDTO> items = null;
+        if (size >= 0) {
+            items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(new OrderNotificationDTO.OrderItemDTO(input.readString(), input.readNullableInt(), input.readString()));
+            }
+        }
+        return new OrderNotificationDTO(orderId, tableId, items);
+    }
+}
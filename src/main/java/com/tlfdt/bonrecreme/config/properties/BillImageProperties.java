@@ -1,5 +1,7 @@
 package com.tlfdt.bonrecreme.config.properties;
 
+import com.tlfdt.bonrecreme.service.bill.image.enums.BillRendererType;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -20,7 +22,8 @@ import org.springframework.validation.annotation.Validated;
 public class BillImageProperties {
 
     /**
-     * The width, in pixels, for the generated bill image.
+     * The width, in pixels, for the generated bill image. Used as the layout width by the
+     * Flying Saucer renderers; the Swing renderer sizes the image to its content.
      */
     @Positive(message = "Image width must be a positive number.")
     private int width = 300; // A sensible default value
@@ -29,4 +32,48 @@ public class BillImageProperties {
      * The name of the Thymeleaf template to use for rendering the bill.
      */
     private String templateName = "bill-template";
-}
\ No newline at end of file
+
+    /**
+     * The pipeline that turns the rendered template into the returned document.
+     */
+    @NotNull
+    private BillRendererType renderer = BillRendererType.SWING_PNG;
+
+    /**
+     * The number of bill images rendered in parallel. Rendering is CPU-bound, so this
+     * caps the share of the CPU that image requests can take.
+     */
+    @Positive
+    private int renderThreads = 2;
+
+    /**
+     * The number of renders that may wait for a thread. Requests beyond it are answered
+     * with 503 Service Unavailable.
+     */
+    @Positive
+    private int queueCapacity = 16;
+
+    /**
+     * How long, in seconds, a request waits for its render before it is answered with 503.
+     */
+    @Positive
+    private long renderTimeoutSeconds = 10;
+
+    /**
+     * The Retry-After value, in seconds, sent with a 503.
+     */
+    @Positive
+    private long retryAfterSeconds = 2;
+
+    /**
+     * The maximum number of rendered images kept in memory.
+     */
+    @Positive
+    private long cacheMaxEntries = 256;
+
+    /**
+     * How long, in minutes, a rendered image stays cached after it was last requested.
+     */
+    @Positive
+    private long cacheTtlMinutes = 10;
+}
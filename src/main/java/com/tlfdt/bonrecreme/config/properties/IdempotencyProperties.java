@@ -0,0 +1,61 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import com.tlfdt.bonrecreme.service.idempotency.enums.IdempotencyStoreType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for idempotent request handling via the {@code Idempotency-Key} header.
+ * <p>
+ * This class maps to properties under the "application.idempotency" prefix
+ * in the application.yml file.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.idempotency")
+@Data
+@Validated
+public class IdempotencyProperties {
+
+    /**
+     * The store that keeps the results of idempotent requests.
+     */
+    @NotNull
+    private IdempotencyStoreType store = IdempotencyStoreType.REDIS;
+
+    /**
+     * How long, in seconds, a completed result is replayed to retries with the same key.
+     */
+    @Positive
+    private long resultTtlSeconds = 3600;
+
+    /**
+     * How long, in seconds, a key stays claimed while its request is processed. Bounds how long a
+     * crashed instance can block the key.
+     */
+    @Positive
+    private long inFlightTtlSeconds = 30;
+
+    /**
+     * How long, in seconds, a duplicate waits for the in-flight request on the same instance
+     * before it is answered with 409 Conflict.
+     */
+    @Positive
+    private long inFlightWaitSeconds = 10;
+
+    /**
+     * The maximum number of keys the in-memory store holds.
+     */
+    @Positive
+    private long memoryMaxEntries = 10_000;
+
+    /**
+     * The prefix of the Redis keys of the Redis store.
+     */
+    @NotBlank
+    private String redisKeyPrefix = "idempotency:";
+}
@@ -0,0 +1,42 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the claims embedded in issued tokens and their revocation.
+ * <p>
+ * This class maps to properties under the "application.security.jwt" prefix
+ * in the application.yml file.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.security.jwt")
+@Data
+@Validated
+public class JwtClaimsProperties {
+
+    /**
+     * Whether issued tokens embed the username next to the roles and token version, so requests
+     * are authenticated from the token alone and the user database is only read at login.
+     * Tokens issued without these claims keep loading the user on first use.
+     */
+    private boolean statelessClaims = false;
+
+    /**
+     * The Redis pub/sub channel that announces revocations to every instance.
+     */
+    @NotBlank
+    private String revocationChannel = "jwt-revocation";
+
+    /**
+     * How often, in milliseconds, every instance reloads the revoked token versions from the user
+     * database and retries revocations it failed to publish. This bounds how long a revoked token
+     * stays usable on another instance when a Redis notification is lost.
+     */
+    @Min(1000)
+    private long revocationRefreshMs = 60_000;
+}
@@ -0,0 +1,48 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application-level configuration properties for the Kafka listeners and the topics they consume.
+ * <p>
+ * Client settings such as {@code max-poll-records} are configured under {@code spring.kafka.consumer}.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.kafka.consumer")
+@Data
+@Validated
+public class KafkaConsumerProperties {
+
+    /**
+     * The number of partitions of each order and bill topic. Topics with fewer partitions
+     * are expanded at startup; partitions are never removed.
+     */
+    @Positive
+    private int partitions = 3;
+
+    /**
+     * The replication factor used when a topic is created.
+     */
+    @Positive
+    private short replicationFactor = 1;
+
+    /**
+     * The number of consumer threads per listener. Defaults to the partition count and is
+     * capped at it, since additional consumers in a group would receive no partitions.
+     */
+    @Positive
+    private Integer concurrency;
+
+    /**
+     * Returns the effective number of consumer threads per listener.
+     *
+     * @return The configured concurrency, capped at the partition count.
+     */
+    public int effectiveConcurrency() {
+        return concurrency == null ? partitions : Math.min(concurrency, partitions);
+    }
+}
@@ -0,0 +1,27 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import com.tlfdt.bonrecreme.config.message.kafka.producer.enums.MessageKeyStrategy;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application-level configuration properties for the Kafka producer.
+ * <p>
+ * Client settings such as batching, linger and compression are configured under
+ * {@code spring.kafka.producer}.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.kafka.producer")
+@Data
+@Validated
+public class KafkaProducerProperties {
+
+    /**
+     * How order and bill events are keyed, which decides their per-partition ordering.
+     */
+    @NotNull
+    private MessageKeyStrategy keyStrategy = MessageKeyStrategy.ORDER;
+}
@@ -0,0 +1,56 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for menu handling.
+ * <p>
+ * This class maps to properties under the "application.menu" prefix
+ * in the application.yml file.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.menu")
+@Data
+@Validated
+public class MenuProperties {
+
+    /**
+     * The maximum age, in seconds, of the in-process menu snapshot used to resolve
+     * ordered items. Local menu changes invalidate it immediately; the TTL bounds how
+     * long changes made on another instance can go unnoticed.
+     */
+    @Positive
+    private long snapshotTtlSeconds = 30;
+
+    /**
+     * The maximum time, in seconds, the menu version is answered from memory before it is read
+     * again. Local menu changes and notifications from other instances refresh it immediately;
+     * the TTL bounds how long a lost notification can hide a change.
+     */
+    @Positive
+    private long versionTtlSeconds = 5;
+
+    /**
+     * The number of items a menu search page holds when the client does not ask for a size.
+     */
+    @Positive
+    private int defaultPageSize = 20;
+
+    /**
+     * The largest page size a client may request from the menu search.
+     */
+    @Positive
+    @Max(500)
+    private int maxPageSize = 100;
+
+    /**
+     * Whether to create the name search indexes (a pg_trgm trigram index, or a prefix index
+     * if the extension is unavailable) on startup. Disable where the schema is managed externally.
+     */
+    private boolean searchIndexesEnabled = true;
+}
@@ -0,0 +1,50 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the in-process near cache layered over the Redis caches.
+ * <p>
+ * This class maps to properties under the "application.cache.near" prefix
+ * in the application.yml file.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.cache.near")
+@Data
+@Validated
+public class NearCacheProperties {
+
+    /**
+     * The caches that get a near cache in front of Redis. Other caches use Redis only.
+     */
+    @NotNull
+    private List<String> cacheNames = new ArrayList<>(List.of("menuItems", "allMenuItems", "menuItemPages"));
+
+    /**
+     * The maximum number of entries each near cache holds.
+     */
+    @Positive
+    private long maximumSize = 1000;
+
+    /**
+     * How long, in seconds, a near cache entry lives. Invalidations from other instances
+     * normally remove stale entries at once; the TTL bounds staleness if one is lost.
+     */
+    @Positive
+    private long ttlSeconds = 30;
+
+    /**
+     * The Redis pub/sub channel that carries invalidations between instances.
+     */
+    @NotBlank
+    private String invalidationChannel = "cache-invalidation";
+}
@@ -0,0 +1,68 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the transactional outbox and its Kafka relay.
+ * <p>
+ * This class maps to properties under the "application.outbox" prefix
+ * in the application.yml file.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.outbox")
+@Data
+@Validated
+public class OutboxProperties {
+
+    /**
+     * Whether this instance runs the relay that publishes outbox events to Kafka.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * The delay in milliseconds between two polls of the outbox table.
+     */
+    @Positive
+    private long pollIntervalMs = 500;
+
+    /**
+     * The maximum number of events published per relay transaction.
+     */
+    @Positive
+    private int batchSize = 100;
+
+    /**
+     * The number of failed publish attempts after which an event is no longer retried.
+     */
+    @Positive
+    private int maxAttempts = 10;
+
+    /**
+     * The delay in milliseconds before the first retry of a failed event. It doubles with
+     * every further failed attempt.
+     */
+    @Positive
+    private long retryInitialBackoffMs = 1_000;
+
+    /**
+     * The upper bound in milliseconds of the delay between two attempts of a failed event.
+     */
+    @Positive
+    private long retryMaxBackoffMs = 300_000;
+
+    /**
+     * The time in seconds the relay waits for broker acknowledgements of a batch.
+     */
+    @Positive
+    private long sendTimeoutSeconds = 10;
+
+    /**
+     * The number of hours published events are kept before being deleted.
+     */
+    @Positive
+    private long retentionHours = 24;
+}
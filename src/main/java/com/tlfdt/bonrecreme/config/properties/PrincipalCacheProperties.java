@@ -0,0 +1,33 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the cache of authenticated JWT principals.
+ * <p>
+ * This class maps to properties under the "application.security.principal-cache" prefix
+ * in the application.yml file.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.security.principal-cache")
+@Data
+@Validated
+public class PrincipalCacheProperties {
+
+    /**
+     * The maximum number of tokens whose principal is kept.
+     */
+    @Positive
+    private long maxEntries = 10_000;
+
+    /**
+     * How long, in seconds, a resolved principal is reused. Entries never outlive their token.
+     * The TTL bounds how long a role change made on another instance goes unnoticed.
+     */
+    @Positive
+    private long ttlSeconds = 60;
+}
@@ -0,0 +1,33 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the cache of rendered sales report files.
+ * The files live in a "cache" directory below the report job storage directory.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.reports.cache")
+@Data
+@Validated
+public class ReportCacheProperties {
+
+    /**
+     * The maximum number of rendered reports kept; the least recently used one is evicted first.
+     */
+    @Positive
+    private int maxEntries = 48;
+
+    /**
+     * How long the file of an evicted report is kept before it is deleted. The servlet container
+     * opens a downloaded file after the controller has returned, so deleting it on eviction would
+     * break downloads that are already under way.
+     */
+    @Min(0)
+    private long evictionGraceSeconds = 300;
+}
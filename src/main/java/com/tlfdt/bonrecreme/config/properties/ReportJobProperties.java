@@ -0,0 +1,50 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration properties for asynchronous report jobs and the store of their finished files.
+ * <p>
+ * This class maps to properties under the "application.reports.jobs" prefix
+ * in the application.yml file.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.reports.jobs")
+@Data
+@Validated
+public class ReportJobProperties {
+
+    /**
+     * The number of reports generated in parallel.
+     */
+    @Positive
+    private int workerThreads = 2;
+
+    /**
+     * The number of jobs that may wait for a worker. Submissions beyond it are rejected
+     * until a worker frees up.
+     */
+    @Positive
+    private int queueCapacity = 16;
+
+    /**
+     * The directory finished reports are written to, in subdirectories the application creates.
+     * Report files left in them by a previous run are deleted at startup, because jobs do not
+     * survive a restart; other files are never touched.
+     */
+    @NotNull
+    private Path storageDir = Path.of(System.getProperty("java.io.tmpdir"), "bonrecreme-reports");
+
+    /**
+     * How long, in minutes, a finished report stays available for download.
+     */
+    @Positive
+    private long artifactTtlMinutes = 60;
+}
@@ -0,0 +1,25 @@
+package com.tlfdt.bonrecreme.config.properties;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the compiled JasperReports template cache.
+ */
+@Component
+@ConfigurationProperties(prefix = "application.reports.templates")
+@Data
+@Validated
+public class ReportTemplateProperties {
+
+    /**
+     * How often, in seconds, a cached template checks whether its source file has changed
+     * and needs to be recompiled. Zero disables reloading, which suits packaged deployments
+     * where templates cannot change at runtime.
+     */
+    @PositiveOrZero
+    private long reloadCheckIntervalSeconds = 0;
+}
@@ -1,5 +1,7 @@
 package com.tlfdt.bonrecreme.config.properties;
 
+import com.tlfdt.bonrecreme.service.sse.enums.SlowClientPolicy;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -17,7 +19,27 @@ public class SseProperties {
 
     /**
      * The interval in seconds for sending keep-alive heartbeats to SSE clients.
+     * Applies to every stream; clients that received real traffic within the interval are skipped.
      */
     @Positive
     private long heartbeatIntervalSeconds = 20;
+
+    /**
+     * The maximum number of events buffered per client before the slow-client policy applies.
+     */
+    @Positive
+    private int clientQueueCapacity = 256;
+
+    /**
+     * The number of recent events kept per stream for replay to clients that reconnect
+     * with a Last-Event-ID header.
+     */
+    @Positive
+    private int replayBufferSize = 512;
+
+    /**
+     * What to do with a client whose outbound queue is full.
+     */
+    @NotNull
+    private SlowClientPolicy slowClientPolicy = SlowClientPolicy.DROP_OLDEST;
 }
\ No newline at end of file
@@ -8,7 +8,6 @@ import com.tlfdt.bonrecreme.service.bill.BillService;
 import com.tlfdt.bonrecreme.service.bill.image.BillImageService;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -27,21 +26,21 @@ public class CheckoutBillTableController {
     private final BillImageService billImageService;
 
     /**
-     * Generates and returns a PNG image of the current bill for a given table.
+     * Generates and returns an image of the current bill for a given table.
+     * The content type (PNG or PDF) depends on the configured bill renderer.
      *
      * @param tableId The unique identifier of the table. Must be a positive number.
      * @return A ResponseEntity containing the bill image as a byte array.
      */
-    @GetMapping(
-            path = "/checkout-bill/image/table/{tableId}",
-            produces = MediaType.IMAGE_PNG_VALUE
-    )
+    @GetMapping("/checkout-bill/image/table/{tableId}")
     public ResponseEntity<byte[]> getBillImage(
             @PathVariable @Positive(message = "table ID must be a positive number.") Long tableId) {
         // Create a BillImageRequest object
         BillImageRequest request = BillImageRequest.builder().tableId(tableId).build();
         byte[] image = billImageService.generateBillImage(request);
-        return ResponseEntity.ok(image);
+        return ResponseEntity.ok()
+                .contentType(billImageService.getMediaType())
+                .body(image);
     }
 
     /**
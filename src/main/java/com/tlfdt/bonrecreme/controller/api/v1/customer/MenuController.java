@@ -1,16 +1,31 @@
 package com.tlfdt.bonrecreme.controller.api.v1.customer;
 
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuDeltaDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
-import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemPageDTO;
 import com.tlfdt.bonrecreme.service.menu.MenuItemService;
+import com.tlfdt.bonrecreme.service.menu.catalog.MenuCatalog;
+import com.tlfdt.bonrecreme.service.menu.catalog.MenuCatalogService;
+import com.tlfdt.bonrecreme.service.menu.search.MenuItemSearchCriteria;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.math.BigDecimal;
 
 /**
  * REST controller for customer-facing menu operations.
@@ -22,25 +37,81 @@ import java.util.List;
 @Validated // Enables validation for path variables and request parameters.
 public class MenuController {
 
+    /**
+     * The response header carrying the menu version, for use with the delta endpoint.
+     */
+    static final String MENU_VERSION_HEADER = "X-Menu-Version";
+
+    private final MenuCatalogService menuCatalogService;
     private final MenuItemService menuItemService;
+    private final MenuProperties menuProperties;
 
     /**
      * Fetches a list of all currently available menu items.
+     * <p>
+     * The body is serialized once per menu version and sent gzip-compressed to clients that
+     * accept it. Clients that send the version's ETag in {@code If-None-Match} get a 304.
      *
-     * @return A ResponseEntity containing a standardized API response with a List of menu items.
+     * @param acceptEncoding The client's Accept-Encoding header, if any.
+     * @param webRequest     The current request, used for the conditional GET check.
+     * @return The menu, or {@code null} once a 304 has been set on the response.
      */
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<MenuItemResponseDTO>>> getAllMenuItems() {
-        // Pass the pageable object to the service layer
-        List<MenuItemResponseDTO> menuItemList = menuItemService.getAllMenuItems();
-
-        // Correctly use the 'data' field of the builder
-        ApiResponseDTO<List<MenuItemResponseDTO>> response = ApiResponseDTO.<List<MenuItemResponseDTO>>builder()
-                .data(menuItemList)
-                .status("success")
-                .message("Menu items fetched successfully")
-                .build();
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getAllMenuItems(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        MenuCatalog catalog = menuCatalogService.getCatalog();
+
+        // Sets the 304 status and ETag header itself when the client's copy is current
+        if (webRequest.checkNotModified(catalog.etag())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .header(MENU_VERSION_HEADER, String.valueOf(catalog.version()));
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalog.gzippedBody());
+        }
+        return response.body(catalog.body());
+    }
+
+    /**
+     * Fetches the menu items changed or deleted since a version the client already has.
+     *
+     * @param since The menu version the client last received.
+     * @return A ResponseEntity containing the changes and the client's new version.
+     */
+    @GetMapping("/delta")
+    public ResponseEntity<ApiResponseDTO<MenuDeltaDTO>> getMenuChanges(@RequestParam @PositiveOrZero long since) {
+        MenuDeltaDTO delta = menuCatalogService.getChangesSince(since);
+        return ResponseEntity.ok()
+                .header(MENU_VERSION_HEADER, String.valueOf(delta.version()))
+                .body(ApiResponseDTO.success(delta, "Menu changes fetched successfully"));
+    }
+
+    /**
+     * Searches the menu by name and price band, one keyset page at a time.
+     *
+     * @param name     A case-insensitive part of the item name.
+     * @param minPrice The lowest price (inclusive).
+     * @param maxPrice The highest price (inclusive).
+     * @param after    The {@code next_cursor} of the previous page; omit for the first page.
+     * @param size     The number of items per page.
+     * @return A ResponseEntity containing the page and the cursor of the next one.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO<MenuItemPageDTO>> searchMenuItems(
+            @RequestParam(required = false) @Size(max = 100) String name,
+            @RequestParam(required = false) @DecimalMin("0.0") BigDecimal minPrice,
+            @RequestParam(required = false) @DecimalMin("0.0") BigDecimal maxPrice,
+            @RequestParam(required = false) @Positive Long after,
+            @RequestParam(required = false) @Positive Integer size) {
+        int pageSize = size != null ? size : menuProperties.getDefaultPageSize();
+        MenuItemPageDTO page = menuItemService.searchMenuItems(new MenuItemSearchCriteria(name, minPrice, maxPrice, after, pageSize));
+        return ResponseEntity.ok(ApiResponseDTO.success(page, "Menu items fetched successfully"));
     }
-}
\ No newline at end of file
+}
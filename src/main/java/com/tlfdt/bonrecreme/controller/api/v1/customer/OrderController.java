@@ -4,6 +4,8 @@ import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuRequestDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.UpdateOrderRequestDTO;
+import com.tlfdt.bonrecreme.service.idempotency.IdempotencyService;
+import com.tlfdt.bonrecreme.service.idempotency.IdempotentResult;
 import com.tlfdt.bonrecreme.service.order.OrderService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
@@ -23,26 +25,50 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class OrderController {
 
+    /**
+     * The request header carrying the client's idempotency key.
+     */
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * The response header set to {@code true} when a stored result is replayed.
+     */
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Creates a new order based on the provided menu request.
+     * <p>
+     * Clients should send an {@code Idempotency-Key} header: a retry with the same key and body
+     * returns the original order instead of creating another one, flagged with
+     * {@code Idempotent-Replayed: true}.
      *
+     * @param idempotencyKey The client's idempotency key, optional.
      * @param menuRequestDTO The DTO containing the table ID and list of order items. Must be valid.
      * @return An ApiResponseDTO containing the notification details of the created order.
      */
     @PostMapping
     public ResponseEntity<ApiResponseDTO<OrderNotificationDTO>> createOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody MenuRequestDTO menuRequestDTO) {
-        OrderNotificationDTO createdOrder = orderService.createOrder(menuRequestDTO);
+        IdempotentResult<OrderNotificationDTO> result = idempotencyKey == null
+                ? new IdempotentResult<>(orderService.createOrder(menuRequestDTO), false)
+                : idempotencyService.execute("order:create", idempotencyKey, menuRequestDTO,
+                        OrderNotificationDTO.class, () -> orderService.createOrder(menuRequestDTO));
 
         ApiResponseDTO<OrderNotificationDTO> response = ApiResponseDTO.<OrderNotificationDTO>builder()
-                .data(createdOrder)
+                .data(result.value())
                 .status("success")
                 .message("Order created successfully")
                 .build();
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        ResponseEntity.BodyBuilder created = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            created.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return created.body(response);
     }
 
     /**
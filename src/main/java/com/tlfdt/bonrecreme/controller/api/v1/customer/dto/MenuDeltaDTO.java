@@ -0,0 +1,19 @@
+package com.tlfdt.bonrecreme.controller.api.v1.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
+
+import java.util.List;
+
+/**
+ * The changes to the menu since a version the client already has.
+ *
+ * @param version         The menu version the client is up to date with after applying the delta.
+ * @param changedItems    The items created or updated since the client's version.
+ * @param deletedItemIds  The IDs of the items deleted since the client's version.
+ */
+public record MenuDeltaDTO(
+        @JsonProperty("version") long version,
+        @JsonProperty("changed_items") List<MenuItemResponseDTO> changedItems,
+        @JsonProperty("deleted_item_ids") List<Long> deletedItemIds
+) {}
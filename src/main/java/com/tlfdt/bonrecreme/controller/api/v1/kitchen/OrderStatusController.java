@@ -1,6 +1,8 @@
 package com.tlfdt.bonrecreme.controller.api.v1.kitchen;
 
 import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.BulkOrderStatusRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.BulkOrderStatusResponseDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.UpdateOrderStatusRequestDTO;
 import com.tlfdt.bonrecreme.service.order.OrderService;
@@ -46,6 +48,29 @@ public class OrderStatusController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Updates the status of several orders at once (e.g., marking a whole batch as ready).
+     * The response reports, per order, whether it was updated, already had the status, was not found,
+     * could not move to the status, or was changed concurrently.
+     *
+     * @param requestDTO The request body containing the order IDs and the new status. Must be valid.
+     * @return An ApiResponseDTO containing the per-order results.
+     */
+    @PutMapping("/update/bulk")
+    public ResponseEntity<ApiResponseDTO<BulkOrderStatusResponseDTO>> updateOrderStatuses(
+            @Valid @RequestBody BulkOrderStatusRequestDTO requestDTO) {
+
+        BulkOrderStatusResponseDTO result = orderService.updateOrderStatuses(requestDTO);
+
+        ApiResponseDTO<BulkOrderStatusResponseDTO> response = ApiResponseDTO.<BulkOrderStatusResponseDTO>builder()
+                .data(result)
+                .status("success")
+                .message("Updated " + result.getUpdatedCount() + " of " + result.getResults().size() + " orders.")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Marks an order as ready to be served.
      * This is a specific status update, typically to the READY_TO_SERVE state.
@@ -0,0 +1,51 @@
+package com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tlfdt.bonrecreme.model.restaurant.enums.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Represents an immutable and validated request to move several orders to the same status at once.
+ */
+@Value
+public class BulkOrderStatusRequestDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The largest number of orders a single bulk request may change.
+     */
+    public static final int MAX_ORDERS = 200;
+
+    /**
+     * The IDs of the orders to update. Duplicates are ignored.
+     */
+    @NotEmpty(message = "The order IDs list cannot be empty.")
+    @Size(max = MAX_ORDERS, message = "A bulk update can change at most " + MAX_ORDERS + " orders.")
+    @JsonProperty("order_ids")
+    List<@NotNull(message = "Order ID cannot be null.") @Positive(message = "Order ID must be a positive number.") Long> orderIds;
+
+    /**
+     * The new status for every listed order.
+     */
+    @NotNull(message = "Order status cannot be null.")
+    @JsonProperty("status")
+    OrderStatus status;
+
+    @JsonCreator
+    public BulkOrderStatusRequestDTO(
+            @JsonProperty("order_ids") List<Long> orderIds,
+            @JsonProperty("status") OrderStatus status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+}
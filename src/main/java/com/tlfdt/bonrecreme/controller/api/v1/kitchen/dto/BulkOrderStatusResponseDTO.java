@@ -0,0 +1,87 @@
+package com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tlfdt.bonrecreme.model.restaurant.enums.OrderStatus;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Represents the outcome of a bulk status change, with one result per requested order.
+ */
+@Value
+public class BulkOrderStatusResponseDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The status the orders were moved to.
+     */
+    @JsonProperty("status")
+    OrderStatus status;
+
+    /**
+     * The number of orders whose status actually changed.
+     */
+    @JsonProperty("updated_count")
+    int updatedCount;
+
+    /**
+     * The result of each requested order, in request order.
+     */
+    @JsonProperty("results")
+    List<OrderResult> results;
+
+    /**
+     * What happened to a single order of a bulk request.
+     */
+    public enum Outcome {
+        /**
+         * The order was moved to the new status.
+         */
+        UPDATED,
+
+        /**
+         * The order already had the new status; nothing was changed or published.
+         */
+        UNCHANGED,
+
+        /**
+         * No order with this ID exists.
+         */
+        NOT_FOUND,
+
+        /**
+         * The order's current status cannot move to the new status.
+         */
+        INVALID_TRANSITION,
+
+        /**
+         * The order was changed by someone else between reading and updating it.
+         */
+        CONFLICT
+    }
+
+    /**
+     * The result of a single order within a bulk request.
+     */
+    @Value
+    public static class OrderResult implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The ID of the order.
+         */
+        @JsonProperty("order_id")
+        Long orderId;
+
+        /**
+         * What happened to the order.
+         */
+        @JsonProperty("outcome")
+        Outcome outcome;
+    }
+}
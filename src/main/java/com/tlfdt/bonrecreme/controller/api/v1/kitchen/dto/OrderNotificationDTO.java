@@ -15,6 +15,7 @@ import lombok.Value;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -105,7 +106,17 @@ public class OrderNotificationDTO implements Serializable {
          * @param orderItem The OrderItem entity to convert.
          */
         public OrderItemDTO(OrderItem orderItem) {
-            this.menuItemName = orderItem.getMenuItem().getName();
+            this(orderItem, orderItem.getMenuItem().getName());
+        }
+
+        /**
+         * Constructs an OrderItemDTO from an OrderItem domain entity whose menu item name is already known.
+         *
+         * @param orderItem    The OrderItem entity to convert.
+         * @param menuItemName The name of the ordered menu item.
+         */
+        public OrderItemDTO(OrderItem orderItem, String menuItemName) {
+            this.menuItemName = menuItemName;
             this.quantity = orderItem.getQuantity();
             this.specialRequests = orderItem.getSpecialRequests();
         }
@@ -118,12 +129,24 @@ public class OrderNotificationDTO implements Serializable {
      * @return A new, populated OrderNotificationDTO.
      */
     public static OrderNotificationDTO fromOrder(Order order) {
+        return fromOrder(order, orderItem -> orderItem.getMenuItem().getName());
+    }
+
+    /**
+     * A static factory method to create an OrderNotificationDTO from an Order entity, taking the
+     * menu item names from the caller instead of the (possibly uninitialized) menu item associations.
+     *
+     * @param order         The source Order entity.
+     * @param menuItemNames Returns the menu item name of an order item.
+     * @return A new, populated OrderNotificationDTO.
+     */
+    public static OrderNotificationDTO fromOrder(Order order, Function<OrderItem, String> menuItemNames) {
         if (order == null || order.getSeatTable() == null) {
             throw new IllegalArgumentException("Order and its associated table must not be null.");
         }
 
         List<OrderItemDTO> itemDTOs = order.getOrderItems().stream()
-                .map(OrderItemDTO::new)
+                .map(orderItem -> new OrderItemDTO(orderItem, menuItemNames.apply(orderItem)))
                 .collect(Collectors.toList());
 
         return new OrderNotificationDTO(
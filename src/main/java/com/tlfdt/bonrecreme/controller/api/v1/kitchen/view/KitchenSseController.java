@@ -1,13 +1,18 @@
 package com.tlfdt.bonrecreme.controller.api.v1.kitchen.view;
 
 import com.tlfdt.bonrecreme.service.kitchen.KitchenSseService;
+import com.tlfdt.bonrecreme.service.sse.SseSubscription;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
+
 /**
  * REST controller for the kitchen display.
  * Exposes an endpoint for clients (e.g., kitchen monitors) to subscribe to a
@@ -23,12 +28,23 @@ public class KitchenSseController {
     /**
      * Establishes an SSE connection to stream order notifications.
      * Each client that calls this endpoint will receive future order events.
+     * Reconnecting clients send the Last-Event-ID header and receive the events they missed.
+     * Clients can limit the stream to specific tables with {@code tables} and/or an inclusive
+     * {@code tableFrom}..{@code tableTo} range; without filters every event is streamed.
      *
+     * @param lastEventId The ID of the last event the client received, if it is reconnecting.
+     * @param tables      Explicit table IDs to subscribe to.
+     * @param tableFrom   The first table ID of a subscribed range.
+     * @param tableTo     The last table ID of a subscribed range.
      * @return An SseEmitter instance that manages the persistent connection.
      */
     @GetMapping("/stream")
     @CrossOrigin(origins = "http://localhost:5174")
-    public SseEmitter streamOrders() {
-        return kitchenSseService.createEmitter();
+    public SseEmitter streamOrders(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) List<Long> tables,
+            @RequestParam(required = false) Long tableFrom,
+            @RequestParam(required = false) Long tableTo) {
+        return kitchenSseService.createEmitter(lastEventId, SseSubscription.ofTables(tables, tableFrom, tableTo));
     }
 }
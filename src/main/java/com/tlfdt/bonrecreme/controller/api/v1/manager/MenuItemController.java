@@ -1,17 +1,23 @@
 package com.tlfdt.bonrecreme.controller.api.v1.manager;
 
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
 import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemPageDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemRequestDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
 import com.tlfdt.bonrecreme.service.menu.MenuItemService;
+import com.tlfdt.bonrecreme.service.menu.search.MenuItemSearchCriteria;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 
@@ -27,6 +33,7 @@ import java.util.List;
 public class MenuItemController {
 
     private final MenuItemService menuItemService;
+    private final MenuProperties menuProperties;
 
     /**
      * Creates a new menu item.
@@ -67,6 +74,28 @@ public class MenuItemController {
         return ResponseEntity.ok(ApiResponseDTO.success(menuItemsList, "All menu items fetched successfully."));
     }
 
+    /**
+     * Searches menu items by name and price band, one keyset page at a time.
+     *
+     * @param name     A case-insensitive part of the item name.
+     * @param minPrice The lowest price (inclusive).
+     * @param maxPrice The highest price (inclusive).
+     * @param after    The {@code next_cursor} of the previous page; omit for the first page.
+     * @param size     The number of items per page.
+     * @return A standardized API response containing the page and the cursor of the next one.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO<MenuItemPageDTO>> searchMenuItems(
+            @RequestParam(required = false) @Size(max = 100, message = "Search term must be at most 100 characters.") String name,
+            @RequestParam(required = false) @DecimalMin(value = "0.0", message = "minPrice must not be negative.") BigDecimal minPrice,
+            @RequestParam(required = false) @DecimalMin(value = "0.0", message = "maxPrice must not be negative.") BigDecimal maxPrice,
+            @RequestParam(required = false) @Positive(message = "Cursor must be a positive number.") Long after,
+            @RequestParam(required = false) @Positive(message = "Page size must be a positive number.") Integer size) {
+        int pageSize = size != null ? size : menuProperties.getDefaultPageSize();
+        MenuItemPageDTO page = menuItemService.searchMenuItems(new MenuItemSearchCriteria(name, minPrice, maxPrice, after, pageSize));
+        return ResponseEntity.ok(ApiResponseDTO.success(page, "Menu items fetched successfully."));
+    }
+
     /**
      * Updates an existing menu item.
      *
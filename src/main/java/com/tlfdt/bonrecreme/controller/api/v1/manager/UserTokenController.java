@@ -0,0 +1,37 @@
+package com.tlfdt.bonrecreme.controller.api.v1.manager;
+
+import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
+import com.tlfdt.bonrecreme.security.jwt.TokenRevocationService;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for managing the access tokens of users.
+ */
+@RestController
+@RequestMapping("/api/v1/manager/users")
+@RequiredArgsConstructor
+@Validated // Enables validation for path variables and request parameters.
+public class UserTokenController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Revokes every token issued to a user so far, on every instance. The user has to log in again.
+     *
+     * @param userId The unique identifier of the user. Must be a positive number.
+     * @return A standardized API response confirming the revocation.
+     */
+    @PostMapping("/{userId}/revoke-tokens")
+    public ResponseEntity<ApiResponseDTO<Void>> revokeTokens(
+            @PathVariable @Positive(message = "User ID must be a positive number.") Long userId) {
+        tokenRevocationService.revokeUser(userId);
+        return ResponseEntity.ok(ApiResponseDTO.success(null, "User tokens revoked successfully."));
+    }
+}
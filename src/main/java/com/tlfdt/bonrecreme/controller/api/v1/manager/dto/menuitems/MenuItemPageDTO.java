@@ -0,0 +1,43 @@
+package com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a menu search, in ascending ID order.
+ * Pages are cached, so this DTO is immutable and serializable like {@link MenuItemResponseDTO}.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class MenuItemPageDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The menu items of the page.
+     */
+    @JsonProperty("items")
+    private final List<MenuItemResponseDTO> items;
+
+    /**
+     * The value to pass as {@code after} to fetch the next page, or {@code null} on the last page.
+     */
+    @JsonProperty("next_cursor")
+    private final Long nextCursor;
+
+    @JsonCreator
+    public MenuItemPageDTO(
+            @JsonProperty("items") List<MenuItemResponseDTO> items,
+            @JsonProperty("next_cursor") Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import com.tlfdt.bonrecreme.service.report.enums.ReportJobStatus;
+
+/**
+ * The state of an asynchronous report job, returned by the job API and pushed on the manager SSE stream.
+ *
+ * @param jobId    The unique identifier of the job.
+ * @param year     The year of the report.
+ * @param month    The month of the report (1-12).
+ * @param format   The format of the report.
+ * @param status   The current state of the job.
+ * @param progress The progress of the job, from 0 to 100.
+ * @param fileName The file name the report is downloaded as.
+ * @param error    The reason the job failed, or {@code null}.
+ */
+public record ReportJobDTO(
+        @JsonProperty("job_id") String jobId,
+        @JsonProperty("year") int year,
+        @JsonProperty("month") int month,
+        @JsonProperty("format") ReportFormat format,
+        @JsonProperty("status") ReportJobStatus status,
+        @JsonProperty("progress") int progress,
+        @JsonProperty("file_name") String fileName,
+        @JsonProperty("error") String error
+) {}
@@ -0,0 +1,57 @@
+package com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A monthly sales summary read from the daily rollups.
+ *
+ * @param year        The year of the summary.
+ * @param month       The month of the summary (1-12).
+ * @param billCount   The number of paid bills in the month.
+ * @param totalAmount The total amount of those bills.
+ * @param days        The totals of each day that had sales, oldest first.
+ * @param tables      The totals of each table, highest revenue first.
+ * @param menuItems   The totals of each menu item, highest revenue first.
+ */
+public record SalesSummaryDTO(
+        @JsonProperty("year") int year,
+        @JsonProperty("month") int month,
+        @JsonProperty("bill_count") long billCount,
+        @JsonProperty("total_amount") BigDecimal totalAmount,
+        @JsonProperty("days") List<DaySales> days,
+        @JsonProperty("tables") List<TableSales> tables,
+        @JsonProperty("menu_items") List<MenuItemSales> menuItems
+) {
+
+    /**
+     * The sales of one day.
+     */
+    public record DaySales(
+            @JsonProperty("date") LocalDate date,
+            @JsonProperty("bill_count") long billCount,
+            @JsonProperty("total_amount") BigDecimal totalAmount
+    ) {}
+
+    /**
+     * The sales of one table.
+     */
+    public record TableSales(
+            @JsonProperty("table_id") Long tableId,
+            @JsonProperty("bill_count") long billCount,
+            @JsonProperty("total_amount") BigDecimal totalAmount
+    ) {}
+
+    /**
+     * The sales of one menu item.
+     */
+    public record MenuItemSales(
+            @JsonProperty("menu_item_id") Long menuItemId,
+            @JsonProperty("name") String name,
+            @JsonProperty("quantity") long quantity,
+            @JsonProperty("total_amount") BigDecimal totalAmount
+    ) {}
+}
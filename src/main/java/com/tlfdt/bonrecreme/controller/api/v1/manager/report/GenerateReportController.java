@@ -1,11 +1,13 @@
 package com.tlfdt.bonrecreme.controller.api.v1.manager.report;
 
-import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesReportRequestDTO;
 import com.tlfdt.bonrecreme.service.report.SalesReportService;
+import com.tlfdt.bonrecreme.service.report.cache.ReportArtifactCache;
 import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import net.sf.jasperreports.engine.JRException;
 import org.hibernate.validator.constraints.Range;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +16,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -28,16 +32,7 @@ import java.io.IOException;
 public class GenerateReportController {
 
     private final SalesReportService salesReportService;
-
-    /**
-     * Generates and streams a monthly sales reports in CSV format.
-     *
-     * @param year  The year of the reports (e.g., 2024). Must be a valid year.
-     * @param month The month of the reports (1-12).
-     * @return A ResponseEntity containing the CSV file as a byte array for download.
-     * @throws IOException if an error occurs during file generation.
-     * @throws JRException if there's an issue with the reporting engine.
-     */
+    private final ReportArtifactCache reportArtifactCache;
 
     /**
      * Helper method to create a standardized reports filename.
@@ -53,44 +48,87 @@ public class GenerateReportController {
         return String.format("sales-report-%d-%s.%s", year, formattedMonth, extension);
     }
 
+    /**
+     * Downloads a monthly sales report in CSV format.
+     * <p>
+     * The period is checked first, so a missing report results in a 404. If the report cache
+     * holds the report for the period's current sales, it is served from there, and a matching
+     * {@code If-None-Match} header results in a 304 without a body. Otherwise the rows are
+     * streamed to the response as they are read from the database, and written to the cache
+     * at the same time, so later downloads get the file and its ETag.
+     *
+     * @param year       The year of the reports (e.g., 2024). Must be a valid year.
+     * @param month      The month of the reports (1-12).
+     * @param request    The current request, used to send the file efficiently.
+     * @param webRequest The current request, used for the conditional request check.
+     * @return A ResponseEntity containing or streaming the CSV file for download, or {@code null} if the client's copy is current.
+     * @throws JRException never for CSV; declared by the shared cache lookup.
+     * @throws IOException if the cached report cannot be read.
+     */
     @GetMapping("/excel")
-    public ResponseEntity<byte[]> downloadMonthlyReportCSV(
+    public ResponseEntity<?> downloadMonthlyReportCSV(
             @RequestParam @Range(min = 2000, max = 2100, message = "Year must be between 2000 and 2100") int year,
-            @RequestParam @Range(min = 1, max = 12, message = "Month must be between 1 and 12") int month) throws IOException, JRException {
+            @RequestParam @Range(min = 1, max = 12, message = "Month must be between 1 and 12") int month,
+            HttpServletRequest request, WebRequest webRequest) throws JRException, IOException {
 
-        // Create a request object for the service layer
-        SalesReportRequestDTO request = new SalesReportRequestDTO(year, month, ReportFormat.CSV);
-        byte[] excelReport = salesReportService.generateSalesReport(request);
-        String fileName = generateReportFilename(year, month, "csv");
+        MediaType mediaType = MediaType.parseMediaType("text/csv; charset=UTF-8");
+        salesReportService.checkSalesReportAvailable(year, month);
+        ReportArtifactCache.CachedReport report = reportArtifactCache.getIfCached(year, month, ReportFormat.CSV);
+        if (report != null) {
+            return cachedReportResponse(year, month, ReportFormat.CSV, mediaType, report, request, webRequest);
+        }
 
+        String fileName = generateReportFilename(year, month, "csv");
+        StreamingResponseBody body = outputStream -> {
+            try {
+                reportArtifactCache.writeTo(year, month, ReportFormat.CSV, outputStream);
+            } catch (JRException e) {
+                // Only the PDF renderer throws it
+                throw new IOException(e);
+            }
+        };
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(excelReport);
+                .contentType(mediaType)
+                .body(body);
     }
 
     /**
-     * Generates and streams a monthly sales reports in PDF format using JasperReports.
+     * Downloads a monthly sales report in PDF format generated with JasperReports.
+     * Served from the report cache like the CSV report, with the same ETag support.
      *
-     * @param year  The year of the reports (e.g., 2024). Must be a valid year.
-     * @param month The month of the reports (1-12).
-     * @return A ResponseEntity containing the PDF file as a byte array for download.
+     * @param year       The year of the reports (e.g., 2024). Must be a valid year.
+     * @param month      The month of the reports (1-12).
+     * @param request    The current request, used to send the file efficiently.
+     * @param webRequest The current request, used for the conditional request check.
+     * @return A ResponseEntity containing the PDF file for download, or {@code null} if the client's copy is current.
      * @throws JRException if an error occurs during JasperReports processing.
      * @throws IOException if there's an issue with file I/O.
      */
     @GetMapping("/pdf")
-    public ResponseEntity<byte[]> downloadMonthlyReportPDF(
+    public ResponseEntity<Resource> downloadMonthlyReportPDF(
             @RequestParam @Range(min = 2000, max = 2100, message = "Year must be between 2000 and 2100") int year,
-            @RequestParam @Range(min = 1, max = 12, message = "Month must be between 1 and 12") int month) throws JRException, IOException {
+            @RequestParam @Range(min = 1, max = 12, message = "Month must be between 1 and 12") int month,
+            HttpServletRequest request, WebRequest webRequest) throws JRException, IOException {
 
-        // Create a request object for the service layer
-        SalesReportRequestDTO request = new SalesReportRequestDTO(year, month, ReportFormat.PDF);
-        byte[] pdfReport = salesReportService.generateSalesReport(request);
-        String fileName = generateReportFilename(year, month, "pdf");
+        return downloadCachedReport(year, month, ReportFormat.PDF, MediaType.APPLICATION_PDF, request, webRequest);
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfReport);
+    private ResponseEntity<Resource> downloadCachedReport(int year, int month, ReportFormat format, MediaType mediaType,
+                                                          HttpServletRequest request, WebRequest webRequest) throws JRException, IOException {
+        salesReportService.checkSalesReportAvailable(year, month);
+        ReportArtifactCache.CachedReport report = reportArtifactCache.getOrRender(year, month, format);
+        return cachedReportResponse(year, month, format, mediaType, report, request, webRequest);
+    }
+
+    private ResponseEntity<Resource> cachedReportResponse(int year, int month, ReportFormat format, MediaType mediaType,
+                                                          ReportArtifactCache.CachedReport report,
+                                                          HttpServletRequest request, WebRequest webRequest) {
+        // Sets the 304 status and ETag header itself when the client's copy is current
+        if (webRequest.checkNotModified(report.etag())) {
+            return null;
+        }
+        String fileName = generateReportFilename(year, month, format.name().toLowerCase());
+        return ReportFileResponses.attachment(request, report.path(), report.size(), mediaType, fileName, report.etag());
     }
 }
@@ -0,0 +1,60 @@
+package com.tlfdt.bonrecreme.controller.api.v1.manager.report;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+
+/**
+ * Builds download responses for report files stored on local disk.
+ * <p>
+ * When the connector supports it, the file is handed to Tomcat's sendfile, which lets
+ * the kernel copy it straight to the socket. Otherwise it is streamed from disk.
+ * Either way the file is opened after the controller has returned, so it must outlive the
+ * request; the report stores only delete files a grace period after evicting them.
+ */
+final class ReportFileResponses {
+
+    // Tomcat request attributes that hand a file over to the connector's sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ReportFileResponses() {
+    }
+
+    /**
+     * Creates a response that sends a file as an attachment.
+     *
+     * @param request   The current request, used to detect sendfile support.
+     * @param path      The file to send.
+     * @param size      The size of the file in bytes.
+     * @param mediaType The content type of the file.
+     * @param fileName  The file name suggested to the client.
+     * @param etag      The quoted entity tag of the content, or {@code null} if it has none.
+     * @return The response for the file.
+     */
+    static ResponseEntity<Resource> attachment(HttpServletRequest request, Path path, long size,
+                                               MediaType mediaType, String fileName, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .contentLength(size)
+                .headers(headers -> headers.setContentDisposition(ContentDisposition.attachment().filename(fileName).build()));
+        if (etag != null) {
+            response.eTag(etag);
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return response.build();
+        }
+        return response.body(new FileSystemResource(path));
+    }
+}
@@ -0,0 +1,80 @@
+package com.tlfdt.bonrecreme.controller.api.v1.manager.report;
+
+import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.ReportJobDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesReportRequestDTO;
+import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import com.tlfdt.bonrecreme.service.report.job.ReportArtifactStore;
+import com.tlfdt.bonrecreme.service.report.job.ReportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for asynchronous sales report jobs.
+ * A manager submits a job, follows its progress on the manager SSE stream (or by polling),
+ * and downloads the finished file once the job has completed.
+ */
+@RestController
+@RequestMapping("/api/v1/manager/reports/jobs")
+@RequiredArgsConstructor
+@Validated
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * Submits a report job. An identical job that is still queued or running is joined instead.
+     *
+     * @param request The period and format of the report.
+     * @return A standardized API response with 202 Accepted, containing the state of the job.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<ReportJobDTO>> submitReportJob(@Valid @RequestBody SalesReportRequestDTO request) {
+        ReportJobDTO job = reportJobService.submit(request.year(), request.month(), request.format());
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponseDTO.success(job, "Report job submitted successfully."));
+    }
+
+    /**
+     * Retrieves the current state of a report job.
+     *
+     * @param jobId The ID of the job.
+     * @return A standardized API response containing the state of the job.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponseDTO<ReportJobDTO>> getReportJob(@PathVariable String jobId) {
+        ReportJobDTO job = reportJobService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponseDTO.success(job, "Report job fetched successfully."));
+    }
+
+    /**
+     * Downloads the file of a completed report job, without copying it through the heap
+     * when the connector supports sendfile.
+     *
+     * @param jobId   The ID of the job.
+     * @param request The current request, used to detect sendfile support.
+     * @return A ResponseEntity for the report file.
+     */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> downloadReport(@PathVariable String jobId, HttpServletRequest request) {
+        ReportJobDTO job = reportJobService.getJob(jobId);
+        ReportArtifactStore.StoredArtifact artifact = reportJobService.getArtifact(jobId);
+        MediaType mediaType = job.format() == ReportFormat.PDF
+                ? MediaType.APPLICATION_PDF
+                : MediaType.parseMediaType("text/csv; charset=UTF-8");
+        return ReportFileResponses.attachment(request, artifact.path(), artifact.size(), mediaType, job.fileName(), null);
+    }
+}
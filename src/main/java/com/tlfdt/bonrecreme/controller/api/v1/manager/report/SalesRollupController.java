@@ -0,0 +1,60 @@
+package com.tlfdt.bonrecreme.controller.api.v1.manager.report;
+
+import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesSummaryDTO;
+import com.tlfdt.bonrecreme.service.report.rollup.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.validator.constraints.Range;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+/**
+ * REST controller for the sales summaries served from the daily rollups,
+ * and for rebuilding those rollups from the bill history.
+ */
+@RestController
+@RequestMapping("/api/v1/manager/reports")
+@RequiredArgsConstructor
+@Validated
+public class SalesRollupController {
+
+    private final SalesRollupService salesRollupService;
+
+    /**
+     * Retrieves the sales summary of a month: totals per day, per table and per menu item.
+     *
+     * @param year  The year of the summary (e.g., 2024).
+     * @param month The month of the summary (1-12).
+     * @return A standardized API response containing the summary.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponseDTO<SalesSummaryDTO>> getMonthlySummary(
+            @RequestParam @Range(min = 2000, max = 2100, message = "Year must be between 2000 and 2100") int year,
+            @RequestParam @Range(min = 1, max = 12, message = "Month must be between 1 and 12") int month) {
+        SalesSummaryDTO summary = salesRollupService.getMonthlySummary(year, month);
+        return ResponseEntity.ok(ApiResponseDTO.success(summary, "Sales summary fetched successfully."));
+    }
+
+    /**
+     * Rebuilds the daily rollups of a range of months from the bill history.
+     *
+     * @param from The first month to rebuild, formatted as {@code yyyy-MM}.
+     * @param to   The last month to rebuild, formatted as {@code yyyy-MM}.
+     * @return A standardized API response containing the number of months rebuilt.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponseDTO<Integer>> rebuildRollups(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        int months = salesRollupService.rebuild(from, to);
+        return ResponseEntity.ok(ApiResponseDTO.success(months, "Sales rollups rebuilt successfully."));
+    }
+}
@@ -1,12 +1,17 @@
 package com.tlfdt.bonrecreme.exception;
 
 import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
+import com.tlfdt.bonrecreme.exception.custom.ConflictException;
 import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.exception.custom.IdempotencyKeyMismatchException;
 import com.tlfdt.bonrecreme.exception.custom.RegistrationException;
+import com.tlfdt.bonrecreme.exception.custom.ServiceBusyException;
 import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tomcat.websocket.AuthenticationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -72,6 +77,65 @@ public class AppExceptionHandler {
                 .body(ApiResponseDTO.error(ex.getMessage()));
     }
 
+    /**
+     * Handles requests that conflict with the current state of a resource, such as a request
+     * whose idempotency key is still being processed.
+     *
+     * @param ex The caught ConflictException instance.
+     * @return A ResponseEntity with a 409 Conflict status.
+     */
+    @ExceptionHandler(ConflictException.class)
+    public static ResponseEntity<ApiResponseDTO<Object>> handleConflictException(ConflictException ex) {
+        log.warn("Conflict: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponseDTO.error(ex.getMessage()));
+    }
+
+    /**
+     * Handles an entity that was modified by another transaction after it was read,
+     * as detected by its optimistic-lock version.
+     *
+     * @param ex The caught OptimisticLockingFailureException instance.
+     * @return A ResponseEntity with a 409 Conflict status.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public static ResponseEntity<ApiResponseDTO<Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponseDTO.error("The resource was modified concurrently. Please reload and try again."));
+    }
+
+    /**
+     * Handles an idempotency key reused with a different request body.
+     *
+     * @param ex The caught IdempotencyKeyMismatchException instance.
+     * @return A ResponseEntity with a 422 Unprocessable Entity status.
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public static ResponseEntity<ApiResponseDTO<Object>> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex) {
+        log.warn("Idempotency key mismatch: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ApiResponseDTO.error(ex.getMessage()));
+    }
+
+    /**
+     * Handles requests rejected because a bounded resource, such as a worker pool, is saturated.
+     *
+     * @param ex The caught ServiceBusyException instance.
+     * @return A ResponseEntity with a 503 Service Unavailable status and, if known, a Retry-After header.
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public static ResponseEntity<ApiResponseDTO<Object>> handleServiceBusyException(ServiceBusyException ex) {
+        log.warn("Service busy: {}", ex.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (ex.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return response.body(ApiResponseDTO.error(ex.getMessage()));
+    }
 
     /**
      * Handles authentication failures, such as incorrect username or password.
@@ -0,0 +1,24 @@
+package com.tlfdt.bonrecreme.exception.custom;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // This will result in a 503 Service Unavailable HTTP status
+public class ServiceBusyException extends RuntimeException {
+
+    /**
+     * The number of seconds after which the client may retry, or zero if unknown.
+     */
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message) {
+        this(message, 0);
+    }
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
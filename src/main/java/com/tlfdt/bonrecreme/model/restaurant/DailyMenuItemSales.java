@@ -0,0 +1,57 @@
+package com.tlfdt.bonrecreme.model.restaurant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The pre-aggregated sales of one menu item on one business day: units sold and revenue at
+ * the prices charged at the time.
+ * <p>
+ * The menu item is referenced by ID only, so rollups survive the removal of a menu item.
+ */
+@Entity
+@Table(name = "daily_menu_item_sales", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_menu_item_sales_date_item", columnNames = {"sales_date", "menu_item_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class DailyMenuItemSales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    // == Custom equals and hashCode for safe use in collections ==
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailyMenuItemSales that = (DailyMenuItemSales) o;
+        // Use ID for persisted entities. For transient, identity is sufficient.
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : getClass().hashCode();
+    }
+}
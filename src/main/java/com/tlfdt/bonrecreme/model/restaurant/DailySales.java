@@ -0,0 +1,55 @@
+package com.tlfdt.bonrecreme.model.restaurant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The pre-aggregated sales of one business day: the number of paid bills and their total.
+ * <p>
+ * Rows are upserted in the payment transaction, so they always match the paid bills, and
+ * can be rebuilt from the bills table at any time. Bills count towards the day they were
+ * created, matching the bill-based sales reports.
+ */
+@Entity
+@Table(name = "daily_sales", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_sales_date", columnNames = {"sales_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class DailySales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "bill_count", nullable = false)
+    private long billCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    // == Custom equals and hashCode for safe use in collections ==
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailySales that = (DailySales) o;
+        // Use ID for persisted entities. For transient, identity is sufficient.
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : getClass().hashCode();
+    }
+}
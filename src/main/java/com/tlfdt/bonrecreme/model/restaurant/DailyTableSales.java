@@ -0,0 +1,56 @@
+package com.tlfdt.bonrecreme.model.restaurant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The pre-aggregated sales of one table on one business day.
+ * <p>
+ * The table is referenced by ID only, so rollups survive the removal of a table.
+ */
+@Entity
+@Table(name = "daily_table_sales", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_table_sales_date_table", columnNames = {"sales_date", "seat_table_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class DailyTableSales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "seat_table_id", nullable = false)
+    private Long seatTableId;
+
+    @Column(name = "bill_count", nullable = false)
+    private long billCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    // == Custom equals and hashCode for safe use in collections ==
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailyTableSales that = (DailyTableSales) o;
+        // Use ID for persisted entities. For transient, identity is sufficient.
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : getClass().hashCode();
+    }
+}
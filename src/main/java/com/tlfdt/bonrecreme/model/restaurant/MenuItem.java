@@ -13,7 +13,10 @@ import java.util.Objects;
  * This entity follows JPA best practices to ensure safety and performance.
  */
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", indexes = {
+        @Index(name = "idx_menu_items_menu_version", columnList = "menu_version"),
+        @Index(name = "idx_menu_items_price", columnList = "price, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -34,6 +37,12 @@ public class MenuItem {
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    /**
+     * The menu version of the last change to this item, used for delta sync.
+     */
+    @Column(name = "menu_version", nullable = false, columnDefinition = "bigint default 0")
+    private long menuVersion;
+
     @OneToMany(
             mappedBy = "menuItem",
             cascade = CascadeType.ALL,
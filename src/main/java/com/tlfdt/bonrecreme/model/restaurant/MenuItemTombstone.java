@@ -0,0 +1,26 @@
+package com.tlfdt.bonrecreme.model.restaurant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Records the deletion of a menu item, so that delta sync can tell clients which items to drop.
+ */
+@Entity
+@Table(name = "menu_item_tombstones", indexes = {
+        @Index(name = "idx_menu_item_tombstones_menu_version", columnList = "menu_version")
+})
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class MenuItemTombstone {
+
+    @Id
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Column(name = "menu_version", nullable = false)
+    private long menuVersion;
+}
@@ -0,0 +1,30 @@
+package com.tlfdt.bonrecreme.model.restaurant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * The single-row counter holding the current version of the menu. The row has ID 1 and is
+ * created on the first menu change.
+ * <p>
+ * Every menu mutation increments it inside the mutating transaction itself, since
+ * {@code MenuCatalogService#nextVersion()} requires an existing transaction. The increment locks
+ * the row until that transaction commits, so the change and its version become visible together,
+ * versions become visible in the order they were taken, and a client that has seen version
+ * {@code n} never misses a change numbered {@code n} or lower.
+ */
+@Entity
+@Table(name = "menu_version")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class MenuVersion {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
@@ -50,6 +50,14 @@ public class Order {
     @JoinColumn(name = "bill_id")
     private Bill bill;
 
+    /**
+     * The optimistic-lock version, incremented on every update so concurrent writers
+     * cannot silently overwrite each other.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false, nullable = false)
     private LocalDateTime createdAt;
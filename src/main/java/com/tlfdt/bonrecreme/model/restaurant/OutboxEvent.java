@@ -0,0 +1,97 @@
+package com.tlfdt.bonrecreme.model.restaurant;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an integration event waiting to be published to Kafka.
+ * <p>
+ * Outbox events are written in the same transaction as the business change that produced
+ * them, so an event exists if and only if that change was committed. A relay publishes
+ * them asynchronously and records when each one was acknowledged by the broker.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_pending", columnList = "published_at, id"),
+        @Index(name = "idx_outbox_events_key", columnList = "message_key, id"),
+        @Index(name = "idx_outbox_events_dead_lettered", columnList = "dead_lettered_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "topic", length = 100, nullable = false)
+    private String topic;
+
+    @Column(name = "message_key", length = 100)
+    private String messageKey;
+
+    @Column(name = "payload_type", nullable = false)
+    private String payloadType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * The earliest time a failed event may be sent again, or {@code null} if it has not failed.
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * When the event was abandoned after reaching the maximum number of publish attempts,
+     * or {@code null} while it is pending or once it is published.
+     */
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+
+    /**
+     * Records a failed publish attempt.
+     * @param error The reason the attempt failed.
+     * @param nextAttemptAt The earliest time the event may be sent again.
+     */
+    public void recordFailure(String error, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    // == Custom equals and hashCode for safe use in collections ==
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OutboxEvent that = (OutboxEvent) o;
+        // Use ID for persisted entities. For transient, identity is sufficient.
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : getClass().hashCode();
+    }
+}
@@ -4,12 +4,21 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
  * Represents the lifecycle status of a customer's order.
  * Each status has a user-friendly display name and is designed for safe
  * serialization and deserialization.
+ * <p>
+ * The allowed moves between statuses form a state machine, checked with {@link #canTransitionTo(OrderStatus)}:
+ * PENDING → COOKING → READY_TO_SERVE → SERVED → BILLED → PAID, where the kitchen may skip COOKING
+ * and an order may be cancelled until it is served. Editing the items of an order that is cooking
+ * sends it back to PENDING, so the kitchen sees it again.
  */
 @Getter
 public enum OrderStatus {
@@ -57,10 +66,33 @@ public enum OrderStatus {
     @JsonValue
     private final String displayName;
 
+    /**
+     * The statuses each status may move to. Statuses without an entry are final.
+     */
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(COOKING, READY_TO_SERVE, CANCELLED));
+        TRANSITIONS.put(COOKING, EnumSet.of(PENDING, READY_TO_SERVE, CANCELLED));
+        TRANSITIONS.put(READY_TO_SERVE, EnumSet.of(SERVED, CANCELLED));
+        TRANSITIONS.put(SERVED, EnumSet.of(BILLED));
+        TRANSITIONS.put(BILLED, EnumSet.of(PAID));
+    }
+
     OrderStatus(String displayName) {
         this.displayName = displayName;
     }
 
+    /**
+     * Returns whether an order in this status may move to the given status.
+     *
+     * @param next The requested status.
+     * @return {@code true} if the transition is allowed; always {@code false} for the same status.
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.getOrDefault(this, Set.of()).contains(next);
+    }
+
     /**
      * Deserializes a string value into an OrderStatus enum constant, case-insensitively.
      * This method is used by Jackson for converting incoming JSON strings to enums.
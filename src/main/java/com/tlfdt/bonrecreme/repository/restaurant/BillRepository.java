@@ -4,18 +4,28 @@ package com.tlfdt.bonrecreme.repository.restaurant;
 
 import com.tlfdt.bonrecreme.model.restaurant.Bill;
 import com.tlfdt.bonrecreme.model.restaurant.enums.BillStatus;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.SalesReportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BillRepository extends JpaRepository<Bill, Long> {
 
+    /**
+     * The number of rows the JDBC driver fetches per round trip when streaming report rows.
+     */
+    String REPORT_FETCH_SIZE = "500";
+
     @Query("SELECT b FROM Bill b LEFT JOIN FETCH b.orders o LEFT JOIN FETCH o.orderItems WHERE b.seatTable.id = :tableId AND b.status = :status ORDER BY b.createdAt DESC")
     List<Bill> findMostRecentBillWithDetailsByTableIdAndStatus(@Param("tableId") Long tableId, @Param("status") BillStatus status);
 
@@ -44,4 +54,44 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
      */
     @Query("SELECT b FROM Bill b WHERE b.seatTable.id = :tableId")
     List<Bill> findAllBySeatTableId(@Param("tableId") Long tableId);
-}
\ No newline at end of file
+
+    /**
+     * Checks whether any bill with the given status was created within a date range.
+     *
+     * @param status    The status of the bills to find (e.g., PAID).
+     * @param startDate The start of the date range (inclusive).
+     * @param endDate   The end of the date range (exclusive).
+     * @return {@code true} if at least one bill matches.
+     */
+    @Query("SELECT COUNT(b) > 0 FROM Bill b WHERE b.status = :status AND b.createdAt >= :startDate AND b.createdAt < :endDate")
+    boolean existsByStatusAndDateRange(
+            @Param("status") BillStatus status,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Streams the sales report rows of all bills with a specific status created within a date range,
+     * oldest first.
+     * <p>
+     * Rows are read through a database cursor {@value #REPORT_FETCH_SIZE} at a time and projected
+     * into {@link SalesReportRow}s, so memory use does not depend on the size of the period.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @param status    The status of the bills to find (e.g., PAID).
+     * @param startDate The start of the date range (inclusive).
+     * @param endDate   The end of the date range (exclusive).
+     * @return A stream of report rows.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = REPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.tlfdt.bonrecreme.repository.restaurant.projection.SalesReportRow(b.id, b.createdAt, b.totalAmount) "
+            + "FROM Bill b WHERE b.status = :status AND b.createdAt >= :startDate AND b.createdAt < :endDate "
+            + "ORDER BY b.createdAt, b.id")
+    Stream<SalesReportRow> streamSalesReportRows(
+            @Param("status") BillStatus status,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+}
@@ -0,0 +1,59 @@
+package com.tlfdt.bonrecreme.repository.restaurant;
+
+import com.tlfdt.bonrecreme.model.restaurant.DailyMenuItemSales;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemSalesTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyMenuItemSalesRepository extends JpaRepository<DailyMenuItemSales, Long> {
+
+    /**
+     * Sums the daily menu item rollups of a date range per menu item, highest revenue first.
+     *
+     * @param startDate The first day (inclusive).
+     * @param endDate   The last day (exclusive).
+     * @return The per-menu-item totals of the range.
+     */
+    @Query("SELECT new com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemSalesTotal(s.menuItemId, m.name, SUM(s.quantity), SUM(s.totalAmount)) "
+            + "FROM DailyMenuItemSales s LEFT JOIN MenuItem m ON m.id = s.menuItemId "
+            + "WHERE s.salesDate >= :startDate AND s.salesDate < :endDate "
+            + "GROUP BY s.menuItemId, m.name ORDER BY SUM(s.totalAmount) DESC, s.menuItemId")
+    List<MenuItemSalesTotal> sumByMenuItem(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // == Incremental updates, applied in the payment transaction ==
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_menu_item_sales (sales_date, menu_item_id, quantity, total_amount) "
+            + "SELECT CAST(b.created_at AS date), oi.menu_item_id, SUM(oi.quantity), SUM(oi.price_at_time * oi.quantity) "
+            + "FROM bills b JOIN orders o ON o.bill_id = b.id JOIN order_items oi ON oi.order_id = o.id "
+            + "WHERE b.id = :billId "
+            + "GROUP BY CAST(b.created_at AS date), oi.menu_item_id "
+            + "ON CONFLICT (sales_date, menu_item_id) DO UPDATE SET "
+            + "quantity = daily_menu_item_sales.quantity + EXCLUDED.quantity, "
+            + "total_amount = daily_menu_item_sales.total_amount + EXCLUDED.total_amount",
+            nativeQuery = true)
+    int addBillToDailyMenuItemSales(@Param("billId") Long billId);
+
+    // == Rebuild from history ==
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_menu_item_sales WHERE sales_date >= :startDate AND sales_date < :endDate", nativeQuery = true)
+    int deleteDailyMenuItemSales(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_menu_item_sales (sales_date, menu_item_id, quantity, total_amount) "
+            + "SELECT CAST(b.created_at AS date), oi.menu_item_id, SUM(oi.quantity), SUM(oi.price_at_time * oi.quantity) "
+            + "FROM bills b JOIN orders o ON o.bill_id = b.id JOIN order_items oi ON oi.order_id = o.id "
+            + "WHERE b.status = 'PAID' AND b.created_at >= :startTime AND b.created_at < :endTime "
+            + "GROUP BY CAST(b.created_at AS date), oi.menu_item_id",
+            nativeQuery = true)
+    int rebuildDailyMenuItemSales(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+}
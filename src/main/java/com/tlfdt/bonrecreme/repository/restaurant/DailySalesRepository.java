@@ -0,0 +1,82 @@
+package com.tlfdt.bonrecreme.repository.restaurant;
+
+import com.tlfdt.bonrecreme.model.restaurant.DailySales;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.SalesPeriodTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the daily sales rollups.
+ * <p>
+ * The day totals are maintained with native PostgreSQL statements: {@code INSERT ... ON
+ * CONFLICT DO UPDATE} adds a paid bill to the existing row atomically, and the rebuild
+ * statement recomputes a date range from the bills table. {@link DailyTableSalesRepository}
+ * and {@link DailyMenuItemSalesRepository} do the same for their rollups; the lock taken by
+ * {@link #lockRollupTables()} covers all three.
+ */
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, Long> {
+
+    /**
+     * Finds the day totals of a date range, oldest first.
+     *
+     * @param startDate The first day (inclusive).
+     * @param endDate   The last day (exclusive).
+     * @return The daily rollups of the range.
+     */
+    @Query("SELECT d FROM DailySales d WHERE d.salesDate >= :startDate AND d.salesDate < :endDate ORDER BY d.salesDate")
+    List<DailySales> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sums the day totals of a date range. Since every payment changes them, the result
+     * also serves as a cheap version of the period's sales data.
+     *
+     * @param startDate The first day (inclusive).
+     * @param endDate   The last day (exclusive).
+     * @return The totals of the range; both fields are {@code null} if no day has sales.
+     */
+    @Query("SELECT new com.tlfdt.bonrecreme.repository.restaurant.projection.SalesPeriodTotals(SUM(d.billCount), SUM(d.totalAmount)) "
+            + "FROM DailySales d WHERE d.salesDate >= :startDate AND d.salesDate < :endDate")
+    SalesPeriodTotals sumByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // == Incremental updates, applied in the payment transaction ==
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales (sales_date, bill_count, total_amount) "
+            + "SELECT CAST(b.created_at AS date), 1, b.total_amount FROM bills b WHERE b.id = :billId "
+            + "ON CONFLICT (sales_date) DO UPDATE SET "
+            + "bill_count = daily_sales.bill_count + EXCLUDED.bill_count, "
+            + "total_amount = daily_sales.total_amount + EXCLUDED.total_amount",
+            nativeQuery = true)
+    int addBillToDailySales(@Param("billId") Long billId);
+
+    // == Rebuild from history ==
+
+    /**
+     * Blocks concurrent payments from updating the rollups until the current transaction ends,
+     * so a rebuild neither misses nor double-counts a bill paid while it runs.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE daily_sales, daily_table_sales, daily_menu_item_sales IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockRollupTables();
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_sales WHERE sales_date >= :startDate AND sales_date < :endDate", nativeQuery = true)
+    int deleteDailySales(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales (sales_date, bill_count, total_amount) "
+            + "SELECT CAST(b.created_at AS date), COUNT(*), SUM(b.total_amount) FROM bills b "
+            + "WHERE b.status = 'PAID' AND b.created_at >= :startTime AND b.created_at < :endTime "
+            + "GROUP BY CAST(b.created_at AS date)",
+            nativeQuery = true)
+    int rebuildDailySales(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+}
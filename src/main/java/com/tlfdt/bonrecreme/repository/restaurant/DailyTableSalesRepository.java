@@ -0,0 +1,55 @@
+package com.tlfdt.bonrecreme.repository.restaurant;
+
+import com.tlfdt.bonrecreme.model.restaurant.DailyTableSales;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.TableSalesTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyTableSalesRepository extends JpaRepository<DailyTableSales, Long> {
+
+    /**
+     * Sums the daily table rollups of a date range per table, highest revenue first.
+     *
+     * @param startDate The first day (inclusive).
+     * @param endDate   The last day (exclusive).
+     * @return The per-table totals of the range.
+     */
+    @Query("SELECT new com.tlfdt.bonrecreme.repository.restaurant.projection.TableSalesTotal(t.seatTableId, SUM(t.billCount), SUM(t.totalAmount)) "
+            + "FROM DailyTableSales t WHERE t.salesDate >= :startDate AND t.salesDate < :endDate "
+            + "GROUP BY t.seatTableId ORDER BY SUM(t.totalAmount) DESC, t.seatTableId")
+    List<TableSalesTotal> sumByTable(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // == Incremental updates, applied in the payment transaction ==
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_table_sales (sales_date, seat_table_id, bill_count, total_amount) "
+            + "SELECT CAST(b.created_at AS date), b.seat_table_id, 1, b.total_amount FROM bills b "
+            + "WHERE b.id = :billId AND b.seat_table_id IS NOT NULL "
+            + "ON CONFLICT (sales_date, seat_table_id) DO UPDATE SET "
+            + "bill_count = daily_table_sales.bill_count + EXCLUDED.bill_count, "
+            + "total_amount = daily_table_sales.total_amount + EXCLUDED.total_amount",
+            nativeQuery = true)
+    int addBillToDailyTableSales(@Param("billId") Long billId);
+
+    // == Rebuild from history ==
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_table_sales WHERE sales_date >= :startDate AND sales_date < :endDate", nativeQuery = true)
+    int deleteDailyTableSales(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_table_sales (sales_date, seat_table_id, bill_count, total_amount) "
+            + "SELECT CAST(b.created_at AS date), b.seat_table_id, COUNT(*), SUM(b.total_amount) FROM bills b "
+            + "WHERE b.status = 'PAID' AND b.seat_table_id IS NOT NULL AND b.created_at >= :startTime AND b.created_at < :endTime "
+            + "GROUP BY CAST(b.created_at AS date), b.seat_table_id",
+            nativeQuery = true)
+    int rebuildDailyTableSales(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+}
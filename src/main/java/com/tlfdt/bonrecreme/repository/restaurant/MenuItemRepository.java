@@ -1,15 +1,18 @@
 package com.tlfdt.bonrecreme.repository.restaurant;
 
 import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemPrice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,11 +21,12 @@ import java.util.Optional;
  * This interface provides a robust set of methods for data access, with a focus on
  * performance and security. It includes standard CRUD operations, custom derived queries,
  * and optimized queries using JPQL with EntityGraphs to prevent common performance pitfalls.
+ * Menu searches combine {@link MenuItemSpecifications} through {@link JpaSpecificationExecutor}.
  *
  * @see MenuItem
  */
 @Repository
-public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long>, JpaSpecificationExecutor<MenuItem> {
 
     /**
      * Finds a menu item by its unique name. This method is case-sensitive.
@@ -80,4 +84,31 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      * @return A {@link Page} of menu items matching the search criteria.
      */
     Page<MenuItem> findAllByNameContainingIgnoreCase(String name, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Finds all menu items created or changed after the given menu version.
+     *
+     * @param version The last menu version the client has seen.
+     * @return The changed menu items, in ascending ID order.
+     */
+    @Query("SELECT mi FROM MenuItem mi WHERE mi.menuVersion > :version ORDER BY mi.id")
+    List<MenuItem> findChangedAfter(@Param("version") long version);
+
+    /**
+     * Reads the name and price of every menu item, without loading or managing any entity.
+     *
+     * @return The names and prices of all menu items.
+     */
+    @Query("SELECT new com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemPrice(mi.id, mi.name, mi.price) FROM MenuItem mi")
+    List<MenuItemPrice> findAllPrices();
+
+    /**
+     * Reads the name and price of the given menu items, without loading or managing any entity.
+     *
+     * @param ids The IDs of the menu items.
+     * @return The names and prices of the menu items that exist.
+     */
+    @Query("SELECT new com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemPrice(mi.id, mi.name, mi.price) "
+            + "FROM MenuItem mi WHERE mi.id IN :ids")
+    List<MenuItemPrice> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,64 @@
+package com.tlfdt.bonrecreme.repository.restaurant;
+
+import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Query building blocks for menu searches. Only the filters a request actually uses are added
+ * to the query, so PostgreSQL can pick the matching index for each combination.
+ */
+public final class MenuItemSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private MenuItemSpecifications() {
+    }
+
+    /**
+     * Matches items whose lower-cased name contains the given term. The {@code lower(name)}
+     * expression is what the trigram index covers.
+     *
+     * @param lowerCaseTerm The lower-cased search term.
+     * @return The specification.
+     */
+    public static Specification<MenuItem> nameContains(String lowerCaseTerm) {
+        String pattern = "%" + escapeLike(lowerCaseTerm) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Matches items priced at or above the given amount.
+     *
+     * @param minPrice The lowest price (inclusive).
+     * @return The specification.
+     */
+    public static Specification<MenuItem> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    /**
+     * Matches items priced at or below the given amount.
+     *
+     * @param maxPrice The highest price (inclusive).
+     * @return The specification.
+     */
+    public static Specification<MenuItem> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    /**
+     * Matches items after the given keyset position in ID order.
+     *
+     * @param afterId The ID of the last item already returned.
+     * @return The specification.
+     */
+    public static Specification<MenuItem> idAfter(Long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,25 @@
+package com.tlfdt.bonrecreme.repository.restaurant;
+
+import com.tlfdt.bonrecreme.model.restaurant.MenuItemTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for {@link MenuItemTombstone} entities.
+ */
+@Repository
+public interface MenuItemTombstoneRepository extends JpaRepository<MenuItemTombstone, Long> {
+
+    /**
+     * Finds the IDs of the menu items deleted after the given menu version.
+     *
+     * @param version The last menu version the client has seen.
+     * @return The IDs of the deleted items, in ascending order.
+     */
+    @Query("SELECT t.menuItemId FROM MenuItemTombstone t WHERE t.menuVersion > :version ORDER BY t.menuItemId")
+    List<Long> findMenuItemIdsDeletedAfter(@Param("version") long version);
+}
@@ -0,0 +1,34 @@
+package com.tlfdt.bonrecreme.repository.restaurant;
+
+import com.tlfdt.bonrecreme.model.restaurant.MenuVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the menu version counter.
+ */
+@Repository
+public interface MenuVersionRepository extends JpaRepository<MenuVersion, Integer> {
+
+    /**
+     * Increments the menu version, creating the counter row on first use. The row stays locked
+     * until the calling transaction ends.
+     *
+     * @return The number of rows affected.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO menu_version (id, version) VALUES (1, 1) "
+            + "ON CONFLICT (id) DO UPDATE SET version = menu_version.version + 1",
+            nativeQuery = true)
+    int incrementVersion();
+
+    /**
+     * Returns the current menu version.
+     *
+     * @return The version, or {@code 0} if the menu has never changed.
+     */
+    @Query(value = "SELECT COALESCE(MAX(version), 0) FROM menu_version", nativeQuery = true)
+    long findCurrentVersion();
+}
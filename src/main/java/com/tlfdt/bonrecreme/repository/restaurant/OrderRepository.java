@@ -6,12 +6,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for {@link Order} entities.
@@ -66,4 +69,70 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @return A {@link Page} of {@link Order}s created within the specified timeframe.
      */
     Page<Order> findAllByCreatedAtBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Finds the orders with the given IDs together with their table, items and menu items,
+     * in a single query, so notifications can be built for all of them without further lookups.
+     *
+     * @param ids The IDs of the orders to load.
+     * @return The orders that exist; missing IDs are simply absent.
+     */
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "JOIN FETCH o.seatTable " +
+            "LEFT JOIN FETCH o.orderItems oi " +
+            "LEFT JOIN FETCH oi.menuItem " +
+            "WHERE o.id IN :ids")
+    List<Order> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds an order together with its table, items and menu items in a single query.
+     *
+     * @param id The ID of the order.
+     * @return The order, or empty if it does not exist.
+     */
+    @Query("SELECT o FROM Order o " +
+            "JOIN FETCH o.seatTable " +
+            "LEFT JOIN FETCH o.orderItems oi " +
+            "LEFT JOIN FETCH oi.menuItem " +
+            "WHERE o.id = :id")
+    Optional<Order> findWithDetailsById(@Param("id") Long id);
+
+    /**
+     * Reads only the status of an order, without loading the entity.
+     *
+     * @param id The ID of the order.
+     * @return The current status, or empty if the order does not exist.
+     */
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Moves an order to a new status only if it still has the expected one, as a single
+     * compare-and-set UPDATE that also bumps the optimistic-lock version. The persistence
+     * context is flushed before and cleared after the update, so no stale order entities survive it.
+     *
+     * @param id       The ID of the order.
+     * @param expected The status the order must currently have.
+     * @param next     The new status.
+     * @return {@code 1} if the order was updated, {@code 0} if its status had changed or it does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.version = o.version + 1 WHERE o.id = :id AND o.status = :expected")
+    int compareAndSetStatus(@Param("id") Long id, @Param("expected") OrderStatus expected, @Param("next") OrderStatus next);
+
+    /**
+     * Moves all given orders that still have the expected status to a new status in one
+     * set-based compare-and-set UPDATE, bumping their optimistic-lock versions. Must be
+     * called inside a read-write transaction.
+     *
+     * @param ids      The IDs of the orders to update.
+     * @param expected The name of the status the orders must currently have.
+     * @param next     The name of the new status.
+     * @return The IDs of the orders that were actually updated.
+     */
+    @Query(value = "UPDATE orders SET status = :next, version = version + 1 " +
+            "WHERE id IN (:ids) AND status = :expected RETURNING id", nativeQuery = true)
+    List<Long> compareAndSetStatuses(@Param("ids") Collection<Long> ids,
+                                     @Param("expected") String expected,
+                                     @Param("next") String next);
+}
@@ -0,0 +1,80 @@
+package com.tlfdt.bonrecreme.repository.restaurant;
+
+import com.tlfdt.bonrecreme.model.restaurant.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link OutboxEvent} entities.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the next batch of unpublished events that are due, oldest first.
+     * <p>
+     * Events waiting out a retry backoff are not due, and neither are later events with the
+     * same topic and key, which must not overtake them. Leaving both out keeps a key in backoff
+     * from filling every batch. Rows locked by another relay instance are skipped rather than
+     * waited for, so several instances can drain the outbox concurrently without publishing an
+     * event twice. Must be called inside a transaction; the locks are held until it ends.
+     *
+     * @param now         The current time, compared with each event's next attempt time.
+     * @param maxAttempts Events that already failed this many times are left for manual inspection.
+     * @param batchSize   The maximum number of events to lock.
+     * @return The locked events in insertion order.
+     */
+    @Query(value = "SELECT e.* FROM outbox_events e WHERE e.published_at IS NULL AND e.attempts < :maxAttempts " +
+            "AND (e.next_attempt_at IS NULL OR e.next_attempt_at <= :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events o WHERE o.topic = e.topic AND o.message_key = e.message_key " +
+            "AND o.id < e.id AND o.published_at IS NULL AND o.attempts < :maxAttempts AND o.next_attempt_at > :now) " +
+            "ORDER BY e.id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now,
+                                    @Param("maxAttempts") int maxAttempts,
+                                    @Param("batchSize") int batchSize);
+
+    /**
+     * Deletes events that were published before the given time.
+     *
+     * @param cutoff Events published before this time are deleted.
+     * @return The number of deleted events.
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Finds the topic and key of pending events that are older than the newest event of a batch
+     * but not part of it, for the given keys. These are events locked by another relay
+     * instance, which the batch must not overtake.
+     *
+     * @param messageKeys The message keys of the batch.
+     * @param lockedIds   The IDs of the events in the batch.
+     * @param newestId    The highest event ID in the batch.
+     * @param maxAttempts Events that already failed this many times are dead-lettered and ignored.
+     * @return The distinct topic and key pairs that are blocked.
+     */
+    @Query("SELECT DISTINCT e.topic AS topic, e.messageKey AS messageKey FROM OutboxEvent e " +
+            "WHERE e.publishedAt IS NULL AND e.attempts < :maxAttempts AND e.id < :newestId " +
+            "AND e.messageKey IN :messageKeys AND e.id NOT IN :lockedIds")
+    List<PendingKey> findOlderPendingKeys(@Param("messageKeys") Collection<String> messageKeys,
+                                          @Param("lockedIds") Collection<Long> lockedIds,
+                                          @Param("newestId") long newestId,
+                                          @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * The topic and key of an outbox event.
+     */
+    interface PendingKey {
+        String getTopic();
+
+        String getMessageKey();
+    }
+}
@@ -0,0 +1,13 @@
+package com.tlfdt.bonrecreme.repository.restaurant.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The name and current price of a menu item, read without loading the entity.
+ *
+ * @param id    The ID of the menu item.
+ * @param name  The name of the menu item.
+ * @param price The current price of the menu item.
+ */
+public record MenuItemPrice(Long id, String name, BigDecimal price) {
+}
@@ -0,0 +1,14 @@
+package com.tlfdt.bonrecreme.repository.restaurant.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The sales of one menu item summed over a period of daily rollups.
+ *
+ * @param menuItemId  The ID of the menu item.
+ * @param name        The current name of the menu item, or {@code null} if it has been deleted.
+ * @param quantity    The number of units sold.
+ * @param totalAmount The revenue at the prices charged at the time.
+ */
+public record MenuItemSalesTotal(Long menuItemId, String name, Long quantity, BigDecimal totalAmount) {
+}
@@ -0,0 +1,12 @@
+package com.tlfdt.bonrecreme.repository.restaurant.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The totals of a period of daily sales rollups.
+ *
+ * @param billCount   The number of paid bills, or {@code null} if the period has no rollups.
+ * @param totalAmount The total amount of those bills, or {@code null} if the period has no rollups.
+ */
+public record SalesPeriodTotals(Long billCount, BigDecimal totalAmount) {
+}
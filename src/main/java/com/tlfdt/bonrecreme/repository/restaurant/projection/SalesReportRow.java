@@ -0,0 +1,15 @@
+package com.tlfdt.bonrecreme.repository.restaurant.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A read-only row of the sales report, projected directly from the bills table so that
+ * no managed {@code Bill} entities or their associations are loaded.
+ *
+ * @param billId      The ID of the bill.
+ * @param createdAt   When the bill was created.
+ * @param totalAmount The total amount of the bill.
+ */
+public record SalesReportRow(Long billId, LocalDateTime createdAt, BigDecimal totalAmount) {
+}
@@ -0,0 +1,13 @@
+package com.tlfdt.bonrecreme.repository.restaurant.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The sales of one table summed over a period of daily rollups.
+ *
+ * @param seatTableId The ID of the table.
+ * @param billCount   The number of paid bills.
+ * @param totalAmount The total amount of those bills.
+ */
+public record TableSalesTotal(Long seatTableId, Long billCount, BigDecimal totalAmount) {
+}
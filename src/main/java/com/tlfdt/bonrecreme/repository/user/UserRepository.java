@@ -2,8 +2,12 @@ package com.tlfdt.bonrecreme.repository.user;
 
 import com.tlfdt.bonrecreme.model.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +18,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Returns the token version of every user whose tokens were ever revoked.
+     *
+     * @return The user IDs and their current token versions.
+     */
+    @Query("SELECT u.id AS userId, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersionView> findRevokedTokenVersions();
+
+    /**
+     * A user's current token version.
+     */
+    interface TokenVersionView {
+        Long getUserId();
+
+        long getTokenVersion();
+    }
+}
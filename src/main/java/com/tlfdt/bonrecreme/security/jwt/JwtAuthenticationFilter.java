@@ -1,6 +1,7 @@
 package com.tlfdt.bonrecreme.security.jwt;
 
 import com.tlfdt.bonrecreme.service.user.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,12 +17,22 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a bearer token.
+ * <p>
+ * A token seen before is served from the {@link JwtPrincipalCache} without verifying it again or
+ * touching the user database. On a miss the token is parsed once; tokens with stateless claims
+ * are authenticated from the claims alone, older tokens by loading their user once. Revoked
+ * tokens are rejected in both cases.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsServiceImpl userDetailsService;
+    private final JwtPrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -29,16 +40,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
+            if (StringUtils.hasText(jwt)) {
+                JwtPrincipal principal = principalCache.get(jwt, this::resolvePrincipal);
+                if (principal != null && !tokenRevocationService.isRevoked(principal.userId(), principal.tokenVersion())) {
+                    UserDetails userDetails = principal.userDetails();
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                // Load user details by ID from our custom service
-                // Correct the method call from loadUserBy() to loadUserById(userId)
-                UserDetails userDetails = userDetailsService.loadUserById(userId); // <<< CHANGE THIS LINE
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -47,6 +57,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private JwtPrincipal resolvePrincipal(String jwt) {
+        Claims claims = tokenProvider.parseClaims(jwt);
+        if (claims == null) {
+            return null;
+        }
+        Long userId = tokenProvider.getUserIdFromClaims(claims);
+        long tokenVersion = tokenProvider.getTokenVersionFromClaims(claims);
+        if (tokenRevocationService.isRevoked(userId, tokenVersion)) {
+            return null;
+        }
+        UserDetails userDetails = tokenProvider.hasStatelessClaims(claims)
+                ? tokenProvider.getUserDetailsFromClaims(claims)
+                : userDetailsService.loadUserById(userId);
+        return new JwtPrincipal(userId, userDetails, tokenVersion, claims.getExpiration().toInstant());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -54,4 +80,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return request.getParameter("token") != null ? request.getParameter("token") : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.tlfdt.bonrecreme.security.jwt;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+/**
+ * The principal a verified token resolves to.
+ *
+ * @param userId       The ID of the user the token was issued to.
+ * @param userDetails  The user details placed in the security context.
+ * @param tokenVersion The token version the token was issued with, {@code 0} if it has none.
+ * @param expiresAt    When the token expires.
+ */
+public record JwtPrincipal(Long userId, UserDetails userDetails, long tokenVersion, Instant expiresAt) {
+}
@@ -0,0 +1,98 @@
+package com.tlfdt.bonrecreme.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tlfdt.bonrecreme.config.properties.PrincipalCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the principals that verified tokens resolve to.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are never retained. A hit
+ * means the exact token was verified before, so the signature check and the user lookup are
+ * both skipped. Every entry expires after the configured TTL or when its token expires,
+ * whichever comes first.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final Cache<String, JwtPrincipal> principals;
+    private final Clock clock;
+
+    public JwtPrincipalCache(PrincipalCacheProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    JwtPrincipalCache(PrincipalCacheProperties properties, Clock clock) {
+        this.clock = clock;
+        long ttlNanos = Duration.ofSeconds(properties.getTtlSeconds()).toNanos();
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        long untilTokenExpiry = Duration.between(clock.instant(), principal.expiresAt()).toNanos();
+                        return Math.max(0, Math.min(ttlNanos, untilTokenExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, principal, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the cached principal of a token, resolving and caching it on a miss.
+     * Concurrent misses for the same token resolve it once.
+     *
+     * @param token    The raw token.
+     * @param resolver Verifies the token and resolves its principal; returns {@code null} if the token is invalid.
+     * @return The principal, or {@code null} if the token is invalid.
+     */
+    public JwtPrincipal get(String token, Function<String, JwtPrincipal> resolver) {
+        JwtPrincipal principal = principals.get(hash(token), key -> resolver.apply(token));
+        // A principal of an already expired token is never served, even before eviction runs.
+        return principal != null && principal.expiresAt().isAfter(clock.instant()) ? principal : null;
+    }
+
+    /**
+     * Drops every cached principal of a user, e.g. after their role changed.
+     *
+     * @param userId The ID of the user.
+     */
+    public void invalidateUser(Long userId) {
+        principals.asMap().values().removeIf(principal -> principal.userId().equals(userId));
+    }
+
+    /**
+     * Drops every cached principal.
+     */
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
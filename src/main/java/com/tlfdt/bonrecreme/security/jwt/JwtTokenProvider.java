@@ -1,5 +1,6 @@
 package com.tlfdt.bonrecreme.security.jwt;
 
+import com.tlfdt.bonrecreme.config.properties.JwtClaimsProperties;
 import com.tlfdt.bonrecreme.model.user.User;
 import com.tlfdt.bonrecreme.repository.user.UserRepository;
 import io.jsonwebtoken.*;
@@ -9,18 +10,41 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 import java.security.Key;
 import java.util.Date;
+import java.util.Collection;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    /**
+     * The claim holding the user's role names, without the {@code ROLE_} prefix.
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    /**
+     * The claim holding the username, present on tokens with stateless claims.
+     */
+    public static final String USERNAME_CLAIM = "username";
+
+    /**
+     * The claim holding the user's token version at issue time. Every issued token carries it,
+     * so tokens issued after a revocation are accepted whether or not stateless claims are enabled.
+     */
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
     private final UserRepository userRepository;
+    private final JwtClaimsProperties claimsProperties;
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -30,10 +54,14 @@ public class JwtTokenProvider {
 
     private Key key;
 
+    // Immutable and thread-safe, so one instance serves every request
+    private JwtParser jwtParser;
+
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -47,29 +75,32 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
-                // Change from username to user ID
-                .setSubject(String.valueOf(user.getId())) // <<< CHANGE THIS LINE
-                .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS512)
-                .compact();
-    }
-
-    public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith(ROLE_PREFIX) ? authority.substring(ROLE_PREFIX.length()) : authority)
+                .toList();
 
-        return Long.parseLong(claims.getSubject());
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(String.valueOf(user.getId()))
+                .claim(ROLES_CLAIM, roles)
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
+                .setIssuedAt(now)
+                .setExpiration(expiryDate);
+        if (claimsProperties.isStatelessClaims()) {
+            builder.claim(USERNAME_CLAIM, user.getUsername());
+        }
+        return builder.signWith(key, SignatureAlgorithm.HS512).compact();
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies a token and returns its claims. The signature is checked exactly once.
+     *
+     * @param authToken The raw token.
+     * @return The verified claims, or {@code null} if the token is invalid or expired.
+     */
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -81,6 +112,45 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty.");
         }
-        return false;
+        return null;
+    }
+
+    public Long getUserIdFromClaims(Claims claims) {
+        return Long.parseLong(claims.getSubject());
+    }
+
+    /**
+     * Returns the token version a token was issued with.
+     *
+     * @param claims The verified claims.
+     * @return The token version, or {@code 0} for tokens issued before the claim existed.
+     */
+    public long getTokenVersionFromClaims(Claims claims) {
+        Number version = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        return version != null ? version.longValue() : 0L;
+    }
+
+    /**
+     * Returns whether a token carries everything needed to authenticate without loading the user.
+     *
+     * @param claims The verified claims.
+     * @return {@code true} if the username and roles claims are present.
+     */
+    public boolean hasStatelessClaims(Claims claims) {
+        return claims.get(USERNAME_CLAIM) != null && claims.get(ROLES_CLAIM) instanceof Collection<?>;
+    }
+
+    /**
+     * Builds the user details of a token with stateless claims. The password is not part of
+     * the token and is left empty.
+     *
+     * @param claims The verified claims.
+     * @return The user details.
+     */
+    public UserDetails getUserDetailsFromClaims(Claims claims) {
+        List<SimpleGrantedAuthority> authorities = ((Collection<?>) claims.get(ROLES_CLAIM)).stream()
+                .map(role -> new SimpleGrantedAuthority(ROLE_PREFIX + role))
+                .toList();
+        return new org.springframework.security.core.userdetails.User(claims.get(USERNAME_CLAIM, String.class), "", authorities);
     }
-}
\ No newline at end of file
+}
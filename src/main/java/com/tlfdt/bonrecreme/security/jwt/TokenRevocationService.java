@@ -0,0 +1,168 @@
+package com.tlfdt.bonrecreme.security.jwt;
+
+import com.tlfdt.bonrecreme.config.properties.JwtClaimsProperties;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.repository.user.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revokes tokens by user, without a per-request database lookup.
+ * <p>
+ * Revoking a user increments their token version in the database; tokens issued with a lower
+ * version are rejected from then on. Each instance keeps the lowest valid version of every
+ * revoked user in memory. The database is the source of truth: the map is rebuilt from it on
+ * startup and reconciled with it periodically. Other instances' revocations arrive immediately on
+ * a Redis channel as {@code userId:version}; if a notification is lost, the next reconciliation
+ * applies it, and failed publications are retried. Only revoked users have an entry, so the map
+ * stays small.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService implements MessageListener {
+
+    private final Map<Long, Long> minimumTokenVersions = new ConcurrentHashMap<>();
+
+    // Revocations whose Redis publication failed, retried on every refresh
+    private final Map<Long, Long> pendingPublications = new ConcurrentHashMap<>();
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtPrincipalCache principalCache;
+    private final JwtClaimsProperties properties;
+
+    public TokenRevocationService(UserRepository userRepository,
+                                  StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  JwtPrincipalCache principalCache,
+                                  JwtClaimsProperties properties) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.principalCache = principalCache;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(properties.getRevocationChannel()));
+        reloadFromDatabase();
+        log.info("Loaded {} token revocations.", minimumTokenVersions.size());
+    }
+
+    /**
+     * Reconciles the in-memory revocations with the user database and retries revocations that
+     * could not be published to Redis.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation-refresh-ms:60000}",
+            initialDelayString = "${application.security.jwt.revocation-refresh-ms:60000}")
+    public void refresh() {
+        try {
+            reloadFromDatabase();
+        } catch (Exception e) {
+            log.error("Could not reload token revocations from the database: {}", e.getMessage(), e);
+        }
+        pendingPublications.forEach((userId, version) -> {
+            if (publish(userId, version)) {
+                pendingPublications.remove(userId, version);
+            }
+        });
+    }
+
+    /**
+     * Returns whether a token was revoked.
+     *
+     * @param userId       The ID of the user the token was issued to.
+     * @param tokenVersion The token version the token carries, {@code 0} if none.
+     * @return {@code true} if the user's tokens of this version were revoked.
+     */
+    public boolean isRevoked(Long userId, long tokenVersion) {
+        Long minimum = minimumTokenVersions.get(userId);
+        return minimum != null && tokenVersion < minimum;
+    }
+
+    /**
+     * Revokes every token issued to a user so far. Once the transaction commits, the revocation
+     * is announced to the other instances.
+     *
+     * @param userId The ID of the user.
+     * @return The user's new token version.
+     * @throws ResourceNotFoundException if the user does not exist.
+     */
+    @Transactional("userTransactionManager")
+    public long revokeUser(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        long version = userRepository.findTokenVersionById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(userId, version);
+                if (!publish(userId, version)) {
+                    pendingPublications.merge(userId, version, Math::max);
+                }
+            }
+        });
+        log.info("Revoked tokens of user {} below version {}.", userId, version);
+        return version;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            apply(Long.parseLong(body.substring(0, separator)), Long.parseLong(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed token revocation message '{}'", body);
+        }
+    }
+
+    private void reloadFromDatabase() {
+        userRepository.findRevokedTokenVersions()
+                .forEach(revoked -> apply(revoked.getUserId(), revoked.getTokenVersion()));
+    }
+
+    private void apply(Long userId, long version) {
+        Long previous = minimumTokenVersions.get(userId);
+        if (previous != null && previous >= version) {
+            return;
+        }
+        minimumTokenVersions.merge(userId, version, Math::max);
+        principalCache.invalidateUser(userId);
+    }
+
+    /**
+     * Announces a revocation to the other instances.
+     *
+     * @return {@code true} if it was published, {@code false} if it must be retried.
+     */
+    private boolean publish(Long userId, long version) {
+        try {
+            redisTemplate.convertAndSend(properties.getRevocationChannel(), userId + ":" + version);
+            return true;
+        } catch (Exception e) {
+            // Other instances still pick the revocation up from the database on their next refresh
+            log.error("Failed to publish token revocation of user {}, will retry: {}", userId, e.getMessage(), e);
+            return false;
+        }
+    }
+}
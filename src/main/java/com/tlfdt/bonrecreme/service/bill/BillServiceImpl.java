@@ -3,6 +3,7 @@
 package com.tlfdt.bonrecreme.service.bill;
 
 import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillResponseDTO;
+import com.tlfdt.bonrecreme.exception.custom.ConflictException;
 import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
 import com.tlfdt.bonrecreme.model.restaurant.Bill;
 import com.tlfdt.bonrecreme.model.restaurant.Order;
@@ -16,6 +17,7 @@ import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.payment.*;
 import com.tlfdt.bonrecreme.utils.bill.BillFactory;
 import com.tlfdt.bonrecreme.utils.bill.mapper.BillMapper;
 import com.tlfdt.bonrecreme.service.bill.messaging.BillEventPublisher;
+import com.tlfdt.bonrecreme.service.report.rollup.SalesRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,6 +37,7 @@ public class BillServiceImpl implements BillService {
     private final BillFactory billFactory;
     private final BillMapper billMapper;
     private final BillEventPublisher billEventPublisher;
+    private final SalesRollupService salesRollupService;
 
     @Override
     @Transactional("restaurantTransactionManager")
@@ -61,8 +64,8 @@ public class BillServiceImpl implements BillService {
 
         // 4. Update the state of related entities
         for (Order order : servedOrders) {
+            transition(order, OrderStatus.BILLED);
             order.setBill(bill);
-            order.setStatus(OrderStatus.BILLED);
         }
 
         Bill savedBill = billRepository.save(bill);
@@ -83,12 +86,15 @@ public class BillServiceImpl implements BillService {
             throw new CustomExceptionHandler("Bill with id: " + request.getBillId() + " has already been paid.");
         }
 
+        bill.getOrders().forEach(order -> transition(order, OrderStatus.PAID));
         bill.setStatus(BillStatus.PAID);
-        bill.getOrders().forEach(order -> order.setStatus(OrderStatus.PAID));
 
         Bill paidBill = billRepository.save(bill);
         log.info("Processed payment for bill {}", paidBill.getId());
 
+        // Update the daily sales rollups in the same transaction, so they never miss or double-count a payment
+        salesRollupService.recordPaidBill(paidBill.getId());
+
         BillResponseDTO billResponseDTO = billMapper.toBillResponseDTO(paidBill);
 
         // Publish an event that the bill has been paid
@@ -109,6 +115,19 @@ public class BillServiceImpl implements BillService {
         return billMapper.toBillResponseDTO(bill);
     }
 
+    /**
+     * Moves an order to the given status if the order state machine allows it. A concurrent change
+     * that slips in after the order was read is caught by the order's optimistic lock on flush.
+     *
+     * @throws ConflictException if the order cannot move from its current status to {@code next}.
+     */
+    private static void transition(Order order, OrderStatus next) {
+        if (!order.getStatus().canTransitionTo(next)) {
+            throw new ConflictException("Order #" + order.getId() + " cannot move from " + order.getStatus() + " to " + next + ".");
+        }
+        order.setStatus(next);
+    }
+
     /**
      * Calculates the total amount from a list of orders based on the price at the time of the order.
      */
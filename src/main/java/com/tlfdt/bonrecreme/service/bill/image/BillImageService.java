@@ -2,6 +2,7 @@ package com.tlfdt.bonrecreme.service.bill.image;
 
 import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
 import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.image.BillImageRequest;
+import org.springframework.http.MediaType;
 
 /**
  * A service interface for generating image representations of customer bills.
@@ -15,13 +16,21 @@ public interface BillImageService {
      * Generates a bill image based on the provided request parameters.
      * <p>
      * This method retrieves the current bill data for the specified table and renders it
-     * into a byte array representing a PNG image.
+     * into a byte array in the format of the configured renderer (see {@link #getMediaType()}).
      *
      * @param request An object containing all necessary parameters for generating the image,
      * such as the table ID.
-     * @return A byte array containing the generated PNG image data.
+     * @return A byte array containing the rendered bill.
      * @throws CustomExceptionHandler if no bill is found for the specified table or if
      * an error occurs during image generation.
      */
     byte[] generateBillImage(BillImageRequest request);
-}
\ No newline at end of file
+
+    /**
+     * Returns the content type of the bills produced by {@link #generateBillImage(BillImageRequest)},
+     * which depends on the configured renderer.
+     *
+     * @return The media type, e.g. {@code image/png} or {@code application/pdf}.
+     */
+    MediaType getMediaType();
+}
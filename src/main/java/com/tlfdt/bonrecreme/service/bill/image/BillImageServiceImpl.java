@@ -1,38 +1,97 @@
 package com.tlfdt.bonrecreme.service.bill.image;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tlfdt.bonrecreme.config.properties.BillImageProperties;
 import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillResponseDTO;
-import com.tlfdt.bonrecreme.exception.AppExceptionHandler;
 import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.exception.custom.ServiceBusyException;
 import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
 import com.tlfdt.bonrecreme.service.bill.BillService;
 import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillRequestDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.image.BillImageRequest;
-import lombok.RequiredArgsConstructor;
+import com.tlfdt.bonrecreme.service.bill.image.renderer.BillRenderer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
-import org.xhtmlrenderer.swing.Java2DRenderer;
 
-import javax.imageio.ImageIO;
-import javax.swing.*;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * A service implementation for generating JPEG images of customer bills.
+ * A service implementation for rendering customer bills, as PNG images or PDFs depending
+ * on the configured {@link BillRenderer}.
+ * <p>
+ * Rendering is CPU-heavy, so it runs on a small dedicated pool rather than on the request
+ * thread. When the pool's queue is full, or a render does not finish in time, the request
+ * is answered with 503 and a Retry-After header instead of piling up more work. Rendered
+ * bills are cached by bill ID and a hash of the rendered HTML, so terminals polling an
+ * unchanged bill get the cached image, and any change to the bill yields a new key.
+ * Concurrent requests for the same image share one render.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BillImageServiceImpl implements BillImageService {
 
     private final BillService billService;
     private final TemplateEngine templateEngine;
     private final BillImageProperties billImageProperties;
+    private final BillRenderer billRenderer;
+    private final ThreadPoolExecutor renderExecutor;
+    private final AsyncCache<String, byte[]> renderedImages;
+
+    public BillImageServiceImpl(BillService billService,
+                                TemplateEngine templateEngine,
+                                BillImageProperties billImageProperties,
+                                List<BillRenderer> billRenderers) {
+        this.billService = billService;
+        this.templateEngine = templateEngine;
+        this.billImageProperties = billImageProperties;
+        this.billRenderer = billRenderers.stream()
+                .filter(renderer -> renderer.type() == billImageProperties.getRenderer())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No bill renderer of type " + billImageProperties.getRenderer()));
+        log.info("Rendering bill images with the {} renderer.", billRenderer.type());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderExecutor = new ThreadPoolExecutor(
+                billImageProperties.getRenderThreads(),
+                billImageProperties.getRenderThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(billImageProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bill-image-render-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.renderedImages = Caffeine.newBuilder()
+                .maximumSize(billImageProperties.getCacheMaxEntries())
+                .expireAfterAccess(Duration.ofMinutes(billImageProperties.getCacheTtlMinutes()))
+                .buildAsync();
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return billRenderer.mediaType();
+    }
 
     @Override
     public byte[] generateBillImage(BillImageRequest request) {
@@ -44,17 +103,22 @@ public class BillImageServiceImpl implements BillImageService {
             context.setVariable("bill", bill);
 
             String htmlContent = templateEngine.process(billImageProperties.getTemplateName(), context);
-            log.info("Generated HTML for bill image:\n{}", htmlContent);
+            log.debug("Generated HTML for bill image:\n{}", htmlContent);
 
-            return renderHtmlToImage(htmlContent);
+            String cacheKey = bill.getBillId() + ":" + sha256Hex(htmlContent);
+            return awaitRender(renderedImages.get(cacheKey, (key, executor) -> submitRender(htmlContent)));
 
         } catch (ResourceNotFoundException e) {
             // Re-throw the exception to be handled by the global exception handler.
             // This will ensure a proper HTTP 404 Not Found response is sent to the client
             // when a bill for the specified table does not exist.
             throw e;
-        } catch (CustomExceptionHandler e) {
+        } catch (CustomExceptionHandler | ServiceBusyException e) {
             throw e;
+        } catch (InterruptedException e) {
+            // Restore the interrupt for the caller; the render keeps running and still fills the cache
+            Thread.currentThread().interrupt();
+            throw new CustomExceptionHandler("The bill image request was interrupted.");
         } catch (Exception e) {
             log.error("An unexpected error occurred while generating bill image for table ID: {}", request.getTableId(), e);
             throw new CustomExceptionHandler("An unexpected system error occurred while generating the bill image.");
@@ -62,36 +126,42 @@ public class BillImageServiceImpl implements BillImageService {
     }
 
     /**
-     * Renders a string of well-formed XHTML into a JPEG byte array.
-     * This method correctly handles transparency to prevent a black background in the final JPEG.
-     *
-     * @param xhtmlContent The XHTML string to render.
-     * @return A byte array containing the JPEG image data.
-     * @throws IOException if there is an error during image processing.
+     * Stops the render threads when the application is stopping.
      */
-    private byte[] renderHtmlToImage(String xhtmlContent) throws IOException {
+    @PreDestroy
+    void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<byte[]> submitRender(String htmlContent) {
         try {
-            JEditorPane editorPane = new JEditorPane();
-            editorPane.setEditable(false);
-            editorPane.setContentType("text/html");
-            editorPane.setText(xhtmlContent);
-
-            // Give the component a size
-            Dimension preferredSize = editorPane.getPreferredSize();
-            editorPane.setSize(preferredSize);
-
-            BufferedImage image = new BufferedImage(preferredSize.width, preferredSize.height, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = image.createGraphics();
-            editorPane.print(g2d);
-            g2d.dispose();
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(image, "png", baos);
-            return baos.toByteArray();
-        } catch (IOException e) {
-            // Handle exception
-            throw AppExceptionHandler.throwException("Error generating bill image", e);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return billRenderer.render(htmlContent);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, renderExecutor);
+        } catch (RejectedExecutionException e) {
+            throw busy("Too many bill images are being rendered. Try again later.");
         }
     }
 
-}
\ No newline at end of file
+    private byte[] awaitRender(CompletableFuture<byte[]> image) throws ExecutionException, InterruptedException {
+        try {
+            return image.get(billImageProperties.getRenderTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // The render keeps running and still fills the cache for the next request
+            throw busy("The bill image is taking too long to render. Try again later.");
+        }
+    }
+
+    private ServiceBusyException busy(String message) {
+        return new ServiceBusyException(message, billImageProperties.getRetryAfterSeconds());
+    }
+
+    private static String sha256Hex(String content) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.tlfdt.bonrecreme.service.bill.image.enums;
+
+/**
+ * The available bill rendering pipelines, selected with
+ * {@code application.reports.bill-image.renderer}.
+ */
+public enum BillRendererType {
+
+    /**
+     * Lays the HTML out with a Swing {@code JEditorPane} and encodes a full-color PNG.
+     */
+    SWING_PNG,
+
+    /**
+     * Lays the XHTML out with Flying Saucer's headless Java2D renderer and encodes a
+     * 16-level grayscale indexed PNG, compact enough for thermal receipt printers.
+     */
+    JAVA2D_PNG,
+
+    /**
+     * Lays the XHTML out with Flying Saucer and writes a vector PDF with a receipt-width page.
+     */
+    PDF
+}
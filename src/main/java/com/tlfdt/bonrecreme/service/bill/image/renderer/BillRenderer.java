@@ -0,0 +1,36 @@
+package com.tlfdt.bonrecreme.service.bill.image.renderer;
+
+import com.tlfdt.bonrecreme.service.bill.image.enums.BillRendererType;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Turns the XHTML of a rendered bill template into a printable document.
+ * Implementations must be safe to call from several threads at once.
+ */
+public interface BillRenderer {
+
+    /**
+     * Returns the pipeline this renderer implements.
+     *
+     * @return The renderer type.
+     */
+    BillRendererType type();
+
+    /**
+     * Returns the content type of the documents this renderer produces.
+     *
+     * @return The media type, e.g. {@code image/png}.
+     */
+    MediaType mediaType();
+
+    /**
+     * Renders a well-formed XHTML document.
+     *
+     * @param xhtmlContent The XHTML to render.
+     * @return The rendered document.
+     * @throws IOException if the document cannot be rendered or encoded.
+     */
+    byte[] render(String xhtmlContent) throws IOException;
+}
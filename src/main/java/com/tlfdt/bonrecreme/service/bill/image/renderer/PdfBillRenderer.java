@@ -0,0 +1,76 @@
+package com.tlfdt.bonrecreme.service.bill.image.renderer;
+
+import com.lowagie.text.DocumentException;
+import com.tlfdt.bonrecreme.config.properties.BillImageProperties;
+import com.tlfdt.bonrecreme.service.bill.image.enums.BillRendererType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Renders bills with Flying Saucer into a vector PDF. Text stays text, so the document is
+ * small and prints sharply at any resolution.
+ * <p>
+ * The template does not declare a page size, so a receipt-shaped page as wide as the
+ * configured image width is added to it; long bills continue on further pages.
+ */
+@Component
+@RequiredArgsConstructor
+public class PdfBillRenderer implements BillRenderer {
+
+    private static final int PAGE_HEIGHT_TO_WIDTH = 3;
+
+    private final BillImageProperties billImageProperties;
+
+    @Override
+    public BillRendererType type() {
+        return BillRendererType.PDF;
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return MediaType.APPLICATION_PDF;
+    }
+
+    @Override
+    public byte[] render(String xhtmlContent) throws IOException {
+        Document document = XhtmlDocuments.parse(xhtmlContent);
+        addPageStyle(document);
+
+        ITextRenderer renderer = new ITextRenderer();
+        renderer.setDocument(document, null);
+        renderer.layout();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            renderer.createPDF(outputStream);
+        } catch (DocumentException e) {
+            throw new IOException("Error generating bill PDF", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private void addPageStyle(Document document) {
+        int width = billImageProperties.getWidth();
+        Element root = document.getDocumentElement();
+        Element style = document.createElementNS(root.getNamespaceURI(), "style");
+        style.setAttribute("type", "text/css");
+        style.setTextContent(String.format("@page { size: %dpx %dpx; margin: 0; }", width, width * PAGE_HEIGHT_TO_WIDTH));
+
+        NodeList heads = document.getElementsByTagName("head");
+        if (heads.getLength() > 0) {
+            heads.item(0).appendChild(style);
+        } else {
+            Element head = document.createElementNS(root.getNamespaceURI(), "head");
+            head.appendChild(style);
+            root.insertBefore(head, root.getFirstChild());
+        }
+    }
+}
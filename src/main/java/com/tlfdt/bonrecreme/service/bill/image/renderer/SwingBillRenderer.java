@@ -0,0 +1,65 @@
+package com.tlfdt.bonrecreme.service.bill.image.renderer;
+
+import com.tlfdt.bonrecreme.exception.AppExceptionHandler;
+import com.tlfdt.bonrecreme.service.bill.image.enums.BillRendererType;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Renders bills with a Swing {@code JEditorPane} into a full-color PNG.
+ * This is the original pipeline; every call builds and lays out a new Swing component.
+ */
+@Component
+public class SwingBillRenderer implements BillRenderer {
+
+    @Override
+    public BillRendererType type() {
+        return BillRendererType.SWING_PNG;
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return MediaType.IMAGE_PNG;
+    }
+
+    /**
+     * Renders a string of well-formed XHTML into a PNG byte array.
+     * The ARGB image keeps the transparent background of the template.
+     *
+     * @param xhtmlContent The XHTML string to render.
+     * @return A byte array containing the PNG image data.
+     * @throws IOException if there is an error during image processing.
+     */
+    @Override
+    public byte[] render(String xhtmlContent) throws IOException {
+        try {
+            JEditorPane editorPane = new JEditorPane();
+            editorPane.setEditable(false);
+            editorPane.setContentType("text/html");
+            editorPane.setText(xhtmlContent);
+
+            // Give the component a size
+            Dimension preferredSize = editorPane.getPreferredSize();
+            editorPane.setSize(preferredSize);
+
+            BufferedImage image = new BufferedImage(preferredSize.width, preferredSize.height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = image.createGraphics();
+            editorPane.print(g2d);
+            g2d.dispose();
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", baos);
+            return baos.toByteArray();
+        } catch (IOException e) {
+            // Handle exception
+            throw AppExceptionHandler.throwException("Error generating bill image", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.tlfdt.bonrecreme.service.bill.image.renderer;
+
+import org.w3c.dom.Document;
+import org.xhtmlrenderer.resource.XMLResource;
+
+import java.io.StringReader;
+
+/**
+ * Parses rendered bill templates for the Flying Saucer renderers.
+ */
+final class XhtmlDocuments {
+
+    private XhtmlDocuments() {
+    }
+
+    /**
+     * Parses an XHTML string into a DOM document. Flying Saucer resolves the XHTML DTDs
+     * from its bundled copies, so the DOCTYPE of the template never causes a network fetch.
+     *
+     * @param xhtmlContent The XHTML to parse.
+     * @return The parsed document.
+     */
+    static Document parse(String xhtmlContent) {
+        return XMLResource.load(new StringReader(xhtmlContent)).getDocument();
+    }
+}
@@ -0,0 +1,186 @@
+package com.tlfdt.bonrecreme.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.config.properties.IdempotencyProperties;
+import com.tlfdt.bonrecreme.exception.custom.ConflictException;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.exception.custom.IdempotencyKeyMismatchException;
+import com.tlfdt.bonrecreme.service.idempotency.store.IdempotencyRecord;
+import com.tlfdt.bonrecreme.service.idempotency.store.IdempotencyStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes a request at most once per {@code Idempotency-Key}.
+ * <p>
+ * The first request with a key claims it in the {@link IdempotencyStore}, runs, and stores its
+ * result; retries with the same key and body get the stored result back without running again.
+ * Duplicates arriving on this instance while the first one is still running wait for it and
+ * share its outcome. Duplicates on another instance get 409 Conflict and retry. A key reused
+ * with a different body is rejected with 422. A failed request releases its key, so a retry
+ * runs it again.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    /**
+     * The longest idempotency key accepted.
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper, IdempotencyProperties properties) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Executes an action once per key, or returns the result of the execution that already happened.
+     *
+     * @param scope      The operation the key belongs to, e.g. {@code "order:create"}.
+     * @param key        The client's idempotency key.
+     * @param request    The request body, whose fingerprint must match on every use of the key.
+     * @param resultType The type of the result, used to read back a stored result.
+     * @param action     The action to execute.
+     * @param <T>        The type of the result.
+     * @return The result, flagged as replayed if the action did not run.
+     * @throws CustomExceptionHandler           if the key is blank or too long.
+     * @throws IdempotencyKeyMismatchException  if the key was used with a different request.
+     * @throws ConflictException                if the key is being processed elsewhere.
+     */
+    public <T> IdempotentResult<T> execute(String scope, String key, Object request, Class<T> resultType, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new CustomExceptionHandler("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+        }
+        String scopedKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        CompletableFuture<IdempotencyRecord> execution = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(scopedKey, execution);
+        if (running != null) {
+            return replay(awaitInFlight(running), fingerprint, resultType);
+        }
+
+        try {
+            IdempotencyRecord existing = store.claim(scopedKey, IdempotencyRecord.inFlight(fingerprint),
+                    Duration.ofSeconds(properties.getInFlightTtlSeconds()));
+            if (existing != null) {
+                execution.complete(existing);
+                if (!existing.completed() && existing.fingerprint().equals(fingerprint)) {
+                    throw new ConflictException("A request with this Idempotency-Key is still being processed.");
+                }
+                return replay(existing, fingerprint, resultType);
+            }
+
+            T result;
+            try {
+                result = action.get();
+            } catch (RuntimeException e) {
+                store.release(scopedKey);
+                throw e;
+            }
+            IdempotencyRecord completed = storeResult(scopedKey, fingerprint, result);
+            if (completed != null) {
+                execution.complete(completed);
+            } else {
+                execution.completeExceptionally(
+                        new ConflictException("A request with this Idempotency-Key is still being processed."));
+            }
+            return new IdempotentResult<>(result, false);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopedKey, execution);
+        }
+    }
+
+    /**
+     * Stores the result of an action that has run. The action has already taken effect, so a
+     * failure here is logged and never fails the request: a client seeing an error would retry
+     * and run the action a second time. The key then stays claimed until its in-flight TTL
+     * expires, so retries in the meantime get 409 instead of running again.
+     *
+     * @return The completed record, or {@code null} if the result could not be serialized.
+     */
+    private IdempotencyRecord storeResult(String scopedKey, String fingerprint, Object result) {
+        IdempotencyRecord completed = null;
+        try {
+            completed = IdempotencyRecord.completed(fingerprint, write(result));
+            store.complete(scopedKey, completed, Duration.ofSeconds(properties.getResultTtlSeconds()));
+        } catch (RuntimeException e) {
+            log.error("Failed to store the result of idempotent request {}; retries get 409 until its claim expires.",
+                    scopedKey, e);
+        }
+        return completed;
+    }
+
+    private IdempotencyRecord awaitInFlight(CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.get(properties.getInFlightWaitSeconds(), TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            // The duplicate shares the outcome of the execution it collapsed onto
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this Idempotency-Key is still being processed.");
+        }
+    }
+
+    private <T> IdempotentResult<T> replay(IdempotencyRecord record, String fingerprint, Class<T> resultType) {
+        if (!record.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used with a different request.");
+        }
+        if (!record.completed()) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed.");
+        }
+        try {
+            return new IdempotentResult<>(objectMapper.readValue(record.result(), resultType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored idempotent result", e);
+        }
+    }
+
+    private String write(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent result", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(write(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
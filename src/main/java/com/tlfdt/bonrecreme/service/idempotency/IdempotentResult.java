@@ -0,0 +1,11 @@
+package com.tlfdt.bonrecreme.service.idempotency;
+
+/**
+ * The result of an idempotent request.
+ *
+ * @param value    The result.
+ * @param replayed {@code true} if the request was not executed again and the stored result was returned.
+ * @param <T>      The type of the result.
+ */
+public record IdempotentResult<T>(T value, boolean replayed) {
+}
@@ -0,0 +1,17 @@
+package com.tlfdt.bonrecreme.service.idempotency.enums;
+
+/**
+ * Where the results of idempotent requests are kept.
+ */
+public enum IdempotencyStoreType {
+
+    /**
+     * Redis, shared by every instance. Duplicates are detected across instances.
+     */
+    REDIS,
+
+    /**
+     * A bounded in-process cache. Suitable for single-instance deployments and tests.
+     */
+    MEMORY
+}
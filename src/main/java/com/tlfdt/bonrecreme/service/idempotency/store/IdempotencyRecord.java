@@ -0,0 +1,25 @@
+package com.tlfdt.bonrecreme.service.idempotency.store;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The stored state of one idempotency key.
+ *
+ * @param fingerprint The hash of the request the key was first used with.
+ * @param completed   Whether the request has completed; {@code false} while it is in flight.
+ * @param result      The JSON of the result, or {@code null} while in flight.
+ */
+public record IdempotencyRecord(
+        @JsonProperty("fingerprint") String fingerprint,
+        @JsonProperty("completed") boolean completed,
+        @JsonProperty("result") String result
+) {
+
+    public static IdempotencyRecord inFlight(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, false, null);
+    }
+
+    public static IdempotencyRecord completed(String fingerprint, String result) {
+        return new IdempotencyRecord(fingerprint, true, result);
+    }
+}
@@ -0,0 +1,35 @@
+package com.tlfdt.bonrecreme.service.idempotency.store;
+
+import java.time.Duration;
+
+/**
+ * A store of idempotency keys and the results of their requests. Entries expire on their own.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key for a request about to be processed, unless it is already known.
+     *
+     * @param key    The scoped idempotency key.
+     * @param record The in-flight record to store.
+     * @param ttl    How long the claim lasts if it is never completed or released.
+     * @return {@code null} if the key was claimed, or the record already stored under it.
+     */
+    IdempotencyRecord claim(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Stores the result of a completed request, replacing the claim.
+     *
+     * @param key    The scoped idempotency key.
+     * @param record The completed record.
+     * @param ttl    How long the result is kept.
+     */
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Releases a claim after the request failed, so that a retry executes it again.
+     *
+     * @param key The scoped idempotency key.
+     */
+    void release(String key);
+}
@@ -0,0 +1,63 @@
+package com.tlfdt.bonrecreme.service.idempotency.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.tlfdt.bonrecreme.config.properties.IdempotencyProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Keeps idempotency records in a bounded in-process cache, each with its own TTL.
+ * Duplicates are only detected within this instance.
+ */
+@Component
+@ConditionalOnProperty(name = "application.idempotency.store", havingValue = "memory")
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Policy.VarExpiration<String, IdempotencyRecord> records;
+    private final Cache<String, IdempotencyRecord> cache;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        long defaultTtlNanos = Duration.ofSeconds(properties.getResultTtlSeconds()).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMemoryMaxEntries())
+                .expireAfter(new Expiry<String, IdempotencyRecord>() {
+                    // Only used for writes without an explicit TTL, which this store never makes
+                    @Override
+                    public long expireAfterCreate(String key, IdempotencyRecord record, long currentTime) {
+                        return defaultTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, IdempotencyRecord record, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, IdempotencyRecord record, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.records = cache.policy().expireVariably().orElseThrow();
+    }
+
+    @Override
+    public IdempotencyRecord claim(String key, IdempotencyRecord record, Duration ttl) {
+        return records.putIfAbsent(key, record, ttl);
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        records.put(key, record, ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        cache.invalidate(key);
+    }
+}
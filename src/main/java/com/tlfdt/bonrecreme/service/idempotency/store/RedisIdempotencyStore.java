@@ -0,0 +1,62 @@
+package com.tlfdt.bonrecreme.service.idempotency.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.config.properties.IdempotencyProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Keeps idempotency records in Redis as JSON. Claims use {@code SET NX}, so exactly one
+ * instance processes a key at a time.
+ */
+@Component
+@ConditionalOnProperty(name = "application.idempotency.store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+
+    @Override
+    public IdempotencyRecord claim(String key, IdempotencyRecord record, Duration ttl) {
+        String redisKey = properties.getRedisKeyPrefix() + key;
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, write(record), ttl))) {
+            return null;
+        }
+        String existing = redisTemplate.opsForValue().get(redisKey);
+        // The key expired between the two calls; report it as in flight so the client retries.
+        return existing != null ? read(existing) : IdempotencyRecord.inFlight(record.fingerprint());
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        redisTemplate.opsForValue().set(properties.getRedisKeyPrefix() + key, write(record), ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(properties.getRedisKeyPrefix() + key);
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotency record", e);
+        }
+    }
+
+    private IdempotencyRecord read(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read idempotency record", e);
+        }
+    }
+}
@@ -1,22 +1,14 @@
 package com.tlfdt.bonrecreme.service.kitchen;
 
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import com.tlfdt.bonrecreme.service.sse.SseBroadcaster;
+import com.tlfdt.bonrecreme.service.sse.SseSubscription;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
 
-
-import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Manages Server-Sent Event (SSE) connections for the kitchen display.
@@ -24,81 +16,59 @@ import java.util.concurrent.TimeUnit;
  * This service is designed for a distributed environment. It listens to Kafka topics
  * for order events and broadcasts them to all clients connected to its specific
  * application instance. This ensures that events are propagated across all instances.
+ * Delivery is delegated to the shared {@link SseBroadcaster} under the {@link #TOPIC} topic.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KitchenSseService {
 
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    /**
+     * The broadcaster topic that kitchen displays subscribe to.
+     */
+    public static final String TOPIC = "kitchen";
+
+    private final SseBroadcaster sseBroadcaster;
 
     /**
      * Creates a new SseEmitter for a client and registers it for event broadcasting.
+     * Events missed since {@code lastEventId} are replayed before live traffic.
      *
+     * @param lastEventId  The ID of the last event the client received, or {@code null} for a fresh connection.
+     * @param subscription The tables whose orders this display wants to receive.
      * @return A configured {@link SseEmitter} instance for the client.
      */
-    public SseEmitter createEmitter() {
-        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
-
-        this.emitters.add(emitter);
-        log.info("New Kitchen SSE client connected. Total clients on this instance: {}", emitters.size());
-
-        emitter.onCompletion(() -> removeEmitter(emitter, "completed"));
-        emitter.onTimeout(() -> removeEmitter(emitter, "timed out"));
-        emitter.onError(e -> removeEmitter(emitter, "errored: " + e.getMessage()));
-
-        try {
-            emitter.send(SseEmitter.event().name("connected").data("Connection established successfully."));
-        } catch (IOException e) {
-            log.error("Failed to send initial connection event.", e);
-            removeEmitter(emitter, "initial send failed");
-        }
-
-        return emitter;
-    }
-
-    public void sendEventToAllEmitters(String eventName, Object data) {
-        if (emitters.isEmpty()) {
-            return;
-        }
-        log.info("Broadcasting event '{}' to {} kitchen clients on this instance.", eventName, emitters.size());
-        SseEventBuilder event = SseEmitter.event().name(eventName).data(data);
-
-        for (SseEmitter emitter : this.emitters) {
-            try {
-                emitter.send(event);
-            } catch (IOException e) {
-                log.warn("Failed to send event to kitchen client, will be removed on next callback. Error: {}", e.getMessage());
-            }
-        }
+    public SseEmitter createEmitter(String lastEventId, SseSubscription subscription) {
+        return sseBroadcaster.subscribe(TOPIC, "Connection established successfully.", lastEventId, subscription);
     }
 
-    // Unchanged methods from original file...
-
-    @PostConstruct
-    private void startHeartbeat() {
-        scheduler.scheduleAtFixedRate(this::broadcastHeartbeat, 20, 20, TimeUnit.SECONDS);
-    }
-
-    @PreDestroy
-    private void shutdownScheduler() {
-        scheduler.shutdownNow();
+    /**
+     * Queues an order event for the kitchen clients subscribed to the order's table.
+     *
+     * @param eventName The SSE event name.
+     * @param order     The order notification.
+     */
+    public void sendOrderEvent(String eventName, OrderNotificationDTO order) {
+        sseBroadcaster.broadcast(TOPIC, eventName, order, order.getTableId());
     }
 
-    private void broadcastHeartbeat() {
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event().comment("keep-alive"));
-            } catch (IOException e) {
-                // This is expected if a client disconnects abruptly.
-            }
-        }
+    /**
+     * Queues a batch of order events in one pass, each for the kitchen clients subscribed to its table.
+     *
+     * @param eventName The SSE event name.
+     * @param orders    The order notifications, in the order they were consumed.
+     */
+    public void sendOrderEvents(String eventName, List<OrderNotificationDTO> orders) {
+        sseBroadcaster.broadcastAll(TOPIC, eventName, orders, OrderNotificationDTO::getTableId);
     }
 
-    private void removeEmitter(SseEmitter emitter, String reason) {
-        if (this.emitters.remove(emitter)) {
-            log.info("SSE client disconnected (Reason: {}). Total clients: {}", reason, emitters.size());
-        }
+    /**
+     * Queues an event for every kitchen client connected to this instance.
+     *
+     * @param eventName The SSE event name.
+     * @param data      The event payload.
+     */
+    public void sendEventToAllEmitters(String eventName, Object data) {
+        sseBroadcaster.broadcast(TOPIC, eventName, data);
     }
-}
\ No newline at end of file
+}
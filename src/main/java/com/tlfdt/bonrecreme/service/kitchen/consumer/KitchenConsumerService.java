@@ -7,6 +7,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+/**
+ * Consumes order events for the kitchen display. Listeners run in batch mode with one
+ * consumer thread per partition, and every poll is broadcast to the kitchen in one pass.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -15,32 +21,32 @@ public class KitchenConsumerService {
     private final KitchenSseService kitchenSseService;
     /**
      * Listens for new order events from the "order-topic" on Kafka.
-     * The listener is configured to automatically deserialize the JSON message
-     * into an OrderNotificationDTO object.
+     * The listener is configured to automatically deserialize the JSON messages
+     * into OrderNotificationDTO objects.
      *
-     * @param order The deserialized order notification from Kafka.
+     * @param orders The deserialized order notifications of one poll.
      */
-    @KafkaListener(topics = "order-topic", groupId = "kitchen-group")
-    public void consumeNewOrder(OrderNotificationDTO order) {
-        log.info("Consumed new order event from Kafka for Order ID {}", order.getOrderId());
-        kitchenSseService.sendEventToAllEmitters("new-order", order);
+    @KafkaListener(topics = "order-topic", groupId = "kitchen-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeNewOrders(List<OrderNotificationDTO> orders) {
+        log.debug("Consumed {} new order events from Kafka", orders.size());
+        kitchenSseService.sendOrderEvents("new-order", orders);
     }
 
     /**
      * Listens for order update events from the "update-order-topic" on Kafka.
      *
-     * @param order The deserialized order notification from Kafka.
+     * @param orders The deserialized order notifications of one poll.
      */
-    @KafkaListener(topics = "update-order-topic", groupId = "kitchen-group")
-    public void consumeOrderUpdate(OrderNotificationDTO order) {
-        log.info("Consumed order update event from Kafka for Order ID {}", order.getOrderId());
-        kitchenSseService.sendEventToAllEmitters("update-order", order);
+    @KafkaListener(topics = "update-order-topic", groupId = "kitchen-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeOrderUpdates(List<OrderNotificationDTO> orders) {
+        log.debug("Consumed {} order update events from Kafka", orders.size());
+        kitchenSseService.sendOrderEvents("update-order", orders);
     }
 
     //TODO
-    @KafkaListener(topics = "customer-order-update-topic", groupId = "kitchen-group")
-    public void consumeCustomerOrderUpdate(OrderNotificationDTO order) {
-        log.info("Consumed Customer order update event from Kafka for Order ID {}", order.getOrderId());
-        kitchenSseService.sendEventToAllEmitters("customer-order-update", order);
+    @KafkaListener(topics = "customer-order-update-topic", groupId = "kitchen-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeCustomerOrderUpdates(List<OrderNotificationDTO> orders) {
+        log.debug("Consumed {} customer order update events from Kafka", orders.size());
+        kitchenSseService.sendOrderEvents("customer-order-update", orders);
     }
 }
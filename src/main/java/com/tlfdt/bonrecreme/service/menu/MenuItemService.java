@@ -1,8 +1,10 @@
 package com.tlfdt.bonrecreme.service.menu;
 
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemPageDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemRequestDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
 import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.service.menu.search.MenuItemSearchCriteria;
 
 import java.util.List;
 
@@ -42,6 +44,18 @@ public interface MenuItemService {
      */
     List<MenuItemResponseDTO> getAllMenuItems();
 
+    /**
+     * Retrieves one page of menu items matching a name search and price band.
+     * <p>
+     * Pages are read with keyset pagination on the item ID, so deep pages cost the same as the
+     * first one, and each page is cached until the menu changes.
+     *
+     * @param criteria The filters and the keyset position of the page.
+     * @return A {@link MenuItemPageDTO} with the items and the cursor of the next page.
+     * @throws CustomExceptionHandler if the price band is inverted or the page size is out of range.
+     */
+    MenuItemPageDTO searchMenuItems(MenuItemSearchCriteria criteria) throws CustomExceptionHandler;
+
     /**
      * Updates an existing menu item with new data.
      *
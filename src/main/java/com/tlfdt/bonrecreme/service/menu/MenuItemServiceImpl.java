@@ -1,10 +1,16 @@
 package com.tlfdt.bonrecreme.service.menu;
 
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemPageDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemRequestDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
 import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
 import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
 import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemSpecifications;
+import com.tlfdt.bonrecreme.service.menu.catalog.MenuCatalogService;
+import com.tlfdt.bonrecreme.service.menu.search.MenuItemSearchCriteria;
+import com.tlfdt.bonrecreme.service.menu.snapshot.MenuItemSnapshot;
 import com.tlfdt.bonrecreme.utils.menu.mapper.MenuItemMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +18,8 @@ import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,10 +34,13 @@ public class MenuItemServiceImpl implements MenuItemService {
 
     private final MenuItemRepository menuItemRepository;
     private final MenuItemMapper menuItemMapper;
+    private final MenuItemSnapshot menuItemSnapshot;
+    private final MenuCatalogService menuCatalogService;
+    private final MenuProperties menuProperties;
 
     @Override
     @Transactional("restaurantTransactionManager")
-    @CacheEvict(cacheNames = "allMenuItems", allEntries = true)
+    @CacheEvict(cacheNames = {"allMenuItems", "menuItemPages"}, allEntries = true)
     public MenuItemResponseDTO createMenuItem(MenuItemRequestDTO requestDTO) {
         // Business logic validation: Prevent duplicate names
         if (menuItemRepository.existsByName(requestDTO.getName())) {
@@ -37,14 +48,16 @@ public class MenuItemServiceImpl implements MenuItemService {
         }
 
         MenuItem menuItem = menuItemMapper.toNewEntity(requestDTO);
+        menuItem.setMenuVersion(menuCatalogService.nextVersion());
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        menuItemSnapshot.invalidate();
 
         log.info("Created new menu item with ID: {}", savedMenuItem.getId());
         return menuItemMapper.toResponseDTO(savedMenuItem);
     }
 
     @Override
-    @Cacheable(key = "#id")
+    @Cacheable(key = "#id", sync = true)
     public MenuItemResponseDTO getMenuItemById(Long id) {
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new CustomExceptionHandler("menuitems not found with ID: " + id));
@@ -52,7 +65,7 @@ public class MenuItemServiceImpl implements MenuItemService {
     }
 
     @Override
-    @Cacheable(cacheNames = "allMenuItems")
+    @Cacheable(cacheNames = "allMenuItems", sync = true)
     public List<MenuItemResponseDTO> getAllMenuItems() {
         List<MenuItem> menuItems = menuItemRepository.findAll();
         return menuItems.stream()
@@ -60,18 +73,60 @@ public class MenuItemServiceImpl implements MenuItemService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(value = "restaurantTransactionManager", readOnly = true)
+    @Cacheable(cacheNames = "menuItemPages", key = "#criteria.cacheKey()", sync = true)
+    public MenuItemPageDTO searchMenuItems(MenuItemSearchCriteria criteria) {
+        if (criteria.size() < 1 || criteria.size() > menuProperties.getMaxPageSize()) {
+            throw new CustomExceptionHandler("Page size must be between 1 and " + menuProperties.getMaxPageSize() + ".");
+        }
+        if (criteria.minPrice() != null && criteria.maxPrice() != null && criteria.minPrice().compareTo(criteria.maxPrice()) > 0) {
+            throw new CustomExceptionHandler("minPrice must not be greater than maxPrice.");
+        }
+
+        Specification<MenuItem> specification = Specification.allOf();
+        if (criteria.name() != null) {
+            specification = specification.and(MenuItemSpecifications.nameContains(criteria.name()));
+        }
+        if (criteria.minPrice() != null) {
+            specification = specification.and(MenuItemSpecifications.priceAtLeast(criteria.minPrice()));
+        }
+        if (criteria.maxPrice() != null) {
+            specification = specification.and(MenuItemSpecifications.priceAtMost(criteria.maxPrice()));
+        }
+        if (criteria.afterId() != null) {
+            specification = specification.and(MenuItemSpecifications.idAfter(criteria.afterId()));
+        }
+
+        // One extra row tells whether another page follows, without a count query
+        List<MenuItem> rows = menuItemRepository.findBy(specification, query -> query
+                .sortBy(Sort.by("id"))
+                .limit(criteria.size() + 1)
+                .all());
+        boolean hasNext = rows.size() > criteria.size();
+        List<MenuItem> page = hasNext ? rows.subList(0, criteria.size()) : rows;
+
+        List<MenuItemResponseDTO> items = page.stream()
+                .map(menuItemMapper::toResponseDTO)
+                .collect(Collectors.toList());
+        Long nextCursor = hasNext ? page.getLast().getId() : null;
+        return new MenuItemPageDTO(items, nextCursor);
+    }
+
     @Override
     @Transactional("restaurantTransactionManager")
     @CachePut(key = "#id") // Updates the specific item cache
-    @CacheEvict(cacheNames = "allMenuItems", allEntries = true) // Invalidates the paginated cache
+    @CacheEvict(cacheNames = {"allMenuItems", "menuItemPages"}, allEntries = true) // Invalidates the list and page caches
     public MenuItemResponseDTO updateMenuItem(Long id, MenuItemRequestDTO requestDTO) {
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new CustomExceptionHandler("menuitems not found with ID: " + id));
 
         // Use the mapper to apply updates
         menuItemMapper.updateEntityFromDTO(menuItem, requestDTO);
+        menuItem.setMenuVersion(menuCatalogService.nextVersion());
 
         MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
+        menuItemSnapshot.invalidate(); // Orders must pick up the new price once this commits
 
         log.info("Updated menu item with ID: {}", updatedMenuItem.getId());
         return menuItemMapper.toResponseDTO(updatedMenuItem);
@@ -79,12 +134,14 @@ public class MenuItemServiceImpl implements MenuItemService {
 
     @Override
     @Transactional("restaurantTransactionManager")
-    @CacheEvict(cacheNames = {"menuItems", "allMenuItems"}, allEntries = true) // Evict both caches
+    @CacheEvict(cacheNames = {"menuItems", "allMenuItems", "menuItemPages"}, allEntries = true) // Evict every menu cache
     public void deleteMenuItem(Long id) {
         if (!menuItemRepository.existsById(id)) {
             throw new CustomExceptionHandler("menuitems not found with ID: " + id);
         }
         menuItemRepository.deleteById(id);
+        menuCatalogService.recordDeletion(id);
+        menuItemSnapshot.invalidate();
         log.info("Deleted menu item with ID: {}", id);
     }
 }
\ No newline at end of file
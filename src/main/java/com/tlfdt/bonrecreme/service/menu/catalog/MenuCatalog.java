@@ -0,0 +1,22 @@
+package com.tlfdt.bonrecreme.service.menu.catalog;
+
+/**
+ * The full customer menu of one version, serialized once and shared by every request.
+ *
+ * @param version      The menu version.
+ * @param etag         The quoted entity tag identifying the version.
+ * @param body         The JSON response body.
+ * @param gzippedBody  The same body, gzip-compressed.
+ */
+public record MenuCatalog(long version, String etag, byte[] body, byte[] gzippedBody) {
+
+    /**
+     * Returns the entity tag of a menu version.
+     *
+     * @param version The menu version.
+     * @return The quoted entity tag.
+     */
+    public static String etagOf(long version) {
+        return "\"menu-" + version + "\"";
+    }
+}
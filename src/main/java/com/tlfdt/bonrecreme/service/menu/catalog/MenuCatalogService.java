@@ -0,0 +1,43 @@
+package com.tlfdt.bonrecreme.service.menu.catalog;
+
+import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuDeltaDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+
+/**
+ * A service that versions the menu and serves it to customer clients, either in full or as
+ * the changes since a version the client already has.
+ */
+public interface MenuCatalogService {
+
+    /**
+     * Takes the next menu version for a mutation. Must be called inside the mutating
+     * transaction; the version becomes visible when that transaction commits.
+     *
+     * @return The new menu version.
+     */
+    long nextVersion();
+
+    /**
+     * Takes the next menu version and records the deletion of a menu item under it.
+     * Must be called inside the deleting transaction.
+     *
+     * @param menuItemId The ID of the deleted menu item.
+     */
+    void recordDeletion(Long menuItemId);
+
+    /**
+     * Returns the full menu of the current version, serialized and compressed once per version.
+     *
+     * @return The current menu catalog.
+     */
+    MenuCatalog getCatalog();
+
+    /**
+     * Returns the menu items created, updated and deleted after the given version.
+     *
+     * @param sinceVersion The last menu version the client has seen.
+     * @return The changes and the version they bring the client up to.
+     * @throws CustomExceptionHandler if the version is negative or newer than the current one.
+     */
+    MenuDeltaDTO getChangesSince(long sinceVersion) throws CustomExceptionHandler;
+}
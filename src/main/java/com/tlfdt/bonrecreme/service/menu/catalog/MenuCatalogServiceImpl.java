@@ -0,0 +1,236 @@
+package com.tlfdt.bonrecreme.service.menu.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.config.cache.TwoTierCacheManager;
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuDeltaDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.dto.ApiResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
+import com.tlfdt.bonrecreme.model.restaurant.MenuItemTombstone;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemTombstoneRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuVersionRepository;
+import com.tlfdt.bonrecreme.utils.menu.mapper.MenuItemMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The full menu is cached in memory as ready-to-send bytes, plain and gzip-compressed, and only
+ * rebuilt when the menu version changes.
+ * <p>
+ * The current version is kept in memory too, so serving the menu, including a 304, normally
+ * costs no database access. It is dropped once a local mutation commits, and when another
+ * instance announces one on the cache invalidation channel. It is reread at least every
+ * {@link MenuProperties#getVersionTtlSeconds()} in case an announcement is lost.
+ * <p>
+ * Reads of a version and its items run in one repeatable-read transaction, so the items always
+ * belong to the version they are labelled with or a later one; a client may then see a change
+ * twice, but never miss one.
+ */
+@Service
+@Slf4j
+public class MenuCatalogServiceImpl implements MenuCatalogService {
+
+    /**
+     * The name menu version changes are announced under on the cache invalidation channel.
+     */
+    static final String VERSION_INVALIDATION_NAME = "menuVersion";
+
+    private final MenuItemRepository menuItemRepository;
+    private final MenuVersionRepository menuVersionRepository;
+    private final MenuItemTombstoneRepository menuItemTombstoneRepository;
+    private final MenuItemMapper menuItemMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate snapshotTransaction;
+    private final TwoTierCacheManager cacheManager;
+    private final MenuProperties menuProperties;
+
+    private final AtomicLong versionInvalidations = new AtomicLong();
+    private volatile MenuCatalog catalog;
+    private volatile KnownVersion knownVersion;
+
+    public MenuCatalogServiceImpl(MenuItemRepository menuItemRepository,
+                                  MenuVersionRepository menuVersionRepository,
+                                  MenuItemTombstoneRepository menuItemTombstoneRepository,
+                                  MenuItemMapper menuItemMapper,
+                                  ObjectMapper objectMapper,
+                                  @Qualifier("restaurantTransactionManager") PlatformTransactionManager transactionManager,
+                                  TwoTierCacheManager cacheManager,
+                                  MenuProperties menuProperties) {
+        this.menuItemRepository = menuItemRepository;
+        this.menuVersionRepository = menuVersionRepository;
+        this.menuItemTombstoneRepository = menuItemTombstoneRepository;
+        this.menuItemMapper = menuItemMapper;
+        this.objectMapper = objectMapper;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.cacheManager = cacheManager;
+        this.menuProperties = menuProperties;
+    }
+
+    @PostConstruct
+    public void init() {
+        cacheManager.addInvalidationListener(VERSION_INVALIDATION_NAME, key -> discardKnownVersion());
+    }
+
+    @Override
+    @Transactional(value = "restaurantTransactionManager", propagation = Propagation.MANDATORY)
+    public long nextVersion() {
+        menuVersionRepository.incrementVersion();
+        long version = menuVersionRepository.findCurrentVersion();
+        // Announced after commit, so that no instance rereads the version before it is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    announceVersion(version);
+                }
+            });
+        } else {
+            announceVersion(version);
+        }
+        return version;
+    }
+
+    @Override
+    @Transactional(value = "restaurantTransactionManager", propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long menuItemId) {
+        menuItemTombstoneRepository.save(MenuItemTombstone.builder()
+                .menuItemId(menuItemId)
+                .menuVersion(nextVersion())
+                .build());
+    }
+
+    @Override
+    public MenuCatalog getCatalog() {
+        MenuCatalog cached = catalog;
+        if (cached != null && cached.version() >= currentVersion()) {
+            return cached;
+        }
+        return rebuild();
+    }
+
+    @Override
+    @Transactional(value = "restaurantTransactionManager", readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public MenuDeltaDTO getChangesSince(long sinceVersion) {
+        long version = menuVersionRepository.findCurrentVersion();
+        if (sinceVersion < 0 || sinceVersion > version) {
+            throw new CustomExceptionHandler("Unknown menu version " + sinceVersion + "; the current version is " + version + ".");
+        }
+        if (sinceVersion == version) {
+            return new MenuDeltaDTO(version, List.of(), List.of());
+        }
+
+        List<MenuItemResponseDTO> changedItems = menuItemRepository.findChangedAfter(sinceVersion).stream()
+                .map(menuItemMapper::toResponseDTO)
+                .toList();
+        List<Long> deletedItemIds = menuItemTombstoneRepository.findMenuItemIdsDeletedAfter(sinceVersion);
+        return new MenuDeltaDTO(version, changedItems, deletedItemIds);
+    }
+
+    private synchronized MenuCatalog rebuild() {
+        MenuCatalog cached = catalog;
+        long invalidationsBefore = versionInvalidations.get();
+        MenuCatalog rebuilt = snapshotTransaction.execute(status -> {
+            long version = menuVersionRepository.findCurrentVersion();
+            rememberVersion(version, invalidationsBefore);
+            if (cached != null && cached.version() >= version) {
+                return cached;
+            }
+            List<MenuItemResponseDTO> items = menuItemRepository.findAll().stream()
+                    .sorted(Comparator.comparing(MenuItem::getId))
+                    .map(menuItemMapper::toResponseDTO)
+                    .toList();
+            return serialize(version, items);
+        });
+        catalog = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * Returns the menu version from memory, reading it from the database if it is unknown or
+     * older than the TTL.
+     */
+    private long currentVersion() {
+        KnownVersion known = knownVersion;
+        if (known != null && System.nanoTime() - known.readAtNanos() < TimeUnit.SECONDS.toNanos(menuProperties.getVersionTtlSeconds())) {
+            return known.version();
+        }
+        long invalidationsBefore = versionInvalidations.get();
+        long version = menuVersionRepository.findCurrentVersion();
+        rememberVersion(version, invalidationsBefore);
+        return version;
+    }
+
+    /**
+     * Keeps a version read from the database, unless it was invalidated since the read started:
+     * the read may then predate the change.
+     */
+    private void rememberVersion(long version, long invalidationsBefore) {
+        KnownVersion known = new KnownVersion(version, System.nanoTime());
+        if (versionInvalidations.get() == invalidationsBefore) {
+            knownVersion = known;
+        }
+    }
+
+    private void announceVersion(long version) {
+        discardKnownVersion();
+        cacheManager.publishInvalidation(VERSION_INVALIDATION_NAME, String.valueOf(version));
+    }
+
+    private void discardKnownVersion() {
+        versionInvalidations.incrementAndGet();
+        knownVersion = null;
+    }
+
+    private MenuCatalog serialize(long version, List<MenuItemResponseDTO> items) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponseDTO.success(items, "Menu items fetched successfully"));
+            MenuCatalog rebuilt = new MenuCatalog(version, MenuCatalog.etagOf(version), body, gzip(body));
+            log.debug("Serialized menu version {} with {} items ({} bytes, {} gzipped).",
+                    version, items.size(), body.length, rebuilt.gzippedBody().length);
+            return rebuilt;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize menu version " + version, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * A menu version and when it was read from the database.
+     */
+    private record KnownVersion(long version, long readAtNanos) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.tlfdt.bonrecreme.service.menu.search;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * The filters and keyset position of one menu search page.
+ *
+ * @param name     A case-insensitive substring of the item name, or {@code null} for any name.
+ * @param minPrice The lowest price (inclusive), or {@code null} for no lower bound.
+ * @param maxPrice The highest price (inclusive), or {@code null} for no upper bound.
+ * @param afterId  The ID of the last item of the previous page, or {@code null} for the first page.
+ * @param size     The maximum number of items on the page.
+ */
+public record MenuItemSearchCriteria(String name, BigDecimal minPrice, BigDecimal maxPrice, Long afterId, int size) {
+
+    public MenuItemSearchCriteria {
+        name = name == null || name.isBlank() ? null : name.trim().toLowerCase(Locale.ROOT);
+        minPrice = minPrice != null ? minPrice.stripTrailingZeros() : null;
+        maxPrice = maxPrice != null ? maxPrice.stripTrailingZeros() : null;
+    }
+
+    /**
+     * Returns the key this page is cached under. Criteria that select the same rows map to the same key.
+     *
+     * @return The cache key.
+     */
+    public String cacheKey() {
+        return String.join("|",
+                name != null ? name : "",
+                minPrice != null ? minPrice.toPlainString() : "",
+                maxPrice != null ? maxPrice.toPlainString() : "",
+                afterId != null ? afterId.toString() : "",
+                Integer.toString(size));
+    }
+}
@@ -0,0 +1,158 @@
+package com.tlfdt.bonrecreme.service.menu.snapshot;
+
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemPrice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An in-process, versioned snapshot of the menu used to resolve ordered items
+ * without one database round trip per order line.
+ * <p>
+ * The snapshot is rebuilt lazily with a single projection query whenever it has been
+ * invalidated by a menu mutation or has outlived its configured TTL. Every rebuild gets a
+ * new version, so all prices captured for one order come from the same view of the menu.
+ * Items that are not in the snapshot yet (e.g. created on another instance) are resolved
+ * with one batched query.
+ * <p>
+ * Only immutable {@link MenuItemPrice} values are cached, never entities, so nothing attached
+ * to one persistence context leaks into another request. Callers link order lines to the menu
+ * with {@link MenuItemRepository#getReferenceById}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuItemSnapshot {
+
+    private final MenuItemRepository menuItemRepository;
+    private final MenuProperties menuProperties;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Snapshot current;
+
+    /**
+     * Resolves all requested menu items at once.
+     *
+     * @param menuItemIds The IDs of the menu items to resolve.
+     * @return A map of menu item ID to its {@link MenuItemPrice}.
+     * @throws ResourceNotFoundException listing every ID that does not exist.
+     */
+    public Map<Long, MenuItemPrice> resolveAll(Collection<Long> menuItemIds) {
+        Snapshot snapshot = currentSnapshot();
+
+        Map<Long, MenuItemPrice> resolved = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : menuItemIds) {
+            MenuItemPrice menuItem = snapshot.items().get(id);
+            if (menuItem != null) {
+                resolved.put(id, menuItem);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            List<MenuItemPrice> found = menuItemRepository.findPricesByIdIn(misses);
+            found.forEach(menuItem -> resolved.put(menuItem.id(), menuItem));
+
+            List<Long> missing = misses.stream()
+                    .filter(id -> !resolved.containsKey(id))
+                    .distinct()
+                    .toList();
+            if (!missing.isEmpty()) {
+                throw new ResourceNotFoundException("menuitems not found with id: " + missing.stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(", ")));
+            }
+            if (!found.isEmpty()) {
+                // The menu has items this snapshot does not know about; rebuild on next use.
+                discard();
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the version of the snapshot currently in use, or {@code 0} if none has been built yet.
+     *
+     * @return The current snapshot version.
+     */
+    public long getVersion() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot.version() : 0L;
+    }
+
+    /**
+     * Invalidates the snapshot after the current transaction commits, or immediately if
+     * no transaction is active. Invalidating after commit prevents a concurrent rebuild
+     * from caching prices that are about to change.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discard();
+                }
+            });
+        } else {
+            discard();
+        }
+    }
+
+    private void discard() {
+        invalidations.incrementAndGet();
+        current = null;
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot snapshot = current;
+        if (snapshot == null || snapshot.isExpired(System.nanoTime())) {
+            snapshot = rebuild();
+        }
+        return snapshot;
+    }
+
+    private synchronized Snapshot rebuild() {
+        long now = System.nanoTime();
+        Snapshot snapshot = current;
+        if (snapshot != null && !snapshot.isExpired(now)) {
+            return snapshot;
+        }
+
+        long invalidationsBefore = invalidations.get();
+        Map<Long, MenuItemPrice> items = menuItemRepository.findAllPrices().stream()
+                .collect(Collectors.toUnmodifiableMap(MenuItemPrice::id, Function.identity()));
+        long expiresAt = now + TimeUnit.SECONDS.toNanos(menuProperties.getSnapshotTtlSeconds());
+        snapshot = new Snapshot(versionSequence.incrementAndGet(), items, expiresAt);
+
+        // Only publish the snapshot if nothing invalidated the menu while it was being loaded.
+        if (invalidations.get() == invalidationsBefore) {
+            current = snapshot;
+        }
+        log.debug("Rebuilt menu snapshot version {} with {} items.", snapshot.version(), items.size());
+        return snapshot;
+    }
+
+    private record Snapshot(long version, Map<Long, MenuItemPrice> items, long expiresAtNanos) {
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
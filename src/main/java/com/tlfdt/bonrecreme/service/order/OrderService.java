@@ -1,6 +1,8 @@
 package com.tlfdt.bonrecreme.service.order;
 
 import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.BulkOrderStatusRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.BulkOrderStatusResponseDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.UpdateOrderRequestDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.UpdateOrderStatusRequestDTO;
@@ -25,11 +27,13 @@ public interface OrderService {
 
     /**
      * Updates the items of an existing order. This is typically done by a customer
-     * before the order preparation has started.
+     * before the order preparation has started. The order goes back to PENDING so the kitchen
+     * sees the change.
      *
      * @param orderId    The unique identifier of the order to update.
      * @param requestDTO A DTO containing the complete new list of items for the order.
      * @return An {@link OrderNotificationDTO} reflecting the updated order.
+     * @throws com.tlfdt.bonrecreme.exception.custom.ConflictException if the order is neither PENDING nor COOKING.
      */
     OrderNotificationDTO updateOrderItems(Long orderId, UpdateOrderRequestDTO requestDTO);
 
@@ -40,15 +44,30 @@ public interface OrderService {
      * @param orderId    The unique identifier of the order.
      * @param requestDTO A DTO containing the new {@link OrderStatus}.
      * @return An {@link OrderNotificationDTO} reflecting the new status.
+     * @throws com.tlfdt.bonrecreme.exception.custom.ConflictException if the order's current status cannot move
+     *         to the new one, or the order was changed concurrently.
      */
     OrderNotificationDTO updateOrderStatus(Long orderId, UpdateOrderStatusRequestDTO requestDTO);
 
+    /**
+     * Moves several orders to the same status at once, typically when the kitchen closes out
+     * a batch of orders. All orders are changed by one set-based update and their notifications
+     * are queued together; orders that do not exist, already have the status, cannot move to it,
+     * or were changed concurrently are reported per order instead of failing the whole request.
+     *
+     * @param requestDTO A DTO containing the order IDs and the new {@link OrderStatus}.
+     * @return A {@link BulkOrderStatusResponseDTO} with the outcome of every requested order.
+     */
+    BulkOrderStatusResponseDTO updateOrderStatuses(BulkOrderStatusRequestDTO requestDTO);
+
     /**
      * Marks a specific order as prepared and ready to be delivered to the table.
      * This action notifies the waitstaff.
      *
      * @param orderId The unique identifier of the order that is ready.
      * @return An {@link OrderNotificationDTO} reflecting the 'READY_TO_SERVE' status.
+     * @throws com.tlfdt.bonrecreme.exception.custom.ConflictException if the order's current status cannot move
+     *         to the new one, or the order was changed concurrently.
      */
     OrderNotificationDTO markOrderAsReadyToServe(Long orderId);
 
@@ -58,6 +77,8 @@ public interface OrderService {
      *
      * @param orderId The unique identifier of the order that has been served.
      * @return An {@link OrderNotificationDTO} reflecting the 'SERVED' status.
+     * @throws com.tlfdt.bonrecreme.exception.custom.ConflictException if the order's current status cannot move
+     *         to the new one, or the order was changed concurrently.
      */
     OrderNotificationDTO markOrderAsServed(Long orderId);
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.tlfdt.bonrecreme.service.order;
 
+import com.tlfdt.bonrecreme.config.properties.KafkaProducerProperties;
 import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.BulkOrderStatusRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.BulkOrderStatusResponseDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.UpdateOrderRequestDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.UpdateOrderStatusRequestDTO;
+import com.tlfdt.bonrecreme.exception.custom.ConflictException;
 import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
 import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
-import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
 import com.tlfdt.bonrecreme.model.restaurant.Order;
 import com.tlfdt.bonrecreme.model.restaurant.OrderItem;
 import com.tlfdt.bonrecreme.model.restaurant.SeatTable;
@@ -14,14 +17,22 @@ import com.tlfdt.bonrecreme.model.restaurant.enums.OrderStatus;
 import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
 import com.tlfdt.bonrecreme.repository.restaurant.OrderRepository;
 import com.tlfdt.bonrecreme.repository.restaurant.SeatTableRepository;
-import com.tlfdt.bonrecreme.config.message.kafka.producer.KafkaProducerService;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemPrice;
+import com.tlfdt.bonrecreme.service.menu.snapshot.MenuItemSnapshot;
+import com.tlfdt.bonrecreme.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,10 +43,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    private final MenuItemSnapshot menuItemSnapshot;
     private final MenuItemRepository menuItemRepository;
     private final OrderRepository orderRepository;
     private final SeatTableRepository seatTableRepository;
-    private final KafkaProducerService kafkaProducerService;
+    private final OutboxService outboxService;
+    private final KafkaProducerProperties kafkaProducerProperties;
 
     @Override
     @Transactional("restaurantTransactionManager")
@@ -51,10 +64,11 @@ public class OrderServiceImpl implements OrderService {
         // The order must be saved first to get an ID before orderItems can reference it.
         Order savedOrder = orderRepository.save(order);
 
-        List<OrderItem> orderItems = createOrderItemsForOrder(menuRequestDTO.getItems(), savedOrder);
+        Map<Long, MenuItemPrice> menuItems = resolveMenuItems(menuRequestDTO.getItems());
+        List<OrderItem> orderItems = createOrderItemsForOrder(menuRequestDTO.getItems(), savedOrder, menuItems);
         order.setOrderItems(new HashSet<>(orderItems)); // Convert the list to a HashSet
 
-        OrderNotificationDTO notificationDTO = OrderNotificationDTO.fromOrder(order);
+        OrderNotificationDTO notificationDTO = toNotification(order, menuItems);
         publishOrderNotification("order-topic", notificationDTO);
 
         log.info("Successfully created Order #{} for table #{}", savedOrder.getId(), table.getId());
@@ -65,61 +79,128 @@ public class OrderServiceImpl implements OrderService {
     @Transactional("restaurantTransactionManager")
     public OrderNotificationDTO updateOrderItems(Long orderId, UpdateOrderRequestDTO requestDTO) {
         Order order = findOrderById(orderId);
+        // Edited items go back to PENDING, so an order may be edited wherever the state machine
+        // allows that; once it is ready to serve, what was cooked is what gets billed.
+        if (order.getStatus() != OrderStatus.PENDING && !order.getStatus().canTransitionTo(OrderStatus.PENDING)) {
+            throw new ConflictException("Order #" + orderId + " cannot be edited while it is " + order.getStatus() + ".");
+        }
 
         // This is the key line for removing old items
         order.getOrderItems().clear();
 
-        List<OrderItem> updatedItems = createOrderItemsForOrder(requestDTO.getItems(), order);
+        Map<Long, MenuItemPrice> menuItems = resolveMenuItems(requestDTO.getItems());
+        List<OrderItem> updatedItems = createOrderItemsForOrder(requestDTO.getItems(), order, menuItems);
         order.getOrderItems().addAll(updatedItems);
 
-        order.setStatus(OrderStatus.PENDING); // Reset status to PENDING after update
+        order.setStatus(OrderStatus.PENDING);
         Order savedOrder = orderRepository.save(order);
 
-        return OrderNotificationDTO.fromOrder(savedOrder);
+        return toNotification(savedOrder, menuItems);
     }
 
     @Override
     @Transactional("restaurantTransactionManager")
     public OrderNotificationDTO updateOrderStatus(Long orderId, UpdateOrderStatusRequestDTO requestDTO) {
-        Order order = findOrderById(orderId);
+        return transitionOrder(orderId, requestDTO.getStatus(), "update-order-topic");
+    }
 
-        OrderStatus newStatus = OrderStatus.fromDisplayName(String.valueOf(requestDTO.getStatus()));
-        order.setStatus(newStatus);
-        Order updatedOrder = orderRepository.save(order);
+    @Override
+    @Transactional("restaurantTransactionManager")
+    public BulkOrderStatusResponseDTO updateOrderStatuses(BulkOrderStatusRequestDTO requestDTO) {
+        OrderStatus newStatus = requestDTO.getStatus();
+        LinkedHashSet<Long> orderIds = new LinkedHashSet<>(requestDTO.getOrderIds());
+        Map<Long, Order> orders = orderRepository.findAllWithDetailsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
 
-        OrderNotificationDTO notificationDTO = OrderNotificationDTO.fromOrder(updatedOrder);
-        publishOrderNotification("update-order-topic", notificationDTO);
+        Map<Long, BulkOrderStatusResponseDTO.Outcome> outcomes = new LinkedHashMap<>();
+        Map<OrderStatus, List<Long>> candidatesByStatus = new EnumMap<>(OrderStatus.class);
+        for (Long orderId : orderIds) {
+            Order order = orders.get(orderId);
+            if (order == null) {
+                outcomes.put(orderId, BulkOrderStatusResponseDTO.Outcome.NOT_FOUND);
+            } else if (order.getStatus() == newStatus) {
+                outcomes.put(orderId, BulkOrderStatusResponseDTO.Outcome.UNCHANGED);
+            } else if (!order.getStatus().canTransitionTo(newStatus)) {
+                outcomes.put(orderId, BulkOrderStatusResponseDTO.Outcome.INVALID_TRANSITION);
+            } else {
+                // Assume a conflict until the compare-and-set below confirms the update
+                outcomes.put(orderId, BulkOrderStatusResponseDTO.Outcome.CONFLICT);
+                candidatesByStatus.computeIfAbsent(order.getStatus(), status -> new ArrayList<>()).add(orderId);
+            }
+        }
 
-        log.info("Updated status of Order #{} to {}", updatedOrder.getId(), updatedOrder.getStatus());
-        return notificationDTO;
+        // One compare-and-set UPDATE per distinct current status, so an order changed by someone
+        // else since it was read is left alone and reported as a conflict.
+        for (Map.Entry<OrderStatus, List<Long>> candidates : candidatesByStatus.entrySet()) {
+            orderRepository.compareAndSetStatuses(candidates.getValue(), candidates.getKey().name(), newStatus.name())
+                    .forEach(orderId -> outcomes.put(orderId, BulkOrderStatusResponseDTO.Outcome.UPDATED));
+        }
+
+        List<OutboxService.Message> notifications = new ArrayList<>();
+        List<BulkOrderStatusResponseDTO.OrderResult> results = new ArrayList<>(outcomes.size());
+        outcomes.forEach((orderId, outcome) -> {
+            if (outcome == BulkOrderStatusResponseDTO.Outcome.UPDATED) {
+                notifications.add(toOutboxMessage(OrderNotificationDTO.fromOrder(orders.get(orderId))));
+            }
+            results.add(new BulkOrderStatusResponseDTO.OrderResult(orderId, outcome));
+        });
+
+        if (!notifications.isEmpty()) {
+            try {
+                outboxService.enqueueAll(topicForStatus(newStatus), notifications);
+            } catch (Exception e) {
+                log.error("Failed to queue notifications for {} orders", notifications.size(), e);
+                throw new CustomExceptionHandler("Failed to send order notification.");
+            }
+        }
+
+        log.info("Bulk-updated {} of {} orders to {}", notifications.size(), orderIds.size(), newStatus);
+        return new BulkOrderStatusResponseDTO(newStatus, notifications.size(), results);
     }
 
     @Override
     @Transactional("restaurantTransactionManager")
     public OrderNotificationDTO markOrderAsReadyToServe(Long orderId) {
-        Order order = findOrderById(orderId);
-        order.setStatus(OrderStatus.READY_TO_SERVE);
-        Order updatedOrder = orderRepository.save(order);
-
-        OrderNotificationDTO notificationDTO = OrderNotificationDTO.fromOrder(updatedOrder);
         // Publish to a specific topic for waitstaff
-        publishOrderNotification("serve-order-topic", notificationDTO);
-
-        log.info("Marked Order #{} as READY_TO_SERVE", updatedOrder.getId());
-        return notificationDTO;
+        return transitionOrder(orderId, OrderStatus.READY_TO_SERVE, "serve-order-topic");
     }
 
     @Override
     @Transactional("restaurantTransactionManager")
     public OrderNotificationDTO markOrderAsServed(Long orderId) {
-        Order order = findOrderById(orderId);
-        order.setStatus(OrderStatus.SERVED);
-        Order updatedOrder = orderRepository.save(order);
+        return transitionOrder(orderId, OrderStatus.SERVED, "update-order-topic");
+    }
+
+    /**
+     * Moves an order to a new status with a compare-and-set UPDATE instead of a
+     * read-modify-write of the entity, then queues the notification.
+     * Only the current status is read up front; the full order is loaded only once the
+     * transition has succeeded, to build the notification.
+     *
+     * @param orderId The ID of the order.
+     * @param next    The new status.
+     * @param topic   The Kafka topic to announce the change on.
+     * @return An {@link OrderNotificationDTO} reflecting the updated order.
+     * @throws ResourceNotFoundException if the order is not found.
+     * @throws ConflictException         if the transition is not allowed from the current status,
+     *                                   or the order was changed concurrently.
+     */
+    private OrderNotificationDTO transitionOrder(Long orderId, OrderStatus next, String topic) {
+        OrderStatus current = orderRepository.findStatusById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        if (!current.canTransitionTo(next)) {
+            throw new ConflictException("Order #" + orderId + " cannot move from " + current + " to " + next + ".");
+        }
+        if (orderRepository.compareAndSetStatus(orderId, current, next) == 0) {
+            throw new ConflictException("Order #" + orderId + " was changed concurrently. Please reload and try again.");
+        }
 
+        Order updatedOrder = orderRepository.findWithDetailsById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         OrderNotificationDTO notificationDTO = OrderNotificationDTO.fromOrder(updatedOrder);
-        publishOrderNotification("update-order-topic", notificationDTO);
+        publishOrderNotification(topic, notificationDTO);
 
-        log.info("Marked Order #{} as SERVED", updatedOrder.getId());
+        log.info("Moved Order #{} from {} to {}", orderId, current, next);
         return notificationDTO;
     }
 
@@ -135,24 +216,41 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
     }
 
+    /**
+     * Resolves the names and prices of all requested menu items in a single lookup against the
+     * menu snapshot, so the cost does not grow with the number of order lines.
+     *
+     * @param itemRequests The list of requested items.
+     * @return A map of menu item ID to its name and current price.
+     * @throws ResourceNotFoundException listing every requested menu item that does not exist.
+     */
+    private Map<Long, MenuItemPrice> resolveMenuItems(List<MenuRequestDTO.OrderItemRequest> itemRequests) {
+        return menuItemSnapshot.resolveAll(itemRequests.stream()
+                .map(MenuRequestDTO.OrderItemRequest::getMenuItemId)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
     /**
      * Helper method to convert OrderItemRequest DTOs into OrderItem entities.
+     * Menu items are linked through uninitialized references, so no menu item is loaded
+     * into the persistence context.
      *
      * @param itemRequests The list of requested items.
      * @param order        The parent order for these items.
+     * @param menuItems    The resolved menu items, see {@link #resolveMenuItems(List)}.
      * @return A list of new, unsaved OrderItem entities.
      */
-    private List<OrderItem> createOrderItemsForOrder(List<MenuRequestDTO.OrderItemRequest> itemRequests, Order order) {
+    private List<OrderItem> createOrderItemsForOrder(List<MenuRequestDTO.OrderItemRequest> itemRequests, Order order,
+                                                     Map<Long, MenuItemPrice> menuItems) {
         return itemRequests.stream()
                 .map(itemDto -> {
-                    MenuItem menuItem = menuItemRepository.findById(itemDto.getMenuItemId())
-                            .orElseThrow(() -> new ResourceNotFoundException("menuitems not found with id: " + itemDto.getMenuItemId()));
+                    MenuItemPrice menuItem = menuItems.get(itemDto.getMenuItemId());
 
                     return OrderItem.builder()
                             .order(order)
-                            .menuItem(menuItem)
+                            .menuItem(menuItemRepository.getReferenceById(menuItem.id()))
                             .quantity(itemDto.getQuantity())
-                            .priceAtTime(menuItem.getPrice()) // Capture the price at the time of order
+                            .priceAtTime(menuItem.price()) // Capture the price at the time of order
                             .specialRequests(itemDto.getSpecialRequests())
                             .build();
                 })
@@ -160,21 +258,55 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Publishes an order notification to the specified Kafka topic.
+     * Builds the notification of an order whose items were just created, taking the menu item
+     * names from the snapshot so the menu item references are never initialized.
+     *
+     * @param order     The order.
+     * @param menuItems The menu items its items were created from.
+     * @return The order notification.
+     */
+    private static OrderNotificationDTO toNotification(Order order, Map<Long, MenuItemPrice> menuItems) {
+        return OrderNotificationDTO.fromOrder(order, orderItem -> menuItems.get(orderItem.getMenuItem().getId()).name());
+    }
+
+    /**
+     * Queues an order notification for the specified Kafka topic in the transactional outbox,
+     * so it is published only if the surrounding transaction commits. The message is keyed
+     * according to the configured key strategy to preserve per-order ordering.
      *
      * @param topic   The target Kafka topic.
      * @param payload The notification DTO to send.
      */
     private void publishOrderNotification(String topic, OrderNotificationDTO payload) {
         try {
-            // Remove the manual serialization to a string
-            // String message = objectMapper.writeValueAsString(payload);
-
-            // Send the payload object directly. The Kafka producer will handle serialization.
-            kafkaProducerService.sendMessage(topic, payload);
+            OutboxService.Message message = toOutboxMessage(payload);
+            outboxService.enqueue(topic, message.key(), message.payload());
         } catch (Exception e) {
-            log.error("Failed to send notification for Order ID: {}", payload.getOrderId(), e);
+            log.error("Failed to queue notification for Order ID: {}", payload.getOrderId(), e);
             throw new CustomExceptionHandler("Failed to send order notification.");
         }
     }
+
+    /**
+     * Wraps an order notification into an outbox message, keyed according to the configured
+     * key strategy to preserve per-order ordering.
+     *
+     * @param payload The notification DTO to send.
+     * @return The outbox message.
+     */
+    private OutboxService.Message toOutboxMessage(OrderNotificationDTO payload) {
+        String key = kafkaProducerProperties.getKeyStrategy().keyFor(payload.getOrderId(), payload.getTableId());
+        return new OutboxService.Message(key, payload);
+    }
+
+    /**
+     * Returns the topic a status change is announced on, matching the single-order endpoints:
+     * orders ready to serve go to the waitstaff topic, every other change to the update topic.
+     *
+     * @param status The new status.
+     * @return The target Kafka topic.
+     */
+    private static String topicForStatus(OrderStatus status) {
+        return status == OrderStatus.READY_TO_SERVE ? "serve-order-topic" : "update-order-topic";
+    }
 }
@@ -0,0 +1,271 @@
+package com.tlfdt.bonrecreme.service.outbox;
+
+import com.tlfdt.bonrecreme.config.message.kafka.producer.KafkaProducerService;
+import com.tlfdt.bonrecreme.config.properties.OutboxProperties;
+import com.tlfdt.bonrecreme.model.restaurant.OutboxEvent;
+import com.tlfdt.bonrecreme.repository.restaurant.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes committed outbox events to Kafka.
+ * <p>
+ * Each poll locks a batch of pending events and marks the acknowledged ones as published in
+ * the same transaction. Events with the same topic and key are published strictly in order:
+ * the batch is sent in waves, the oldest pending event of every key in each wave, and a key
+ * stops for the rest of the batch as soon as one of its events fails. Keys with an older
+ * pending event locked by another relay instance are left alone until that event is published.
+ * Events without a key are all sent in the first wave.
+ * <p>
+ * Events that fail are retried after an exponential backoff, starting at
+ * {@link OutboxProperties#getRetryInitialBackoffMs()} and capped at
+ * {@link OutboxProperties#getRetryMaxBackoffMs()}, so that a broker outage spends the attempts
+ * over minutes rather than seconds. Later events of the same key wait with them. Once an event
+ * reaches the configured maximum number of attempts it is dead-lettered: stamped with
+ * {@code dead_lettered_at} and counted by the {@code outbox.events.dead_lettered} metric. Delivery is at-least-once: an event
+ * acknowledged by the broker whose transaction then fails is sent again.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final KafkaProducerService kafkaProducerService;
+    private final OutboxProperties outboxProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxService outboxService,
+                       KafkaProducerService kafkaProducerService,
+                       OutboxProperties outboxProperties,
+                       @Qualifier("restaurantTransactionManager") PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxService = outboxService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.outboxProperties = outboxProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Drains the outbox, one batch per transaction, for as long as whole batches are published.
+     * A batch with failures or deferred events ends the poll, so an unavailable broker is
+     * not polled in a tight loop.
+     */
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval-ms:500}")
+    public void poll() {
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published != null && published >= outboxProperties.getBatchSize());
+        } catch (Exception e) {
+            log.error("Outbox relay poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes published events once they are older than the retention period.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(outboxProperties.getRetentionHours());
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events.", deleted);
+        }
+    }
+
+    /**
+     * Publishes one batch of pending events. Must run inside a restaurant transaction.
+     *
+     * @return The number of events published by this batch.
+     */
+    int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(LocalDateTime.now(),
+                outboxProperties.getMaxAttempts(), outboxProperties.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> blockedKeys = findKeysBlockedByOtherRelays(events);
+        Map<String, Deque<OutboxEvent>> queues = new LinkedHashMap<>();
+        int skipped = 0;
+        for (OutboxEvent event : events) {
+            String orderingKey = orderingKey(event);
+            if (blockedKeys.contains(orderingKey)) {
+                skipped++;
+                continue;
+            }
+            queues.computeIfAbsent(orderingKey, key -> new ArrayDeque<>()).add(event);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(outboxProperties.getSendTimeoutSeconds());
+        int published = 0;
+        int failed = 0;
+        while (!queues.isEmpty()) {
+            List<OutboxEvent> wave = new ArrayList<>(queues.size());
+            List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(queues.size());
+            for (Deque<OutboxEvent> queue : queues.values()) {
+                OutboxEvent event = queue.peekFirst();
+                wave.add(event);
+                futures.add(send(event));
+            }
+            await(futures, deadline);
+
+            LocalDateTime now = LocalDateTime.now();
+            Iterator<Deque<OutboxEvent>> queueIterator = queues.values().iterator();
+            for (int i = 0; i < wave.size(); i++) {
+                OutboxEvent event = wave.get(i);
+                Deque<OutboxEvent> queue = queueIterator.next();
+                CompletableFuture<SendResult<String, Object>> future = futures.get(i);
+                if (future.isDone() && !future.isCompletedExceptionally()) {
+                    event.setPublishedAt(now);
+                    published++;
+                    queue.removeFirst();
+                } else {
+                    failed++;
+                    recordFailure(event, describeFailure(future));
+                    // Later events of this key wait for this one, so they cannot overtake it
+                    skipped += queue.size() - 1;
+                    queue.clear();
+                }
+                if (queue.isEmpty()) {
+                    queueIterator.remove();
+                }
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                skipped += queues.values().stream().mapToInt(Deque::size).sum();
+                break;
+            }
+        }
+
+        if (failed > 0 || skipped > 0) {
+            log.warn("Published {} of {} outbox events; {} failed and {} were deferred to keep per-key order.",
+                    published, events.size(), failed, skipped);
+        } else {
+            log.debug("Published {} outbox events.", events.size());
+        }
+        return published;
+    }
+
+    /**
+     * Returns the ordering keys of the batch that still have an older pending event outside it.
+     * Such an event is locked by another relay instance, so this batch must not overtake it.
+     */
+    private Set<String> findKeysBlockedByOtherRelays(List<OutboxEvent> events) {
+        Set<String> messageKeys = new HashSet<>();
+        List<Long> lockedIds = new ArrayList<>(events.size());
+        long newestId = 0;
+        for (OutboxEvent event : events) {
+            lockedIds.add(event.getId());
+            newestId = Math.max(newestId, event.getId());
+            if (event.getMessageKey() != null) {
+                messageKeys.add(event.getMessageKey());
+            }
+        }
+        if (messageKeys.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> blocked = new HashSet<>();
+        outboxEventRepository.findOlderPendingKeys(messageKeys, lockedIds, newestId, outboxProperties.getMaxAttempts())
+                .forEach(key -> blocked.add(orderingKey(key.getTopic(), key.getMessageKey())));
+        return blocked;
+    }
+
+    private void recordFailure(OutboxEvent event, String error) {
+        event.recordFailure(error, LocalDateTime.now().plus(retryBackoff(event.getAttempts() + 1), ChronoUnit.MILLIS));
+        if (event.getAttempts() >= outboxProperties.getMaxAttempts()) {
+            event.setDeadLetteredAt(LocalDateTime.now());
+            Counter.builder("outbox.events.dead_lettered")
+                    .description("Outbox events abandoned after reaching the maximum number of publish attempts")
+                    .tag("topic", event.getTopic())
+                    .register(meterRegistry)
+                    .increment();
+            log.error("Outbox event {} for topic [{}] failed {} times and was dead-lettered. Last error: {}",
+                    event.getId(), event.getTopic(), event.getAttempts(), event.getLastError());
+        }
+    }
+
+    /**
+     * Returns the delay before the next attempt of an event that has now failed the given number
+     * of times: the initial backoff, doubled for every failure after the first, up to the maximum.
+     */
+    private long retryBackoff(int attempts) {
+        long backoff = outboxProperties.getRetryInitialBackoffMs() << Math.min(attempts - 1, 20);
+        return Math.min(backoff, outboxProperties.getRetryMaxBackoffMs());
+    }
+
+    private static void await(List<CompletableFuture<SendResult<String, Object>>> futures, long deadline) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Individual outcomes are inspected by the caller.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Events sharing this key must be published in insertion order. Events without a message
+     * key have no ordering constraint, so each gets a key of its own.
+     */
+    private static String orderingKey(OutboxEvent event) {
+        return event.getMessageKey() == null ? "#" + event.getId() : orderingKey(event.getTopic(), event.getMessageKey());
+    }
+
+    private static String orderingKey(String topic, String messageKey) {
+        return topic + ':' + messageKey;
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent event) {
+        try {
+            Object payload = outboxService.readPayload(event);
+            return kafkaProducerService.sendMessage(event.getTopic(), event.getMessageKey(), payload);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String describeFailure(CompletableFuture<?> future) {
+        if (!future.isDone()) {
+            return "Timed out waiting for broker acknowledgement.";
+        }
+        try {
+            future.join();
+            return null;
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getMessage();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.tlfdt.bonrecreme.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.model.restaurant.OutboxEvent;
+import com.tlfdt.bonrecreme.repository.restaurant.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes integration events to the transactional outbox and reads them back for publishing.
+ * <p>
+ * Events are stored as JSON together with their payload type. Only the types registered
+ * in {@link #PAYLOAD_TYPES} can be written or read, so the relay never instantiates
+ * arbitrary classes from database content.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    /**
+     * The payload types that may travel through the outbox, keyed by class name.
+     */
+    private static final Map<String, Class<?>> PAYLOAD_TYPES = Stream.of(OrderNotificationDTO.class, BillResponseDTO.class)
+            .collect(Collectors.toUnmodifiableMap(Class::getName, Function.identity()));
+
+    /**
+     * A single event of a batch passed to {@link #enqueueAll(String, List)}.
+     *
+     * @param key     The Kafka message key, or {@code null} for no key.
+     * @param payload The event payload; its type must be registered.
+     */
+    public record Message(String key, Object payload) {
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores an event for asynchronous publishing. Must be called inside the restaurant
+     * transaction that produces the event, so the event is committed or rolled back with it.
+     *
+     * @param topic   The target Kafka topic.
+     * @param key     The Kafka message key, or {@code null} for no key.
+     * @param payload The event payload; its type must be registered.
+     * @throws CustomExceptionHandler if the payload type is not allowed or cannot be serialized.
+     */
+    @Transactional(value = "restaurantTransactionManager", propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object payload) {
+        outboxEventRepository.save(toEvent(topic, key, payload));
+        log.debug("Queued outbox event for topic [{}] with key [{}]", topic, key);
+    }
+
+    /**
+     * Stores several events for the same topic with a single {@code saveAll}. Must be called
+     * inside the restaurant transaction that produces the events.
+     *
+     * @param topic    The target Kafka topic.
+     * @param messages The events to store, in publishing order.
+     * @throws CustomExceptionHandler if a payload type is not allowed or cannot be serialized.
+     */
+    @Transactional(value = "restaurantTransactionManager", propagation = Propagation.MANDATORY)
+    public void enqueueAll(String topic, List<Message> messages) {
+        List<OutboxEvent> events = messages.stream()
+                .map(message -> toEvent(topic, message.key(), message.payload()))
+                .toList();
+        outboxEventRepository.saveAll(events);
+        log.debug("Queued {} outbox events for topic [{}]", events.size(), topic);
+    }
+
+    /**
+     * Restores the payload of an outbox event.
+     *
+     * @param event The stored event.
+     * @return The deserialized payload.
+     * @throws CustomExceptionHandler if the payload type is not allowed or the JSON is invalid.
+     */
+    public Object readPayload(OutboxEvent event) {
+        Class<?> payloadType = PAYLOAD_TYPES.get(event.getPayloadType());
+        if (payloadType == null) {
+            throw new CustomExceptionHandler("Unsupported outbox payload type: " + event.getPayloadType());
+        }
+        try {
+            return objectMapper.readValue(event.getPayload(), payloadType);
+        } catch (JsonProcessingException e) {
+            throw new CustomExceptionHandler("Invalid outbox payload for event " + event.getId() + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private OutboxEvent toEvent(String topic, String key, Object payload) {
+        String payloadType = payload.getClass().getName();
+        if (!PAYLOAD_TYPES.containsKey(payloadType)) {
+            throw new CustomExceptionHandler("Unsupported outbox payload type: " + payloadType);
+        }
+
+        return OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(key)
+                .payloadType(payloadType)
+                .payload(toJson(payload))
+                .build();
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new CustomExceptionHandler("Failed to serialize outbox payload: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesReportRequ
 import net.sf.jasperreports.engine.JRException;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * A service interface for generating sales reports in various formats.
@@ -24,4 +25,41 @@ public interface SalesReportService {
      * @throws JRException  if an error occurs during PDF generation with JasperReports.
      */
     byte[] generateSalesReport(SalesReportRequestDTO request) throws IOException, JRException;
-}
\ No newline at end of file
+
+    /**
+     * Verifies that a sales report can be generated for the given period.
+     * Call this before committing to a streamed response, so a missing report is still
+     * reported with a proper status code.
+     *
+     * @param year  The year of the report.
+     * @param month The month of the report (1-12).
+     * @throws com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException if no paid bills exist for the period.
+     */
+    void checkSalesReportAvailable(int year, int month);
+
+    /**
+     * Streams a monthly sales report in CSV format to the given output stream.
+     * <p>
+     * Rows are read from the database with a cursor and written as they arrive, so memory
+     * use stays constant regardless of the size of the period. The stream is flushed but not closed.
+     *
+     * @param year         The year of the report.
+     * @param month        The month of the report (1-12).
+     * @param outputStream The destination, typically the HTTP response body.
+     * @throws IOException if writing to the output stream fails.
+     */
+    void writeCsvSalesReport(int year, int month, OutputStream outputStream) throws IOException;
+
+    /**
+     * Writes a monthly sales report in PDF format to the given output stream.
+     * The stream is flushed but not closed.
+     *
+     * @param year         The year of the report.
+     * @param month        The month of the report (1-12).
+     * @param outputStream The destination, typically a file of the report job store.
+     * @throws IOException if the report template cannot be read or writing fails.
+     * @throws JRException if an error occurs during PDF generation with JasperReports.
+     * @throws com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException if no paid bills exist for the period.
+     */
+    void writePdfSalesReport(int year, int month, OutputStream outputStream) throws IOException, JRException;
+}
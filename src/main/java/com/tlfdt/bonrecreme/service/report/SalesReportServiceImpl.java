@@ -2,33 +2,48 @@ package com.tlfdt.bonrecreme.service.report;
 
 import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesReportRequestDTO;
 import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
-import com.tlfdt.bonrecreme.model.restaurant.Bill;
 import com.tlfdt.bonrecreme.model.restaurant.enums.BillStatus;
 import com.tlfdt.bonrecreme.repository.restaurant.BillRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.DailySalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.SalesPeriodTotals;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.SalesReportRow;
+import com.tlfdt.bonrecreme.service.report.template.JasperTemplateCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for generating sales reports.
  * This class handles the logic for fetching data and rendering it into different formats.
+ * <p>
+ * The reports list every paid bill, which only the bills table holds; the daily rollups keep
+ * per-day, per-table and per-menu-item totals but no bill lines. Whether a period has sales is
+ * answered from the rollups, and rendering reads the bills as lightweight rows; the downloads
+ * only render when the report cache has no file for the period's current data version.
  */
 @Service
 @RequiredArgsConstructor
@@ -37,113 +52,162 @@ public class SalesReportServiceImpl implements SalesReportService {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final String JASPER_TEMPLATE_PATH = "reports/sales-report-template.jrxml";
+    private static final String NO_PAID_BILLS_MESSAGE = "No paid bills found for the selected period.";
+    private static final int CSV_BUFFER_SIZE = 16 * 1024;
 
     private final BillRepository billRepository;
+    private final DailySalesRepository dailySalesRepository;
+    private final JasperTemplateCache jasperTemplateCache;
+
+    /**
+     * Compiles the PDF template at startup, so the first report request does not pay for it.
+     * A broken template is logged here and reported again on first use.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompileTemplates() {
+        try {
+            jasperTemplateCache.get(JASPER_TEMPLATE_PATH);
+        } catch (JRException | IOException e) {
+            log.error("Failed to precompile report template {}: {}", JASPER_TEMPLATE_PATH, e.getMessage());
+        }
+    }
 
     @Override
     @Transactional(value = "restaurantTransactionManager", readOnly = true)
     public byte[] generateSalesReport(SalesReportRequestDTO request) throws IOException, JRException {
-        // Fetch data using the optimized repository method
-        List<Bill> paidBills = findPaidBillsByYearMonth(request.year(), request.month());
-
-        // Add this check
-        if (paidBills.isEmpty()) {
-            throw new ResourceNotFoundException("No paid bills found for the selected period.");
-        }
-
         return switch (request.format()) {
-            case CSV -> generateCsvReport(paidBills);
-            case PDF -> generatePdfReport(paidBills, request.year(), request.month());
+            case CSV -> {
+                checkSalesReportAvailable(request.year(), request.month());
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                writeCsvSalesReport(request.year(), request.month(), outputStream);
+                yield outputStream.toByteArray();
+            }
+            case PDF -> {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                writePdfSalesReport(request.year(), request.month(), outputStream);
+                yield outputStream.toByteArray();
+            }
         };
     }
 
-    /**
-     * Fetches all paid bills for a specific year and month using an optimized repository query.
-     * This prevents fetching the entire bills table into memory.
-     *
-     * @param year  The year of the report.
-     * @param month The month of the report.
-     * @return A list of paid bills for the specified period.
-     */
-    private List<Bill> findPaidBillsByYearMonth(int year, int month) {
+    @Override
+    @Transactional(value = "restaurantTransactionManager", readOnly = true)
+    public void checkSalesReportAvailable(int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        SalesPeriodTotals totals = dailySalesRepository.sumByDateRange(yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+        if (totals != null && totals.billCount() != null && totals.billCount() > 0) {
+            return;
+        }
+        // Months paid before the rollups existed are only in the bills table until they are rebuilt
+        if (!billRepository.existsByStatusAndDateRange(BillStatus.PAID, startOf(yearMonth), endOf(yearMonth))) {
+            throw new ResourceNotFoundException(NO_PAID_BILLS_MESSAGE);
+        }
+    }
 
+    @Override
+    @Transactional(value = "restaurantTransactionManager", readOnly = true)
+    public void writeCsvSalesReport(int year, int month, OutputStream outputStream) throws IOException {
         YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-        // The end date is exclusive, so we start at the beginning of the next month.
-        LocalDateTime endDate = yearMonth.atEndOfMonth().plusDays(1).atStartOfDay();
+        log.info("Streaming CSV sales report for {}", yearMonth);
 
-        log.info("Fetching paid bills between {} and {}", startDate, endDate);
-        return billRepository.findBillsWithDetailsByStatusAndDateRange(BillStatus.PAID, startDate, endDate);
+        try (Stream<SalesReportRow> rows = billRepository.streamSalesReportRows(BillStatus.PAID, startOf(yearMonth), endOf(yearMonth))) {
+            long rowCount = writeCsv(rows.iterator(), outputStream);
+            log.info("Streamed CSV sales report for {} with {} paid bills.", yearMonth, rowCount);
+        }
+    }
+
+    @Override
+    @Transactional(value = "restaurantTransactionManager", readOnly = true)
+    public void writePdfSalesReport(int year, int month, OutputStream outputStream) throws IOException, JRException {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        List<SalesReportRow> rows;
+        try (Stream<SalesReportRow> stream = billRepository.streamSalesReportRows(BillStatus.PAID, startOf(yearMonth), endOf(yearMonth))) {
+            rows = stream.toList();
+        }
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(NO_PAID_BILLS_MESSAGE);
+        }
+        writePdfReport(rows, year, month, outputStream);
+    }
+
+    private static LocalDateTime startOf(YearMonth yearMonth) {
+        return yearMonth.atDay(1).atStartOfDay();
     }
 
     /**
-     * Generates a sales report in CSV format from a list of bills.
-     *
-     * @param paidBills The list of paid bills to include in the report.
-     * @return A byte array containing the report in CSV format.
+     * The end date is exclusive, so it is the beginning of the next month.
      */
-    private byte[] generateCsvReport(List<Bill> paidBills) {
-
-        log.info("Generating CSV sales report for {} paid bills.", paidBills.size());
+    private static LocalDateTime endOf(YearMonth yearMonth) {
+        return yearMonth.atEndOfMonth().plusDays(1).atStartOfDay();
+    }
 
-        StringBuilder csvBuilder = new StringBuilder();
+    /**
+     * Writes the sales report rows in CSV format, one row at a time, followed by the revenue total.
+     *
+     * @param rows         The report rows, oldest first.
+     * @param outputStream The destination; it is flushed but not closed.
+     * @return The number of rows written.
+     * @throws IOException if writing to the output stream fails.
+     */
+    private long writeCsv(Iterator<SalesReportRow> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
         // Header
-        csvBuilder.append("Date,Bill,Total Amount,\n");
+        writer.write("Date,Bill,Total Amount,\n");
 
         // Data Rows
         BigDecimal totalRevenue = BigDecimal.ZERO;
-        for (Bill bill : paidBills)
-        {
-            csvBuilder.append(DATE_TIME_FORMATTER.format(bill.getCreatedAt())).append(",");
-            csvBuilder.append(bill.getId()).append(",");
-            csvBuilder.append(bill.getTotalAmount()).append("\n");
-
-            totalRevenue = totalRevenue.add(bill.getTotalAmount());
+        long rowCount = 0;
+        while (rows.hasNext()) {
+            SalesReportRow row = rows.next();
+            writer.write(DATE_TIME_FORMATTER.format(row.createdAt()));
+            writer.write(',');
+            writer.write(String.valueOf(row.billId()));
+            writer.write(',');
+            writer.write(row.totalAmount().toString());
+            writer.write('\n');
+
+            totalRevenue = totalRevenue.add(row.totalAmount());
+            rowCount++;
         }
 
         // Add a blank line for separation
-        csvBuilder.append("\n\n\n");
+        writer.write("\n\n\n");
 
         // A clearer, left-aligned footer
-        csvBuilder.append("Total Revenue,,")
-                  .append(totalRevenue)
-                  .append("\n");
-
-        return csvBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        writer.write("Total Revenue,,");
+        writer.write(totalRevenue.toString());
+        writer.write('\n');
+        writer.flush();
+        return rowCount;
     }
 
     /**
      * Generates a sales report in PDF format using a JasperReports template.
      *
-     * @param paidBills The list of paid bills to include in the report.
-     * @param year      The report year, for the title.
-     * @param month     The report month, for the title.
-     * @return A byte array containing the report in PDF format.
+     * @param rows         The paid bills to include in the report, oldest first.
+     * @param year         The report year, for the title.
+     * @param month        The report month, for the title.
+     * @param outputStream The destination of the PDF; it is flushed but not closed.
      * @throws JRException if there is an error during JasperReports processing.
-     * @throws IOException if the report template cannot be found.
+     * @throws IOException if the report template cannot be found or writing fails.
      */
-    private byte[] generatePdfReport(List<Bill> paidBills, int year, int month) throws JRException, IOException {
-        log.info("Generating PDF sales report for {} paid bills using template: {}", paidBills.size(), JASPER_TEMPLATE_PATH);
-
-        // 1. Load the JRXML template from the classpath
-        InputStream reportStream = new ClassPathResource(JASPER_TEMPLATE_PATH).getInputStream();
-        JasperReport jasperReport = JasperCompileManager.compileReport(reportStream);
-
-        // 2. Prepare the data source
-        List<Map<String, Object>> billMaps = paidBills.stream()
-                .map(this::convertBillToMap)
-                .collect(Collectors.toList());
-
+    private void writePdfReport(List<SalesReportRow> rows, int year, int month, OutputStream outputStream) throws JRException, IOException {
+        log.info("Generating PDF sales report for {} paid bills using template: {}", rows.size(), JASPER_TEMPLATE_PATH);
+
+        // 1. Get the compiled template; it is compiled once and reused across requests
+        JasperReport jasperReport = jasperTemplateCache.get(JASPER_TEMPLATE_PATH);
+
+        // 2. Prepare the data source and total the sales in the same pass
+        List<Map<String, Object>> billMaps = new ArrayList<>(rows.size());
+        BigDecimal totalSales = BigDecimal.ZERO;
+        for (SalesReportRow row : rows) {
+            billMaps.add(convertRowToMap(row));
+            totalSales = totalSales.add(row.totalAmount());
+        }
 
         JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(billMaps);
 
         // 3. Set report parameters
-
-        // Calculate total sales
-        BigDecimal totalSales = paidBills.stream()
-                .map(Bill::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("ReportTitle", "Monthly Sales Report");
         parameters.put("MonthYear", Month.of(month).name() + " " + year);
@@ -153,20 +217,21 @@ public class SalesReportServiceImpl implements SalesReportService {
         JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, dataSource);
 
         // 5. Export to PDF
-        return JasperExportManager.exportReportToPdf(jasperPrint);
+        JasperExportManager.exportReportToPdfStream(jasperPrint, outputStream);
+        outputStream.flush();
     }
 
     /**
-     * Converts a Bill entity to a Map suitable for the JasperReports data source.
+     * Converts a report row to a Map suitable for the JasperReports data source.
      *
-     * @param bill The Bill entity to convert.
+     * @param row The report row to convert.
      * @return A map containing the bill data.
      */
-    private Map<String, Object> convertBillToMap(Bill bill) {
+    private Map<String, Object> convertRowToMap(SalesReportRow row) {
         Map<String, Object> map = new HashMap<>();
-        map.put("id", bill.getId());
-        map.put("createdAt", DATE_TIME_FORMATTER.format(bill.getCreatedAt()));
-        map.put("totalAmount", bill.getTotalAmount());
+        map.put("id", row.billId());
+        map.put("createdAt", DATE_TIME_FORMATTER.format(row.createdAt()));
+        map.put("totalAmount", row.totalAmount());
         return map;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,436 @@
+package com.tlfdt.bonrecreme.service.report.cache;
+
+import com.tlfdt.bonrecreme.config.properties.ReportCacheProperties;
+import com.tlfdt.bonrecreme.config.properties.ReportJobProperties;
+import com.tlfdt.bonrecreme.repository.restaurant.DailySalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.SalesPeriodTotals;
+import com.tlfdt.bonrecreme.service.report.SalesReportService;
+import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JRException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of rendered sales report files, keyed by period, format and data version.
+ * <p>
+ * The data version of a period is derived from its daily sales rollups, which every payment
+ * updates, so a lookup costs one query over at most 31 rows. While the version is unchanged
+ * (always, for a closed month), repeat downloads are served from the cached file, and the
+ * content hash of the file doubles as a strong ETag. Concurrent misses for the same report
+ * share a single render. Paid-bill events evict the affected period eagerly, so stale files
+ * do not linger until they are looked up again.
+ * <p>
+ * The file of an evicted report is only deleted after a grace period, because a download that
+ * was handed the file just before the eviction is still streaming it from disk.
+ */
+@Component
+@Slf4j
+public class ReportArtifactCache {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int ETAG_BYTES = 16;
+
+    /**
+     * A rendered report file.
+     *
+     * @param path The location of the file.
+     * @param size The size of the file in bytes.
+     * @param etag The quoted strong entity tag of the content.
+     */
+    public record CachedReport(Path path, long size, String etag) {
+    }
+
+    private record Key(int year, int month, ReportFormat format) {
+    }
+
+    private record Entry(String dataVersion, CompletableFuture<CachedReport> report) {
+    }
+
+    private record Claim(Entry entry, boolean renderHere) {
+    }
+
+    private final SalesReportService salesReportService;
+    private final DailySalesRepository dailySalesRepository;
+    private final Path cacheDir;
+    private final Duration evictionGrace;
+
+    // Guarded by itself; access order makes it evict the least recently used report.
+    private final Map<Key, Entry> entries;
+
+    // Files of evicted reports, with the time after which they may be deleted.
+    private final Map<Path, Instant> pendingDeletions = new ConcurrentHashMap<>();
+
+    public ReportArtifactCache(SalesReportService salesReportService,
+                               DailySalesRepository dailySalesRepository,
+                               ReportJobProperties reportJobProperties,
+                               ReportCacheProperties reportCacheProperties) {
+        this.salesReportService = salesReportService;
+        this.dailySalesRepository = dailySalesRepository;
+        this.cacheDir = reportJobProperties.getStorageDir().resolve("cache");
+        this.evictionGrace = Duration.ofSeconds(reportCacheProperties.getEvictionGraceSeconds());
+        int maxEntries = reportCacheProperties.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > maxEntries) {
+                    discard(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates the cache directory and removes files left over by a previous run.
+     *
+     * @throws IOException if the directory cannot be created or read.
+     */
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(cacheDir);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(cacheDir, Files::isRegularFile)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+    }
+
+    /**
+     * Returns the rendered report of a period, rendering it first if the cache holds no
+     * file for the current data version.
+     *
+     * @param year   The year of the report.
+     * @param month  The month of the report (1-12).
+     * @param format The format of the report.
+     * @return The rendered report file.
+     * @throws IOException if rendering or writing the file fails.
+     * @throws JRException if an error occurs during PDF generation with JasperReports.
+     */
+    public CachedReport getOrRender(int year, int month, ReportFormat format) throws IOException, JRException {
+        Key key = new Key(year, month, format);
+        Claim claim = claim(key, dataVersion(YearMonth.of(year, month)));
+        if (claim.renderHere()) {
+            renderInto(claim, key, null);
+        }
+        return await(claim.entry().report());
+    }
+
+    /**
+     * Returns the rendered report of a period if the cache holds a file for the current data
+     * version, waiting for it if another request is still rendering it. Never renders.
+     *
+     * @param year   The year of the report.
+     * @param month  The month of the report (1-12).
+     * @param format The format of the report.
+     * @return The rendered report file, or {@code null} if it is not cached.
+     * @throws IOException if the render this lookup waited for failed.
+     * @throws JRException if the render this lookup waited for failed in JasperReports.
+     */
+    public CachedReport getIfCached(int year, int month, ReportFormat format) throws IOException, JRException {
+        Key key = new Key(year, month, format);
+        String dataVersion = dataVersion(YearMonth.of(year, month));
+        CompletableFuture<CachedReport> report;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null || !entry.dataVersion().equals(dataVersion)) {
+                return null;
+            }
+            report = entry.report();
+        }
+        return await(report);
+    }
+
+    /**
+     * Writes the report of a period to a stream. If the cache holds no file for the current data
+     * version, the report is rendered into the cache and to the stream at the same time, so
+     * the first bytes go out without waiting for the whole file. Otherwise the cached file is
+     * copied. If writing to the stream fails, for example because the client went away, the
+     * render still completes and is cached, and the failure is thrown afterwards.
+     *
+     * @param year         The year of the report.
+     * @param month        The month of the report (1-12).
+     * @param format       The format of the report.
+     * @param outputStream The destination of the report; it is not closed.
+     * @throws IOException if rendering or writing fails.
+     * @throws JRException if an error occurs during PDF generation with JasperReports.
+     */
+    public void writeTo(int year, int month, ReportFormat format, OutputStream outputStream) throws IOException, JRException {
+        Key key = new Key(year, month, format);
+        Claim claim = claim(key, dataVersion(YearMonth.of(year, month)));
+        if (claim.renderHere()) {
+            renderInto(claim, key, outputStream);
+            return;
+        }
+        Files.copy(await(claim.entry().report()).path(), outputStream);
+        outputStream.flush();
+    }
+
+    /**
+     * Evicts every cached report of a period, typically because a bill of that period was paid.
+     *
+     * @param period The period to evict.
+     */
+    public void invalidate(YearMonth period) {
+        synchronized (entries) {
+            entries.entrySet().removeIf(mapping -> {
+                Key key = mapping.getKey();
+                if (key.year() == period.getYear() && key.month() == period.getMonthValue()) {
+                    discard(mapping.getValue());
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Deletes the files of evicted reports whose grace period has passed.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void purgeEvicted() {
+        purgeEvicted(Instant.now());
+    }
+
+    /**
+     * Deletes the files of evicted reports whose grace period ended before {@code now}, unless a
+     * cached entry has come to point at the same file again.
+     *
+     * @param now The current time.
+     * @return The number of files deleted.
+     */
+    int purgeEvicted(Instant now) {
+        int purged = 0;
+        for (Map.Entry<Path, Instant> pending : pendingDeletions.entrySet()) {
+            Path path = pending.getKey();
+            if (pending.getValue().isAfter(now) || !pendingDeletions.remove(path, pending.getValue())) {
+                continue;
+            }
+            if (!isReferenced(path)) {
+                deleteQuietly(path);
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    private String dataVersion(YearMonth period) {
+        SalesPeriodTotals totals = dailySalesRepository.sumByDateRange(period.atDay(1), period.plusMonths(1).atDay(1));
+        if (totals == null || totals.billCount() == null) {
+            return "0";
+        }
+        return totals.billCount() + ":" + totals.totalAmount().toPlainString();
+    }
+
+    /**
+     * Returns the entry for the current data version, creating it if there is none. The caller
+     * that created it must render it.
+     */
+    private Claim claim(Key key, String dataVersion) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.dataVersion().equals(dataVersion)) {
+                return new Claim(entry, false);
+            }
+            Entry created = new Entry(dataVersion, new CompletableFuture<>());
+            Entry previous = entries.put(key, created);
+            if (previous != null) {
+                discard(previous);
+            }
+            return new Claim(created, true);
+        }
+    }
+
+    /**
+     * Renders a claimed entry, optionally copying the output to a stream, and completes it.
+     * A failed render removes the entry so the next request tries again.
+     */
+    private void renderInto(Claim claim, Key key, OutputStream copyTo) throws IOException, JRException {
+        CompletableFuture<CachedReport> report = claim.entry().report();
+        TeeOutputStream tee = null;
+        try {
+            tee = copyTo != null ? new TeeOutputStream(copyTo) : null;
+            report.complete(render(key, tee));
+        } catch (IOException | JRException | RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, claim.entry());
+            }
+            report.completeExceptionally(e);
+            throw e;
+        }
+        if (tee != null && tee.copyFailure != null) {
+            throw tee.copyFailure;
+        }
+    }
+
+    private CachedReport render(Key key, TeeOutputStream tee) throws IOException, JRException {
+        String extension = key.format().name().toLowerCase();
+        Path partial = cacheDir.resolve(UUID.randomUUID() + ".partial");
+        MessageDigest digest = sha256();
+
+        OutputStream file = new BufferedOutputStream(Files.newOutputStream(partial), WRITE_BUFFER_SIZE);
+        try (OutputStream outputStream = new DigestOutputStream(tee != null ? tee.to(file) : file, digest)) {
+            switch (key.format()) {
+                case CSV -> salesReportService.writeCsvSalesReport(key.year(), key.month(), outputStream);
+                case PDF -> salesReportService.writePdfSalesReport(key.year(), key.month(), outputStream);
+            }
+        } catch (IOException | JRException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        // Content-addressed name: re-rendering identical content lands on the same file.
+        String hash = HexFormat.of().formatHex(digest.digest(), 0, ETAG_BYTES);
+        Path target = cacheDir.resolve(key.year() + "-" + key.month() + "-" + hash + "." + extension);
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Cached {} sales report for {}-{} as {}", key.format(), key.year(), key.month(), target.getFileName());
+        return new CachedReport(target, Files.size(target), "\"" + hash + "\"");
+    }
+
+    /**
+     * Schedules the file of an evicted entry for deletion once its render has finished.
+     * The caller must hold the lock on {@link #entries}.
+     */
+    private void discard(Entry entry) {
+        entry.report().thenAccept(report -> pendingDeletions.put(report.path(), Instant.now().plus(evictionGrace)));
+    }
+
+    /**
+     * Returns whether a cached entry points at the file, which happens when a new data version
+     * renders byte-identical content.
+     */
+    private boolean isReferenced(Path path) {
+        synchronized (entries) {
+            return entries.values().stream()
+                    .map(Entry::report)
+                    .filter(future -> future.isDone() && !future.isCompletedExceptionally())
+                    .anyMatch(future -> future.join().path().equals(path));
+        }
+    }
+
+    /**
+     * Copies what is written to the cache file to a second stream. Once a write to the second
+     * stream fails, the failure is kept and the rest is only written to the file.
+     */
+    private static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream copy;
+        private OutputStream file;
+        private IOException copyFailure;
+
+        private TeeOutputStream(OutputStream copy) {
+            this.copy = copy;
+        }
+
+        private TeeOutputStream to(OutputStream file) {
+            this.file = file;
+            return this;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            file.write(b);
+            if (copyFailure == null) {
+                try {
+                    copy.write(b);
+                } catch (IOException e) {
+                    copyFailure = e;
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            file.write(bytes, offset, length);
+            if (copyFailure == null) {
+                try {
+                    copy.write(bytes, offset, length);
+                } catch (IOException e) {
+                    copyFailure = e;
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            file.flush();
+            if (copyFailure == null) {
+                try {
+                    copy.flush();
+                } catch (IOException e) {
+                    copyFailure = e;
+                }
+            }
+        }
+
+        /**
+         * Closes the file; the copy belongs to the caller and is only flushed.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                file.close();
+            }
+        }
+    }
+
+    private static CachedReport await(CompletableFuture<CachedReport> report) throws IOException, JRException {
+        try {
+            return report.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof JRException jrException) {
+                throw jrException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete evicted report file {}: {}", path, e.getMessage());
+        }
+    }
+}
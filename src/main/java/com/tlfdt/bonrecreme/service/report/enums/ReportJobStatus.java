@@ -0,0 +1,20 @@
+package com.tlfdt.bonrecreme.service.report.enums;
+
+/**
+ * The lifecycle states of an asynchronous report job.
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    /**
+     * Returns whether the job has finished, successfully or not.
+     *
+     * @return {@code true} for {@link #COMPLETED} and {@link #FAILED}.
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
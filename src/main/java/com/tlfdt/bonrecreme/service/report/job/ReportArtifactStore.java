@@ -0,0 +1,162 @@
+package com.tlfdt.bonrecreme.service.report.job;
+
+import com.tlfdt.bonrecreme.config.properties.ReportJobProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A local, file-backed store for finished report files, with time-to-live eviction.
+ * <p>
+ * Files are written under a temporary name and atomically renamed once complete, so a
+ * reader never sees a partial report. The store keeps only its index in memory; the
+ * report content stays on disk and can be sent to clients without copying it through the heap.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportArtifactStore {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The subdirectory of the configured storage directory that holds the job files. The store
+     * creates it and only ever deletes its own files from it.
+     */
+    static final String JOBS_DIR = "jobs";
+
+    /**
+     * The names of the files this store writes: a job ID (a UUID) and a report or partial extension.
+     */
+    private static final Pattern ARTIFACT_FILE_NAME =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.(csv|pdf|partial)");
+
+    /**
+     * Writes the content of a report.
+     */
+    @FunctionalInterface
+    public interface ArtifactWriter {
+        void writeTo(OutputStream outputStream) throws Exception;
+    }
+
+    /**
+     * A report file available for download.
+     *
+     * @param path      The location of the file.
+     * @param size      The size of the file in bytes.
+     * @param expiresAt The moment after which the file is evicted.
+     */
+    public record StoredArtifact(Path path, long size, Instant expiresAt) {
+    }
+
+    private final ReportJobProperties reportJobProperties;
+
+    private final Map<String, StoredArtifact> artifacts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the store's own subdirectory and removes report files left over by a previous run,
+     * since the index that pointed at them did not survive the restart. Only files named like
+     * the ones this store writes are removed, so a misconfigured storage directory never
+     * loses unrelated files.
+     *
+     * @throws IOException if the directory cannot be created or read.
+     */
+    @PostConstruct
+    void init() throws IOException {
+        Path storageDir = jobsDir();
+        Files.createDirectories(storageDir);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(storageDir,
+                path -> Files.isRegularFile(path) && ARTIFACT_FILE_NAME.matcher(path.getFileName().toString()).matches())) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+        log.info("Report artifact store initialized in {}", storageDir);
+    }
+
+    /**
+     * Writes a report file and makes it available under the given ID until its time-to-live expires.
+     *
+     * @param id        The ID to store the file under, typically the job ID.
+     * @param extension The file extension, without the dot.
+     * @param writer    Writes the content; the stream is closed by the store.
+     * @return The stored file.
+     * @throws Exception whatever the writer throws, or an {@link IOException} if the file cannot be written.
+     */
+    public StoredArtifact store(String id, String extension, ArtifactWriter writer) throws Exception {
+        Path storageDir = jobsDir();
+        Path partial = storageDir.resolve(id + ".partial");
+        Path target = storageDir.resolve(id + "." + extension);
+
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(partial), WRITE_BUFFER_SIZE)) {
+            writer.writeTo(outputStream);
+        } catch (Exception e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(reportJobProperties.getArtifactTtlMinutes()));
+        StoredArtifact artifact = new StoredArtifact(target, Files.size(target), expiresAt);
+        artifacts.put(id, artifact);
+        return artifact;
+    }
+
+    /**
+     * Finds a stored file that has not expired yet.
+     *
+     * @param id The ID the file was stored under.
+     * @return The stored file, or empty if it is unknown or expired.
+     */
+    public Optional<StoredArtifact> find(String id) {
+        StoredArtifact artifact = artifacts.get(id);
+        if (artifact == null || artifact.expiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(artifact);
+    }
+
+    /**
+     * Deletes every file whose time-to-live has expired.
+     *
+     * @param now The current time.
+     * @return The number of files deleted.
+     */
+    public int evictExpired(Instant now) {
+        int evicted = 0;
+        for (Map.Entry<String, StoredArtifact> entry : artifacts.entrySet()) {
+            if (entry.getValue().expiresAt().isBefore(now) && artifacts.remove(entry.getKey(), entry.getValue())) {
+                deleteFile(entry.getValue().path());
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private Path jobsDir() {
+        return reportJobProperties.getStorageDir().resolve(JOBS_DIR);
+    }
+
+    private void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete expired report file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tlfdt.bonrecreme.service.report.job;
+
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.ReportJobDTO;
+import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import com.tlfdt.bonrecreme.service.report.enums.ReportJobStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * The mutable state of one asynchronous report job. It is updated by the worker
+ * thread and read by request threads, so every field that changes is volatile.
+ */
+@Getter
+final class ReportJob {
+
+    /**
+     * Identifies the report a job produces; identical requests share one job.
+     *
+     * @param year   The year of the report.
+     * @param month  The month of the report (1-12).
+     * @param format The format of the report.
+     */
+    record Key(int year, int month, ReportFormat format) {
+
+        String extension() {
+            return format.name().toLowerCase();
+        }
+
+        String fileName() {
+            return String.format("sales-report-%d-%02d.%s", year, month, extension());
+        }
+    }
+
+    private final String id;
+    private final Key key;
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile int progress;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    ReportJob(String id, Key key) {
+        this.id = id;
+        this.key = key;
+    }
+
+    void advance(ReportJobStatus status, int progress) {
+        this.status = status;
+        this.progress = progress;
+        if (status.isFinished()) {
+            this.finishedAt = Instant.now();
+        }
+    }
+
+    void fail(String error) {
+        this.error = error;
+        advance(ReportJobStatus.FAILED, progress);
+    }
+
+    ReportJobDTO toDTO() {
+        return new ReportJobDTO(id, key.year(), key.month(), key.format(), status, progress, key.fileName(), error);
+    }
+}
@@ -0,0 +1,203 @@
+package com.tlfdt.bonrecreme.service.report.job;
+
+import com.tlfdt.bonrecreme.config.properties.ReportJobProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.ReportJobDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.exception.custom.ServiceBusyException;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.service.report.SalesReportService;
+import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import com.tlfdt.bonrecreme.service.report.enums.ReportJobStatus;
+import com.tlfdt.bonrecreme.service.report.sse.ReportSseService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs sales reports in the background, so slow reports do not hold on to servlet threads.
+ * <p>
+ * Jobs run on a small bounded pool; when its queue is full, new submissions are rejected
+ * with a 503 instead of piling up. Identical requests (same year, month and format) that
+ * arrive while a job is queued or running join that job. Every state change is pushed to
+ * the manager SSE stream as a {@code report-job} event, and finished reports are kept in
+ * the {@link ReportArtifactStore} until they expire.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private final SalesReportService salesReportService;
+    private final ReportArtifactStore reportArtifactStore;
+    private final ReportSseService reportSseService;
+    private final ReportJobProperties reportJobProperties;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportJob.Key, ReportJob> activeJobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(SalesReportService salesReportService,
+                            ReportArtifactStore reportArtifactStore,
+                            ReportSseService reportSseService,
+                            ReportJobProperties reportJobProperties) {
+        this.salesReportService = salesReportService;
+        this.reportArtifactStore = reportArtifactStore;
+        this.reportSseService = reportSseService;
+        this.reportJobProperties = reportJobProperties;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                reportJobProperties.getWorkerThreads(),
+                reportJobProperties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(reportJobProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Submits a report job, or joins the job already queued or running for the same report.
+     *
+     * @param year   The year of the report.
+     * @param month  The month of the report (1-12).
+     * @param format The format of the report.
+     * @return The state of the job.
+     * @throws ServiceBusyException if too many jobs are already waiting.
+     */
+    public ReportJobDTO submit(int year, int month, ReportFormat format) {
+        ReportJob.Key key = new ReportJob.Key(year, month, format);
+        ReportJob candidate = new ReportJob(UUID.randomUUID().toString(), key);
+        // Registered before it is published in activeJobs, so a caller joining it can always look it up
+        jobs.put(candidate.getId(), candidate);
+        ReportJob job = activeJobs.computeIfAbsent(key, k -> candidate);
+        if (job != candidate) {
+            jobs.remove(candidate.getId(), candidate);
+            log.debug("Report request for {} joined job {}", key, job.getId());
+            return job.toDTO();
+        }
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            // Callers may already have joined the job, so it is failed rather than forgotten
+            fail(job, "Too many reports are being generated. Try again later.");
+            activeJobs.remove(key, job);
+            throw new ServiceBusyException("Too many reports are being generated. Try again later.");
+        }
+        log.info("Queued report job {} for {}", job.getId(), key);
+        ReportJobDTO queued = job.toDTO();
+        reportSseService.sendReportJobUpdate(queued);
+        return queued;
+    }
+
+    /**
+     * Returns the current state of a job.
+     *
+     * @param jobId The ID of the job.
+     * @return The state of the job.
+     * @throws ResourceNotFoundException if the job is unknown or has expired.
+     */
+    public ReportJobDTO getJob(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    /**
+     * Returns the finished report file of a job.
+     *
+     * @param jobId The ID of the job.
+     * @return The stored report file.
+     * @throws ResourceNotFoundException if the job is unknown or its file has expired.
+     * @throws CustomExceptionHandler    if the job has not completed successfully.
+     */
+    public ReportArtifactStore.StoredArtifact getArtifact(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new CustomExceptionHandler("Report job " + jobId + " is " + job.getStatus() + ", not COMPLETED.");
+        }
+        return reportArtifactStore.find(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("The report of job " + jobId + " has expired."));
+    }
+
+    /**
+     * Evicts expired report files and forgets the jobs that produced them.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictExpired() {
+        Instant now = Instant.now();
+        Instant finishedBefore = now.minus(Duration.ofMinutes(reportJobProperties.getArtifactTtlMinutes()));
+        int evicted = reportArtifactStore.evictExpired(now);
+        jobs.values().removeIf(job -> job.getStatus().isFinished() && job.getFinishedAt().isBefore(finishedBefore));
+        if (evicted > 0) {
+            log.info("Evicted {} expired report files.", evicted);
+        }
+    }
+
+    /**
+     * Stops the workers when the application is stopping; unfinished jobs are abandoned.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(ReportJob job) {
+        ReportJob.Key key = job.getKey();
+        try {
+            update(job, ReportJobStatus.RUNNING, 10);
+            salesReportService.checkSalesReportAvailable(key.year(), key.month());
+            update(job, ReportJobStatus.RUNNING, 25);
+
+            reportArtifactStore.store(job.getId(), key.extension(), outputStream -> write(key, outputStream));
+            update(job, ReportJobStatus.COMPLETED, 100);
+            log.info("Report job {} for {} completed.", job.getId(), key);
+        } catch (ResourceNotFoundException e) {
+            fail(job, e.getMessage());
+        } catch (Exception e) {
+            log.error("Report job {} for {} failed.", job.getId(), key, e);
+            fail(job, "Report generation failed.");
+        } finally {
+            activeJobs.remove(key, job);
+        }
+    }
+
+    private void write(ReportJob.Key key, OutputStream outputStream) throws Exception {
+        switch (key.format()) {
+            case CSV -> salesReportService.writeCsvSalesReport(key.year(), key.month(), outputStream);
+            case PDF -> salesReportService.writePdfSalesReport(key.year(), key.month(), outputStream);
+        }
+    }
+
+    private void update(ReportJob job, ReportJobStatus status, int progress) {
+        job.advance(status, progress);
+        reportSseService.sendReportJobUpdate(job.toDTO());
+    }
+
+    private void fail(ReportJob job, String error) {
+        job.fail(error);
+        reportSseService.sendReportJobUpdate(job.toDTO());
+    }
+}
@@ -1,6 +1,7 @@
 package com.tlfdt.bonrecreme.service.report.massaging;
 
 import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillResponseDTO;
+import com.tlfdt.bonrecreme.service.report.cache.ReportArtifactCache;
 import com.tlfdt.bonrecreme.service.report.sse.ReportSseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,12 +9,17 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * A Kafka consumer responsible for listening to events related to paid bills.
  * <p>
  * This service consumes messages from the "paid-bills-topic", deserializes them
  * into {@link BillResponseDTO} objects, and forwards them to the
  * {@link ReportSseService} to notify connected manager dashboards in real-time.
+ * It also evicts the cached reports of the periods the bills belong to.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,32 +27,39 @@ import org.springframework.stereotype.Service;
 public class PaidBillKafkaConsumer {
 
     private final ReportSseService reportSseService;
+    private final ReportArtifactCache reportArtifactCache;
 
     /**
-     * Consumes a message when a bill has been paid.
+     * Consumes every 'bill-paid' message of one poll as a batch.
      * <p>
-     * This listener is configured to automatically deserialize the incoming JSON message
-     * into a {@link BillResponseDTO} object, thanks to the centrally configured
-     * {@code ConcurrentKafkaListenerContainerFactory}. This eliminates manual parsing
-     * and makes the process type-safe.
+     * The messages are automatically deserialized into {@link BillResponseDTO} objects by the
+     * centrally configured batch container factory, which runs one consumer thread per
+     * partition. The whole batch is forwarded to the manager dashboards in one pass.
      *
-     * @param bill The deserialized {@link BillResponseDTO} from the Kafka message payload.
+     * @param bills The deserialized {@link BillResponseDTO}s from the Kafka message payloads.
      */
     @KafkaListener(
             topics = "paid-bills-topic",
             groupId = "manager-group",
-            containerFactory = "kafkaListenerContainerFactory" // Ensure we use the factory with JSON support
+            containerFactory = "batchKafkaListenerContainerFactory" // Batch mode with JSON support
     )
-    public void consumePaidBill(@Payload BillResponseDTO bill) {
+    public void consumePaidBills(@Payload List<BillResponseDTO> bills) {
+        // A report is bucketed by bill creation time, so that is the period a payment changes
+        bills.stream()
+                .map(BillResponseDTO::getBillTime)
+                .filter(Objects::nonNull)
+                .map(YearMonth::from)
+                .distinct()
+                .forEach(reportArtifactCache::invalidate);
+
         try {
-            log.info("Consumed 'bill-paid' event for Bill ID: #{}. Forwarding to SSE service.", bill.getBillId());
-            // Forward the DTO to the SSE service to broadcast to manager clients
-            reportSseService.sendPaidBillNotification(bill);
+            log.debug("Consumed {} 'bill-paid' events. Forwarding to SSE service.", bills.size());
+            // Forward the DTOs to the SSE service to broadcast to manager clients
+            reportSseService.sendPaidBillNotifications(bills);
         } catch (Exception e) {
             // This catch block now only handles exceptions from the business logic (SSE sending)
             // Deserialization errors are handled by Spring Kafka's error handlers.
-            log.error("Failed to process paid bill notification for Bill ID: #{}. Error: {}",
-                    bill.getBillId(), e.getMessage());
+            log.error("Failed to process {} paid bill notifications. Error: {}", bills.size(), e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.tlfdt.bonrecreme.service.report.rollup;
+
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesSummaryDTO;
+
+import java.time.YearMonth;
+
+/**
+ * Maintains the pre-aggregated daily sales rollups (per day, per table and per menu item)
+ * and serves sales summaries from them, so summary latency does not depend on bill volume.
+ */
+public interface SalesRollupService {
+
+    /**
+     * Adds a freshly paid bill to the daily rollups.
+     * Must be called inside the payment transaction, so the rollups commit or roll back with it.
+     *
+     * @param billId The ID of the paid bill.
+     */
+    void recordPaidBill(Long billId);
+
+    /**
+     * Returns the sales summary of a month.
+     *
+     * @param year  The year of the summary.
+     * @param month The month of the summary (1-12).
+     * @return The summary of the month.
+     * @throws com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException if no sales were recorded in the month.
+     */
+    SalesSummaryDTO getMonthlySummary(int year, int month);
+
+    /**
+     * Recomputes the rollups of every month in a range from the bills table, one transaction per month.
+     * Used to backfill history and to repair the rollups after manual data changes.
+     *
+     * @param from The first month to rebuild (inclusive).
+     * @param to   The last month to rebuild (inclusive).
+     * @return The number of months rebuilt.
+     * @throws com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler if the range is empty or too large.
+     */
+    int rebuild(YearMonth from, YearMonth to);
+}
@@ -0,0 +1,130 @@
+package com.tlfdt.bonrecreme.service.report.rollup;
+
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesSummaryDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.model.restaurant.DailySales;
+import com.tlfdt.bonrecreme.repository.restaurant.DailyMenuItemSalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.DailySalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.DailyTableSalesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Rollup maintenance is done with native PostgreSQL upserts, so concurrent payments on the
+ * same day add to the same row without lost updates and without loading any entities.
+ */
+@Service
+@Slf4j
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    /**
+     * The largest range a single rebuild request may cover.
+     */
+    static final int MAX_REBUILD_MONTHS = 120;
+
+    private final DailySalesRepository dailySalesRepository;
+    private final DailyTableSalesRepository dailyTableSalesRepository;
+    private final DailyMenuItemSalesRepository dailyMenuItemSalesRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesRollupServiceImpl(DailySalesRepository dailySalesRepository,
+                                  DailyTableSalesRepository dailyTableSalesRepository,
+                                  DailyMenuItemSalesRepository dailyMenuItemSalesRepository,
+                                  @Qualifier("restaurantTransactionManager") PlatformTransactionManager transactionManager) {
+        this.dailySalesRepository = dailySalesRepository;
+        this.dailyTableSalesRepository = dailyTableSalesRepository;
+        this.dailyMenuItemSalesRepository = dailyMenuItemSalesRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(value = "restaurantTransactionManager", propagation = Propagation.MANDATORY)
+    public void recordPaidBill(Long billId) {
+        dailySalesRepository.addBillToDailySales(billId);
+        dailyTableSalesRepository.addBillToDailyTableSales(billId);
+        dailyMenuItemSalesRepository.addBillToDailyMenuItemSales(billId);
+    }
+
+    @Override
+    @Transactional(value = "restaurantTransactionManager", readOnly = true)
+    public SalesSummaryDTO getMonthlySummary(int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        LocalDate startDate = yearMonth.atDay(1);
+        LocalDate endDate = yearMonth.plusMonths(1).atDay(1);
+
+        List<DailySales> days = dailySalesRepository.findByDateRange(startDate, endDate);
+        if (days.isEmpty()) {
+            throw new ResourceNotFoundException("No sales recorded for the selected period.");
+        }
+
+        long billCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (DailySales day : days) {
+            billCount += day.getBillCount();
+            totalAmount = totalAmount.add(day.getTotalAmount());
+        }
+
+        return new SalesSummaryDTO(
+                year,
+                month,
+                billCount,
+                totalAmount,
+                days.stream()
+                        .map(day -> new SalesSummaryDTO.DaySales(day.getSalesDate(), day.getBillCount(), day.getTotalAmount()))
+                        .toList(),
+                dailyTableSalesRepository.sumByTable(startDate, endDate).stream()
+                        .map(table -> new SalesSummaryDTO.TableSales(table.seatTableId(), table.billCount(), table.totalAmount()))
+                        .toList(),
+                dailyMenuItemSalesRepository.sumByMenuItem(startDate, endDate).stream()
+                        .map(item -> new SalesSummaryDTO.MenuItemSales(item.menuItemId(), item.name(), item.quantity(), item.totalAmount()))
+                        .toList());
+    }
+
+    @Override
+    public int rebuild(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new CustomExceptionHandler("The rebuild range must start on or before its end.");
+        }
+        long months = ChronoUnit.MONTHS.between(from, to) + 1;
+        if (months > MAX_REBUILD_MONTHS) {
+            throw new CustomExceptionHandler("A rebuild can cover at most " + MAX_REBUILD_MONTHS + " months.");
+        }
+
+        // One short transaction per month keeps the rollup tables locked only briefly.
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            YearMonth current = month;
+            transactionTemplate.executeWithoutResult(status -> rebuildMonth(current));
+        }
+        log.info("Rebuilt sales rollups for {} month(s) from {} to {}", months, from, to);
+        return (int) months;
+    }
+
+    private void rebuildMonth(YearMonth month) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.plusMonths(1).atDay(1);
+        LocalDateTime startTime = startDate.atStartOfDay();
+        LocalDateTime endTime = endDate.atStartOfDay();
+
+        dailySalesRepository.lockRollupTables();
+        dailySalesRepository.deleteDailySales(startDate, endDate);
+        dailyTableSalesRepository.deleteDailyTableSales(startDate, endDate);
+        dailyMenuItemSalesRepository.deleteDailyMenuItemSales(startDate, endDate);
+        int days = dailySalesRepository.rebuildDailySales(startTime, endTime);
+        dailyTableSalesRepository.rebuildDailyTableSales(startTime, endTime);
+        dailyMenuItemSalesRepository.rebuildDailyMenuItemSales(startTime, endTime);
+        log.debug("Rebuilt sales rollups of {}: {} day(s) with sales", month, days);
+    }
+}
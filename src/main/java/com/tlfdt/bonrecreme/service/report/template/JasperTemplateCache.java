@@ -0,0 +1,111 @@
+package com.tlfdt.bonrecreme.service.report.template;
+
+import com.tlfdt.bonrecreme.config.properties.ReportTemplateProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches compiled JasperReports templates by classpath location.
+ * <p>
+ * Compiling a JRXML template is far more expensive than filling it, so each template is
+ * compiled once and the resulting {@link JasperReport}, which is immutable and thread-safe
+ * to fill, is shared by all requests. When
+ * {@link ReportTemplateProperties#getReloadCheckIntervalSeconds()} is positive, the source
+ * file's modification time is checked at most once per interval and the template is
+ * recompiled if it changed, which allows editing templates during development.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JasperTemplateCache {
+
+    private final ReportTemplateProperties reportTemplateProperties;
+
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled template at the given classpath location, compiling it on first use
+     * or when its source has changed.
+     *
+     * @param path The classpath location of the JRXML template.
+     * @return The compiled report.
+     * @throws JRException if the template cannot be compiled.
+     * @throws IOException if the template cannot be read.
+     */
+    public JasperReport get(String path) throws JRException, IOException {
+        CompiledTemplate cached = templates.get(path);
+        if (cached != null && !isReloadDue(cached)) {
+            return cached.report();
+        }
+        return refresh(path, cached);
+    }
+
+    /**
+     * Drops every compiled template, forcing recompilation on next use.
+     */
+    public void clear() {
+        templates.clear();
+    }
+
+    private boolean isReloadDue(CompiledTemplate cached) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(reportTemplateProperties.getReloadCheckIntervalSeconds());
+        return intervalNanos > 0 && System.nanoTime() - cached.checkedAtNanos() >= intervalNanos;
+    }
+
+    /**
+     * Compiles the template unless the cached copy is still current. Refreshes are serialized,
+     * so concurrent first requests compile it only once.
+     */
+    private synchronized JasperReport refresh(String path, CompiledTemplate previous) throws JRException, IOException {
+        CompiledTemplate current = templates.get(path);
+        if (current != null && current != previous) {
+            // Another request refreshed it while this one was waiting.
+            return current.report();
+        }
+
+        Resource resource = new ClassPathResource(path);
+        long lastModified = lastModified(resource);
+        if (current != null && current.lastModified() == lastModified) {
+            templates.put(path, new CompiledTemplate(current.report(), lastModified, System.nanoTime()));
+            return current.report();
+        }
+
+        long start = System.nanoTime();
+        JasperReport report;
+        try (InputStream inputStream = resource.getInputStream()) {
+            report = JasperCompileManager.compileReport(inputStream);
+        }
+        templates.put(path, new CompiledTemplate(report, lastModified, System.nanoTime()));
+        log.info("{} JasperReports template {} in {} ms", current == null ? "Compiled" : "Recompiled changed",
+                path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return report;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // Not resolvable to a file (e.g. inside a nested jar); treat it as never changing.
+            return 0L;
+        }
+    }
+
+    /**
+     * A compiled template with the source modification time it was compiled from and the
+     * time that modification time was last checked.
+     */
+    private record CompiledTemplate(JasperReport report, long lastModified, long checkedAtNanos) {
+    }
+}
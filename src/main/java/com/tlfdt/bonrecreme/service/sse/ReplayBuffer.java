@@ -0,0 +1,65 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A fixed-size ring buffer of the most recent events of one topic, used to replay the
+ * gap to a client that reconnects with a {@code Last-Event-ID}.
+ * <p>
+ * Event sequence numbers are contiguous, so the buffer always holds the range
+ * {@code (lastSequence - size, lastSequence]}. This class is not thread-safe; callers
+ * must guard it with the owning topic's lock.
+ */
+final class ReplayBuffer {
+
+    /**
+     * A buffered event together with the key it was routed by.
+     *
+     * @param frames     The pre-built SSE frames of the event.
+     * @param routingKey The table ID the event concerns, or {@code null} if it is addressed to everyone.
+     */
+    record Entry(Set<DataWithMediaType> frames, Long routingKey) {
+    }
+
+    private final Entry[] entries;
+    private long lastSequence;
+    private int size;
+
+    ReplayBuffer(int capacity) {
+        this.entries = new Entry[capacity];
+    }
+
+    /**
+     * Appends the event with the next sequence number, evicting the oldest one if full.
+     *
+     * @param sequence The event's sequence number; must be {@code lastSequence + 1}.
+     * @param entry    The event to buffer.
+     */
+    void append(long sequence, Entry entry) {
+        entries[(int) (sequence % entries.length)] = entry;
+        lastSequence = sequence;
+        size = Math.min(size + 1, entries.length);
+    }
+
+    /**
+     * Returns every buffered event after the given sequence number, oldest first.
+     *
+     * @param seenSequence The last sequence number the client received.
+     * @return The missed events, or {@code null} if part of the gap has already been evicted
+     *         or the sequence number is unknown.
+     */
+    List<Entry> since(long seenSequence) {
+        if (seenSequence > lastSequence || seenSequence < lastSequence - size) {
+            return null;
+        }
+        List<Entry> missed = new ArrayList<>((int) (lastSequence - seenSequence));
+        for (long sequence = seenSequence + 1; sequence <= lastSequence; sequence++) {
+            missed.add(entries[(int) (sequence % entries.length)]);
+        }
+        return missed;
+    }
+}
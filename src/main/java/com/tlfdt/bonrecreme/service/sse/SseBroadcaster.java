@@ -0,0 +1,449 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.config.properties.SseProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * A reusable, non-blocking Server-Sent Events broadcaster shared by all SSE streams.
+ * <p>
+ * Clients subscribe to a named topic (e.g. "kitchen"). Each client gets its own bounded
+ * outbound queue that is drained on a virtual thread, so broadcasting never blocks the
+ * caller (typically a Kafka listener thread) and one slow screen cannot stall the others.
+ * When a client's queue is full, the configured {@link com.tlfdt.bonrecreme.service.sse.enums.SlowClientPolicy}
+ * decides whether to drop events or disconnect it.
+ * <p>
+ * Clients may subscribe with an {@link SseSubscription} limiting them to specific tables.
+ * Each topic keeps an index from table ID to subscribers, so routed events only touch the
+ * matching clients plus the unfiltered ones, rather than every connection.
+ * <p>
+ * Payloads are encoded to UTF-8 JSON once per broadcast and the same bytes are written
+ * to every client, so the serialization cost does not grow with the number of screens.
+ * Batch consumers can hand over a whole poll with {@link #broadcastAll}, which takes the
+ * topic lock once per batch.
+ * <p>
+ * Every broadcast event carries an ID of the form {@code <epoch>-<sequence>}, where the
+ * sequence increases monotonically per topic and the epoch identifies this instance's
+ * lifetime. The most recent events are kept in a bounded {@link ReplayBuffer}, so a client
+ * reconnecting with {@code Last-Event-ID} receives exactly the events it missed. If the gap
+ * can no longer be replayed, the client receives a {@code stream-reset} event instead and
+ * should reload its full state.
+ * <p>
+ * The following metrics are published per topic: {@code sse.clients},
+ * {@code sse.queue.depth}, {@code sse.events.dropped}, {@code sse.replays} and
+ * {@code sse.clients.pruned}. Keep-alives are driven by the shared {@link SseKeepAliveScheduler}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SseBroadcaster {
+
+    private final SseProperties sseProperties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private static final Set<DataWithMediaType> KEEP_ALIVE = SseEmitter.event().comment("keep-alive").build();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, TopicChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new SseEmitter for a client and registers it on the given topic.
+     *
+     * @param topic    The topic the client subscribes to.
+     * @param greeting The data of the initial "connected" event.
+     * @return A configured {@link SseEmitter} instance for the client.
+     */
+    public SseEmitter subscribe(String topic, String greeting) {
+        return subscribe(topic, greeting, null);
+    }
+
+    /**
+     * Creates a new SseEmitter for a client, replays the events it missed since
+     * {@code lastEventId} and then registers it for live events on the given topic.
+     *
+     * @param topic       The topic the client subscribes to.
+     * @param greeting    The data of the initial "connected" event.
+     * @param lastEventId The value of the client's {@code Last-Event-ID} header, or {@code null}.
+     * @return A configured {@link SseEmitter} instance for the client.
+     */
+    public SseEmitter subscribe(String topic, String greeting, String lastEventId) {
+        return subscribe(topic, greeting, lastEventId, SseSubscription.all());
+    }
+
+    /**
+     * Creates a new SseEmitter for a client, replays the matching events it missed since
+     * {@code lastEventId} and then registers it for live events matching its subscription.
+     *
+     * @param topic        The topic the client subscribes to.
+     * @param greeting     The data of the initial "connected" event.
+     * @param lastEventId  The value of the client's {@code Last-Event-ID} header, or {@code null}.
+     * @param subscription The routing filter of the client.
+     * @return A configured {@link SseEmitter} instance for the client.
+     */
+    public SseEmitter subscribe(String topic, String greeting, String lastEventId, SseSubscription subscription) {
+        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
+        SseClient client = new SseClient(topic, emitter, subscription, sseProperties.getClientQueueCapacity(),
+                sendExecutor, this::onSendFailure);
+        TopicChannel channel = channelOf(topic);
+
+        emitter.onCompletion(() -> remove(client, "completed"));
+        emitter.onTimeout(() -> remove(client, "timed out"));
+        emitter.onError(e -> remove(client, "errored: " + e.getMessage()));
+
+        // Holding the topic lock ensures no live event slips in between the replay and the registration.
+        synchronized (channel) {
+            deliver(channel, client, SseEmitter.event().name("connected").data(greeting).build());
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(channel, client, lastEventId);
+            }
+            channel.register(client);
+        }
+        log.info("New SSE client connected to '{}' for {}. Total clients on this instance: {}", topic,
+                subscription.isWildcard() ? "all tables" : subscription.tableIds().size() + " tables", channel.clients.size());
+        return emitter;
+    }
+
+    /**
+     * Queues a named event for every client subscribed to the given topic.
+     * This method returns immediately; delivery happens asynchronously per client.
+     *
+     * @param topic     The target topic.
+     * @param eventName The SSE event name.
+     * @param data      The event payload; strings are sent as text, anything else as JSON.
+     */
+    public void broadcast(String topic, String eventName, Object data) {
+        broadcast(topic, eventName, data, null);
+    }
+
+    /**
+     * Queues a named event for the clients of the topic whose subscription matches the
+     * routing key. This method returns immediately; delivery happens asynchronously per client.
+     *
+     * @param topic      The target topic.
+     * @param eventName  The SSE event name.
+     * @param data       The event payload; strings are sent as text, anything else as JSON.
+     * @param routingKey The table ID the event concerns, or {@code null} to address every client.
+     */
+    public void broadcast(String topic, String eventName, Object data, Long routingKey) {
+        TopicChannel channel = channelOf(topic);
+        log.debug("Broadcasting event '{}' for table {} on '{}'.", eventName, routingKey, topic);
+        // Serialize outside the lock; the bytes are read-only and shared by every client and the replay buffer.
+        Object payload = serialize(eventName, data);
+
+        synchronized (channel) {
+            publish(channel, eventName, payload, routingKey);
+        }
+    }
+
+    /**
+     * Queues a batch of named events, typically everything a Kafka poll returned, in one pass.
+     * Payloads are serialized before the topic lock is taken, and the lock is then held once
+     * for the whole batch instead of once per event. Events keep their order.
+     *
+     * @param topic      The target topic.
+     * @param eventName  The SSE event name of every event.
+     * @param items      The event payloads; strings are sent as text, anything else as JSON.
+     * @param routingKey Extracts the table ID an event concerns, or {@code null} to address every client.
+     * @param <T>        The payload type.
+     */
+    public <T> void broadcastAll(String topic, String eventName, List<T> items, Function<? super T, Long> routingKey) {
+        if (items.isEmpty()) {
+            return;
+        }
+        TopicChannel channel = channelOf(topic);
+        log.debug("Broadcasting {} '{}' events on '{}'.", items.size(), eventName, topic);
+
+        Object[] payloads = new Object[items.size()];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = serialize(eventName, items.get(i));
+        }
+
+        synchronized (channel) {
+            for (int i = 0; i < payloads.length; i++) {
+                publish(channel, eventName, payloads[i], routingKey.apply(items.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Sweeps every client of every topic in one pass. Clients that received nothing for at
+     * least {@code quietNanos} get a keep-alive comment; clients with pending events that
+     * have not completed a write for {@code stallNanos} are considered dead and disconnected.
+     *
+     * @param quietNanos The idle time after which a client needs a keep-alive.
+     * @param stallNanos The time without progress after which a backlogged client is pruned.
+     * @return The number of clients pruned by this sweep.
+     */
+    public int sweep(long quietNanos, long stallNanos) {
+        long now = System.nanoTime();
+        int pruned = 0;
+        for (TopicChannel channel : channels.values()) {
+            for (SseClient client : channel.clients) {
+                long idle = client.nanosSinceLastWrite(now);
+                if (client.queueDepth() > 0) {
+                    if (idle >= stallNanos) {
+                        channel.pruned.increment();
+                        disconnect(client, "stalled, no write progress");
+                        pruned++;
+                    }
+                } else if (idle >= quietNanos) {
+                    deliver(channel, client, KEEP_ALIVE);
+                }
+            }
+        }
+        return pruned;
+    }
+
+    /**
+     * Returns the number of clients connected to the given topic on this instance.
+     *
+     * @param topic The topic to inspect.
+     * @return The number of connected clients.
+     */
+    public int clientCount(String topic) {
+        TopicChannel channel = channels.get(topic);
+        return channel != null ? channel.clients.size() : 0;
+    }
+
+    /**
+     * Completes every open connection and stops the delivery threads.
+     */
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(channel -> channel.clients.forEach(client -> disconnect(client, "shutdown")));
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * Assigns the next sequence number to an event, buffers it for replay and queues it for
+     * the matching clients. Must be called while holding the channel's lock.
+     */
+    private void publish(TopicChannel channel, String eventName, Object payload, Long routingKey) {
+        long sequence = ++channel.sequence;
+        Set<DataWithMediaType> frames = frames(eventName, epoch + "-" + sequence, payload);
+        channel.replayBuffer.append(sequence, new ReplayBuffer.Entry(frames, routingKey));
+        if (routingKey == null) {
+            channel.clients.forEach(client -> deliver(channel, client, frames));
+        } else {
+            channel.wildcard.forEach(client -> deliver(channel, client, frames));
+            channel.byTable.getOrDefault(routingKey, Set.of()).forEach(client -> deliver(channel, client, frames));
+        }
+    }
+
+    /**
+     * Pre-encodes a non-text payload to UTF-8 JSON bytes, so the message converters only copy
+     * them to each connection. Text is returned as a string, and payloads that cannot be
+     * encoded are returned as-is for per-client serialization.
+     */
+    private Object serialize(String eventName, Object data) {
+        if (data instanceof CharSequence) {
+            return data.toString();
+        }
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to pre-encode SSE event '{}', falling back to per-client serialization. Error: {}",
+                    eventName, e.getMessage());
+            return data;
+        }
+    }
+
+    /**
+     * Renders a serialized payload into SSE frames.
+     */
+    private static Set<DataWithMediaType> frames(String eventName, String id, Object payload) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().id(id).name(eventName);
+        if (payload instanceof byte[]) {
+            return event.data(payload, MediaType.APPLICATION_JSON).build();
+        }
+        return event.data(payload).build();
+    }
+
+    /**
+     * Queues the events the client missed, or a {@code stream-reset} event if they are no
+     * longer available. Must be called while holding the channel's lock.
+     */
+    private void replay(TopicChannel channel, SseClient client, String lastEventId) {
+        List<ReplayBuffer.Entry> missed = null;
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator > 0 && epoch.equals(lastEventId.substring(0, separator))) {
+            try {
+                missed = channel.replayBuffer.since(Long.parseLong(lastEventId.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                // Not an ID issued by this broadcaster; fall through to a reset.
+            }
+        }
+
+        if (missed != null) {
+            SseSubscription subscription = client.getSubscription();
+            missed = missed.stream().filter(entry -> subscription.matches(entry.routingKey())).toList();
+        }
+
+        if (missed != null && missed.size() <= sseProperties.getClientQueueCapacity()) {
+            missed.forEach(entry -> deliver(channel, client, entry.frames()));
+            channel.replayed.increment();
+            log.debug("Replayed {} missed '{}' events after ID {}.", missed.size(), client.getTopic(), lastEventId);
+        } else {
+            deliver(channel, client, SseEmitter.event().name("stream-reset")
+                    .data("Missed events are no longer available. Reload the current state.").build());
+            channel.reset.increment();
+            log.info("Could not replay '{}' events after ID {}; sent stream-reset.", client.getTopic(), lastEventId);
+        }
+    }
+
+    private void deliver(TopicChannel channel, SseClient client, Set<DataWithMediaType> frames) {
+        switch (client.offer(frames, sseProperties.getSlowClientPolicy())) {
+            case QUEUED -> {
+            }
+            case DROPPED -> channel.dropped.increment();
+            case REJECTED -> {
+                channel.dropped.increment();
+                disconnect(client, "too slow, outbound queue full");
+            }
+        }
+    }
+
+    private TopicChannel channelOf(String topic) {
+        return channels.computeIfAbsent(topic, this::createChannel);
+    }
+
+    private TopicChannel createChannel(String topic) {
+        Set<SseClient> clients = ConcurrentHashMap.newKeySet();
+        Gauge.builder("sse.clients", clients, Set::size)
+                .description("Number of connected SSE clients")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        Gauge.builder("sse.queue.depth", clients, set -> set.stream().mapToInt(SseClient::queueDepth).sum())
+                .description("Events waiting in SSE client outbound queues")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        Counter dropped = Counter.builder("sse.events.dropped")
+                .description("SSE events dropped or rejected because a client was too slow")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        Counter pruned = Counter.builder("sse.clients.pruned")
+                .description("Dead or stalled SSE clients disconnected by the keep-alive sweep")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        Counter replayed = Counter.builder("sse.replays")
+                .description("SSE reconnects resumed from Last-Event-ID")
+                .tag("topic", topic)
+                .tag("outcome", "replayed")
+                .register(meterRegistry);
+        Counter reset = Counter.builder("sse.replays")
+                .description("SSE reconnects resumed from Last-Event-ID")
+                .tag("topic", topic)
+                .tag("outcome", "reset")
+                .register(meterRegistry);
+        return new TopicChannel(clients, new ReplayBuffer(sseProperties.getReplayBufferSize()), dropped, pruned, replayed, reset);
+    }
+
+    /**
+     * Removes a client after its connection was closed by the container.
+     */
+    private void remove(SseClient client, String reason) {
+        TopicChannel channel = channels.get(client.getTopic());
+        if (channel != null && channel.unregister(client)) {
+            client.close();
+            log.info("SSE client on '{}' disconnected (Reason: {}). Total clients on this instance: {}",
+                    client.getTopic(), reason, channel.clients.size());
+        }
+    }
+
+    /**
+     * Prunes a client whose connection failed while an event was being written to it.
+     */
+    private void onSendFailure(SseClient client, String reason) {
+        TopicChannel channel = channels.get(client.getTopic());
+        if (channel != null && channel.clients.contains(client)) {
+            channel.pruned.increment();
+        }
+        disconnect(client, reason);
+    }
+
+    /**
+     * Removes a client and completes its connection from the server side.
+     */
+    private void disconnect(SseClient client, String reason) {
+        remove(client, reason);
+        try {
+            client.getEmitter().complete();
+        } catch (Exception e) {
+            // The connection is already gone.
+        }
+    }
+
+    /**
+     * The clients, routing index, replay history and meters of a single topic. The sequence,
+     * replay buffer and index updates are guarded by the channel's monitor.
+     */
+    private static final class TopicChannel {
+        private final Set<SseClient> clients;
+        private final Set<SseClient> wildcard = ConcurrentHashMap.newKeySet();
+        private final Map<Long, Set<SseClient>> byTable = new ConcurrentHashMap<>();
+        private final ReplayBuffer replayBuffer;
+        private final Counter dropped;
+        private final Counter pruned;
+        private final Counter replayed;
+        private final Counter reset;
+        private long sequence;
+
+        private TopicChannel(Set<SseClient> clients, ReplayBuffer replayBuffer, Counter dropped, Counter pruned,
+                             Counter replayed, Counter reset) {
+            this.clients = clients;
+            this.replayBuffer = replayBuffer;
+            this.dropped = dropped;
+            this.pruned = pruned;
+            this.replayed = replayed;
+            this.reset = reset;
+        }
+
+        private synchronized void register(SseClient client) {
+            clients.add(client);
+            SseSubscription subscription = client.getSubscription();
+            if (subscription.isWildcard()) {
+                wildcard.add(client);
+            } else {
+                subscription.tableIds().forEach(tableId ->
+                        byTable.computeIfAbsent(tableId, id -> ConcurrentHashMap.newKeySet()).add(client));
+            }
+        }
+
+        private synchronized boolean unregister(SseClient client) {
+            if (!clients.remove(client)) {
+                return false;
+            }
+            wildcard.remove(client);
+            client.getSubscription().tableIds().forEach(tableId -> {
+                Set<SseClient> subscribers = byTable.get(tableId);
+                if (subscribers != null) {
+                    subscribers.remove(client);
+                    if (subscribers.isEmpty()) {
+                        byTable.remove(tableId);
+                    }
+                }
+            });
+            return true;
+        }
+    }
+}
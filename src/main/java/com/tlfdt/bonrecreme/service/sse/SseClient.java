@@ -0,0 +1,166 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import com.tlfdt.bonrecreme.service.sse.enums.SlowClientPolicy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
+/**
+ * A single SSE connection together with its bounded outbound queue.
+ * <p>
+ * Events are appended to the queue by the broadcasting thread and written to the
+ * emitter by a drain task running on the supplied executor, so a slow connection
+ * only ever delays itself. At most one drain task is active per client, which keeps
+ * events in order.
+ */
+@Slf4j
+final class SseClient {
+
+    /**
+     * The outcome of offering an event to a client's queue.
+     */
+    enum Offer {
+        QUEUED,
+        DROPPED,
+        REJECTED
+    }
+
+    @Getter
+    private final String topic;
+    @Getter
+    private final SseEmitter emitter;
+    @Getter
+    private final SseSubscription subscription;
+    private final int capacity;
+    private final Executor executor;
+    private final BiConsumer<SseClient, String> onFailure;
+
+    private final Deque<Set<DataWithMediaType>> queue = new ArrayDeque<>();
+    private boolean draining;
+    private volatile boolean closed;
+    private volatile long lastWriteNanos = System.nanoTime();
+
+    SseClient(String topic, SseEmitter emitter, SseSubscription subscription, int capacity, Executor executor,
+              BiConsumer<SseClient, String> onFailure) {
+        this.topic = topic;
+        this.emitter = emitter;
+        this.subscription = subscription;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Queues an event for delivery, applying the given policy if the queue is full.
+     *
+     * @param frames The pre-built SSE frames of the event.
+     * @param policy The policy to apply when the queue is full.
+     * @return {@link Offer#DROPPED} if an event was discarded, {@link Offer#REJECTED} if the
+     *         client should be disconnected, {@link Offer#QUEUED} otherwise.
+     */
+    Offer offer(Set<DataWithMediaType> frames, SlowClientPolicy policy) {
+        if (closed) {
+            return Offer.QUEUED;
+        }
+        Offer result = Offer.QUEUED;
+        boolean startDrain = false;
+        synchronized (queue) {
+            if (queue.size() >= capacity) {
+                switch (policy) {
+                    case DROP_OLDEST -> {
+                        queue.pollFirst();
+                        result = Offer.DROPPED;
+                    }
+                    case DROP_NEWEST -> {
+                        return Offer.DROPPED;
+                    }
+                    case DISCONNECT -> {
+                        return Offer.REJECTED;
+                    }
+                }
+            }
+            queue.addLast(frames);
+            if (!draining) {
+                draining = true;
+                startDrain = true;
+            }
+        }
+        if (startDrain) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // The broadcaster is shutting down; nothing left to deliver to.
+                synchronized (queue) {
+                    draining = false;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of events waiting to be written to this client.
+     *
+     * @return The current queue depth.
+     */
+    int queueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Returns how long ago the last event was successfully written to this client.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}.
+     * @return The time since the last write, in nanoseconds.
+     */
+    long nanosSinceLastWrite(long nowNanos) {
+        return nowNanos - lastWriteNanos;
+    }
+
+    /**
+     * Stops delivery to this client and discards any queued events.
+     */
+    void close() {
+        closed = true;
+        synchronized (queue) {
+            queue.clear();
+        }
+    }
+
+    private void drain() {
+        while (!closed) {
+            Set<DataWithMediaType> frames;
+            synchronized (queue) {
+                frames = queue.pollFirst();
+                if (frames == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                emitter.send(frames);
+                lastWriteNanos = System.nanoTime();
+            } catch (IOException | IllegalStateException e) {
+                synchronized (queue) {
+                    draining = false;
+                }
+                onFailure.accept(this, "send failed: " + e.getMessage());
+                return;
+            }
+        }
+        synchronized (queue) {
+            draining = false;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import com.tlfdt.bonrecreme.config.properties.SseProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single keep-alive scheduler covering every SSE stream of this instance.
+ * <p>
+ * Instead of one scheduler thread and one timer per stream, a single thread sweeps all
+ * clients twice per configured heartbeat interval. Clients that received real traffic
+ * within the last half interval are skipped, so no client goes longer than one interval
+ * without a write, and busy streams cost no extra keep-alive frames. The same sweep prunes
+ * clients that stopped making write progress.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SseKeepAliveScheduler {
+
+    /**
+     * The number of sweep intervals without write progress after which a backlogged
+     * client is considered dead.
+     */
+    private static final int STALLED_AFTER_SWEEPS = 6;
+
+    private final SseBroadcaster sseBroadcaster;
+    private final SseProperties sseProperties;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-keep-alive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts the periodic sweep. The interval is configured in application properties.
+     */
+    @PostConstruct
+    void start() {
+        long sweepMillis = Math.max(1, TimeUnit.SECONDS.toMillis(sseProperties.getHeartbeatIntervalSeconds()) / 2);
+        scheduler.scheduleAtFixedRate(() -> sweep(sweepMillis), sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        log.info("SSE keep-alive scheduler started with a {} second heartbeat interval.", sseProperties.getHeartbeatIntervalSeconds());
+    }
+
+    /**
+     * Shuts down the scheduler gracefully when the application is stopping.
+     */
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        log.info("SSE keep-alive scheduler shut down.");
+    }
+
+    private void sweep(long sweepMillis) {
+        try {
+            long sweepNanos = TimeUnit.MILLISECONDS.toNanos(sweepMillis);
+            int pruned = sseBroadcaster.sweep(sweepNanos, sweepNanos * STALLED_AFTER_SWEEPS);
+            if (pruned > 0) {
+                log.info("SSE keep-alive sweep pruned {} dead clients.", pruned);
+            }
+        } catch (Exception e) {
+            // Never let an unexpected error cancel the periodic task.
+            log.error("SSE keep-alive sweep failed.", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The routing filter of an SSE client: the set of table IDs whose events it wants to
+ * receive, or every event if no tables are given.
+ *
+ * @param tableIds The subscribed table IDs; empty means "all tables".
+ */
+public record SseSubscription(Set<Long> tableIds) {
+
+    /**
+     * The maximum number of tables a single client may subscribe to, which bounds
+     * the size of the routing index a client can create.
+     */
+    public static final int MAX_TABLES = 500;
+
+    private static final SseSubscription ALL = new SseSubscription(Set.of());
+
+    public SseSubscription {
+        tableIds = Set.copyOf(tableIds);
+    }
+
+    /**
+     * Returns a subscription that receives every event of the topic.
+     *
+     * @return The wildcard subscription.
+     */
+    public static SseSubscription all() {
+        return ALL;
+    }
+
+    /**
+     * Builds a subscription from an explicit list of table IDs and/or an inclusive ID range.
+     * If neither is given, the subscription receives every event.
+     *
+     * @param tables    Explicit table IDs, may be {@code null}.
+     * @param tableFrom The first table ID of the range, may be {@code null}.
+     * @param tableTo   The last table ID of the range, may be {@code null}.
+     * @return The subscription.
+     * @throws CustomExceptionHandler if the range is incomplete or invalid, or too many tables are requested.
+     */
+    public static SseSubscription ofTables(Collection<Long> tables, Long tableFrom, Long tableTo) {
+        Set<Long> tableIds = new HashSet<>();
+        if (tables != null) {
+            tableIds.addAll(tables);
+        }
+        if (tableFrom != null || tableTo != null) {
+            if (tableFrom == null || tableTo == null || tableFrom < 1 || tableFrom > tableTo) {
+                throw new CustomExceptionHandler("Table range requires 0 < tableFrom <= tableTo.");
+            }
+            if (tableTo - tableFrom >= MAX_TABLES) {
+                throw new CustomExceptionHandler("A stream can subscribe to at most " + MAX_TABLES + " tables.");
+            }
+            for (long id = tableFrom; id <= tableTo; id++) {
+                tableIds.add(id);
+            }
+        }
+        if (tableIds.size() > MAX_TABLES) {
+            throw new CustomExceptionHandler("A stream can subscribe to at most " + MAX_TABLES + " tables.");
+        }
+        return tableIds.isEmpty() ? ALL : new SseSubscription(tableIds);
+    }
+
+    /**
+     * Returns whether this subscription receives every event.
+     *
+     * @return {@code true} if no table filter is set.
+     */
+    public boolean isWildcard() {
+        return tableIds.isEmpty();
+    }
+
+    /**
+     * Returns whether an event with the given routing key should be delivered.
+     *
+     * @param routingKey The table ID of the event, or {@code null} for events addressed to everyone.
+     * @return {@code true} if the event matches this subscription.
+     */
+    public boolean matches(Long routingKey) {
+        return routingKey == null || isWildcard() || tableIds.contains(routingKey);
+    }
+}
@@ -0,0 +1,24 @@
+package com.tlfdt.bonrecreme.service.sse.enums;
+
+/**
+ * Defines what the SSE broadcaster does when a client's outbound queue is full,
+ * i.e. when the client is reading events more slowly than they are published.
+ */
+public enum SlowClientPolicy {
+
+    /**
+     * Discards the oldest queued event to make room for the new one.
+     * Screens stay current at the cost of missing stale events.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discards the new event and keeps the queued backlog intact.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Closes the client's connection so it can reconnect and resynchronise.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,53 @@
+package com.tlfdt.bonrecreme.config.cache;
+
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCacheConfigTest {
+
+    private RedisCacheConfiguration cacheConfiguration;
+    private RedisElementReader<Object> valueReader;
+
+    @BeforeEach
+    void setUp() {
+        RedisCacheConfig config = new RedisCacheConfig();
+        ReflectionTestUtils.setField(config, "defaultTtlSeconds", 3600L);
+        cacheConfiguration = config.cacheConfiguration(config.redisObjectMapper());
+        valueReader = cacheConfiguration.getValueSerializationPair().getReader();
+    }
+
+    @Test
+    void testValueSerializer_RoundTripsApplicationTypes() {
+        List<MenuItemResponseDTO> items = new ArrayList<>(List.of(new MenuItemResponseDTO(1L, "Soup", "Hot", new BigDecimal("4.50"))));
+
+        ByteBuffer bytes = cacheConfiguration.getValueSerializationPair().getWriter().write(items);
+
+        assertEquals(items, valueReader.read(bytes));
+    }
+
+    @Test
+    void testValueSerializer_RejectsTypesOutsideTheAllowList() {
+        ByteBuffer gadget = ByteBuffer.wrap("{\"@class\":\"org.springframework.context.support.FileSystemXmlApplicationContext\",\"configLocation\":\"x\"}"
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(SerializationException.class, () -> valueReader.read(gadget));
+    }
+
+    @Test
+    void testKeyPrefix_IsVersioned() {
+        assertEquals(RedisCacheConfig.CACHE_FORMAT_VERSION + "::menuItems::", cacheConfiguration.getKeyPrefixFor("menuItems"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.tlfdt.bonrecreme.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.config.properties.NearCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheManagerTest {
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> received = new ArrayList<>();
+
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoTierCacheManager(redisCacheManager, redisTemplate, objectMapper,
+                new NearCacheProperties(), new SimpleMeterRegistry());
+        cacheManager.addInvalidationListener("menuVersion", received::add);
+    }
+
+    @Test
+    void testOnMessage_NotifiesListenersOfOtherInstancesChanges() throws Exception {
+        cacheManager.onMessage(message(new TwoTierCacheManager.Invalidation("other-instance", "menuVersion", "7")), null);
+        cacheManager.onMessage(message(new TwoTierCacheManager.Invalidation("other-instance", "allMenuItems", null)), null);
+
+        assertEquals(List.of("7"), received);
+    }
+
+    @Test
+    void testPublishInvalidation_IsIgnoredByThePublishingInstance() throws Exception {
+        cacheManager.publishInvalidation("menuVersion", "8");
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("cache-invalidation"), payload.capture());
+        cacheManager.onMessage(new DefaultMessage("cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                payload.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(received.isEmpty());
+    }
+
+    private DefaultMessage message(TwoTierCacheManager.Invalidation invalidation) throws Exception {
+        return new DefaultMessage("cache-invalidation".getBytes(StandardCharsets.UTF_8), objectMapper.writeValueAsBytes(invalidation));
+    }
+}
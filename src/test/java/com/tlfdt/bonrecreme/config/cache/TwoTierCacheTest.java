@@ -0,0 +1,92 @@
+package com.tlfdt.bonrecreme.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheTest {
+
+    private final List<String> published = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConcurrentMapCache remote;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("menuItems", false);
+        cache = new TwoTierCache(remote, Caffeine.newBuilder().maximumSize(10).build(),
+                (name, key) -> published.add(name + ":" + key), meterRegistry);
+    }
+
+    @Test
+    void testGet_FillsNearCacheFromRemote() {
+        remote.put(1L, "Latte");
+
+        assertEquals("Latte", cache.get(1L).get());
+        remote.evict(1L);
+        assertEquals("Latte", cache.get(1L).get());
+
+        assertEquals(1, requests("remote", "hit"));
+        assertEquals(1, requests("near", "hit"));
+        assertEquals(1, requests("near", "miss"));
+    }
+
+    @Test
+    void testGet_MissesBothTiers() {
+        assertNull(cache.get(1L));
+
+        assertEquals(1, requests("near", "miss"));
+        assertEquals(1, requests("remote", "miss"));
+    }
+
+    @Test
+    void testGetWithLoader_LoadsOnceAndCachesBothTiers() {
+        assertEquals("Mocha", cache.get(2L, () -> "Mocha"));
+        assertEquals("Mocha", cache.get(2L, () -> fail("loader should not run again")));
+
+        assertEquals("Mocha", remote.get(2L).get());
+        assertEquals(1, requests("remote", "miss"));
+        assertEquals(1, requests("near", "hit"));
+        // A read-through fill changes nothing the other instances hold
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void testPutAndEvict_WriteThroughAndPublish() {
+        cache.put(3L, "Espresso");
+        assertEquals("Espresso", remote.get(3L).get());
+
+        cache.evict(3L);
+        assertNull(remote.get(3L));
+        assertNull(cache.get(3L));
+
+        cache.clear();
+
+        assertEquals(List.of("menuItems:3", "menuItems:3", "menuItems:null"), published);
+    }
+
+    @Test
+    void testInvalidateNear_DropsOnlyTheLocalCopy() {
+        cache.put(4L, "Americano");
+        remote.put(4L, "Americano v2");
+
+        cache.invalidateNear("4");
+
+        assertEquals("Americano v2", cache.get(4L).get());
+        assertEquals(List.of("menuItems:4"), published);
+    }
+
+    private double requests(String tier, String result) {
+        return meterRegistry.get("cache.tier.requests")
+                .tags("cache", "menuItems", "tier", tier, "result", result)
+                .counter().count();
+    }
+}
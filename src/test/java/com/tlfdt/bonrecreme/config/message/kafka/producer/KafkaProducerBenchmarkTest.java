@@ -0,0 +1,139 @@
+package com.tlfdt.bonrecreme.config.message.kafka.producer;
+
+import com.tlfdt.bonrecreme.config.message.kafka.serializer.CompactEventSerializer;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures producer throughput and p99 acknowledgement latency against a live broker, with the
+ * producer settings used before order events were keyed and batched (unkeyed, no linger, no
+ * compression, 16 KB batches) and with the current ones (keyed by order, 64 KB batches,
+ * {@code linger.ms=5}, lz4). Both send the same order notifications through
+ * {@link KafkaProducerService} with the compact event serializer.
+ * <p>
+ * The broker is {@code localhost:9092} unless set with {@code -Dbenchmark.kafka.bootstrap};
+ * the test is skipped if it cannot be reached. It is skipped by default; run it with
+ * {@code mvn test -Dtest=KafkaProducerBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class KafkaProducerBenchmarkTest {
+
+    private static final String TOPIC = "benchmark-order-topic";
+    private static final int PARTITIONS = 3;
+    private static final int WARMUP_MESSAGES = 5_000;
+    private static final int MEASURED_MESSAGES = 50_000;
+    private static final int ORDERS = 500;
+
+    private final String bootstrapServers = System.getProperty("benchmark.kafka.bootstrap", "localhost:9092");
+
+    @Test
+    void benchmarkThroughputAndAckLatency() throws Exception {
+        createTopic();
+
+        Result before = run(producerConfig(16 * 1024, 0, "none"), false);
+        Result after = run(producerConfig(64 * 1024, 5, "lz4"), true);
+
+        log.info("Kafka producer, unkeyed, linger 0, no compression (before): {} msg/s, p99 ack {} ms",
+                String.format("%,.0f", before.messagesPerSecond()), String.format("%.2f", before.p99Millis()));
+        log.info("Kafka producer, keyed, 64 KB batches, linger 5 ms, lz4:     {} msg/s, p99 ack {} ms",
+                String.format("%,.0f", after.messagesPerSecond()), String.format("%.2f", after.p99Millis()));
+        assertTrue(after.messagesPerSecond() > 0 && before.messagesPerSecond() > 0);
+    }
+
+    private Result run(Map<String, Object> config, boolean keyed) throws Exception {
+        DefaultKafkaProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(config);
+        try {
+            KafkaProducerService kafkaProducerService = new KafkaProducerService(new KafkaTemplate<>(producerFactory), new SimpleMeterRegistry());
+            send(kafkaProducerService, WARMUP_MESSAGES, keyed, new long[WARMUP_MESSAGES]);
+
+            long[] latencies = new long[MEASURED_MESSAGES];
+            long start = System.nanoTime();
+            send(kafkaProducerService, MEASURED_MESSAGES, keyed, latencies);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            long p99 = latencies[(int) Math.ceil(MEASURED_MESSAGES * 0.99) - 1];
+            return new Result(MEASURED_MESSAGES / seconds, p99 / 1e6);
+        } finally {
+            producerFactory.destroy();
+        }
+    }
+
+    /**
+     * Sends the messages without waiting in between, as the outbox relay does, then waits for
+     * every acknowledgement. Each send records its own time to acknowledgement.
+     */
+    private static void send(KafkaProducerService kafkaProducerService, int messages, boolean keyed, long[] latencies) {
+        CompletableFuture<?>[] acks = new CompletableFuture<?>[messages];
+        for (int i = 0; i < messages; i++) {
+            long orderId = i % ORDERS + 1;
+            OrderNotificationDTO payload = new OrderNotificationDTO(orderId, orderId % 20 + 1, List.of(
+                    new OrderNotificationDTO.OrderItemDTO("Croissant", 2, null),
+                    new OrderNotificationDTO.OrderItemDTO("Cafe creme", 1, "Oat milk")));
+            int index = i;
+            long sentAt = System.nanoTime();
+            acks[i] = kafkaProducerService.sendMessage(TOPIC, keyed ? String.valueOf(orderId) : null, payload)
+                    .thenRun(() -> latencies[index] = System.nanoTime() - sentAt);
+        }
+        CompletableFuture.allOf(acks).orTimeout(2, TimeUnit.MINUTES).join();
+    }
+
+    private Map<String, Object> producerConfig(int batchSize, int lingerMs, String compression) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, CompactEventSerializer.class);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        return config;
+    }
+
+    private void createTopic() throws InterruptedException {
+        try (AdminClient adminClient = AdminClient.create(Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, 5_000))) {
+            try {
+                adminClient.describeCluster().nodes().get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                assumeTrue(false, "No Kafka broker reachable at " + bootstrapServers);
+            }
+            try {
+                adminClient.createTopics(List.of(new NewTopic(TOPIC, PARTITIONS, (short) 1))).all().get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof TopicExistsException)) {
+                    throw new IllegalStateException("Failed to create " + TOPIC, e.getCause());
+                }
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("Timed out creating " + TOPIC, e);
+            }
+        }
+    }
+
+    private record Result(double messagesPerSecond, double p99Millis) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.tlfdt.bonrecreme.config.message.kafka.producer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaProducerServiceTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private KafkaProducerService kafkaProducerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        kafkaProducerService = new KafkaProducerService(kafkaTemplate, meterRegistry);
+    }
+
+    @Test
+    void testSendMessage_RecordsSuccessAndAckLatency() {
+        SendResult<String, Object> result = new SendResult<>(
+                new ProducerRecord<>("order-topic", "7", "payload"),
+                new RecordMetadata(new TopicPartition("order-topic", 0), 0, 0, 0, 1, 7));
+        when(kafkaTemplate.send("order-topic", "7", "payload")).thenReturn(CompletableFuture.completedFuture(result));
+
+        kafkaProducerService.sendMessage("order-topic", "7", "payload");
+        kafkaProducerService.sendMessage("order-topic", "7", "payload");
+
+        assertEquals(2, meterRegistry.get("kafka.producer.messages").tag("topic", "order-topic").tag("outcome", "success").counter().count());
+        assertEquals(2, meterRegistry.get("kafka.producer.ack.latency").tag("topic", "order-topic").timer().count());
+    }
+
+    @Test
+    void testSendMessage_RecordsFailure() {
+        when(kafkaTemplate.send("order-topic", null, "payload"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        kafkaProducerService.sendMessage("order-topic", "payload");
+
+        assertEquals(1, meterRegistry.get("kafka.producer.messages").tag("outcome", "failure").counter().count());
+        assertEquals(0, meterRegistry.get("kafka.producer.ack.latency").timer().count());
+    }
+}
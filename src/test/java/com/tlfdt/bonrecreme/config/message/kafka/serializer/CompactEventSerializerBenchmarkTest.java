@@ -0,0 +1,108 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the time to serialize and deserialize order and bill events with the compact binary
+ * codecs against Spring's JSON serializer and deserializer, which were used before. Sizes are
+ * logged alongside. It is skipped by default; run it with
+ * {@code mvn test -Dtest=CompactEventSerializerBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class CompactEventSerializerBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 500_000;
+
+    @Test
+    void benchmarkCompactAgainstJson() {
+        OrderNotificationDTO order = new OrderNotificationDTO(42L, 7L, List.of(
+                new OrderNotificationDTO.OrderItemDTO("Crème brûlée", 2, "No sugar on top"),
+                new OrderNotificationDTO.OrderItemDTO("Espresso", 1, null)));
+        BillResponseDTO bill = new BillResponseDTO(10L, 4L, new BigDecimal("36.50"), LocalDateTime.of(2024, 5, 1, 19, 30, 15), true, List.of(
+                new BillResponseDTO.OrderDTO(1L, new BigDecimal("24.50"), List.of(
+                        new BillResponseDTO.OrderItemDTO("Croissant", 3, new BigDecimal("3.50")),
+                        new BillResponseDTO.OrderItemDTO("Café au lait", 2, new BigDecimal("7.00")))),
+                new BillResponseDTO.OrderDTO(2L, new BigDecimal("12.00"), List.of(
+                        new BillResponseDTO.OrderItemDTO("Tarte tatin", 1, new BigDecimal("12.00"))))));
+
+        try (CompactEventSerializer compactSerializer = new CompactEventSerializer();
+             CompactEventDeserializer compactDeserializer = new CompactEventDeserializer();
+             JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+             JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>()) {
+            compactSerializer.configure(Map.of(), false);
+            compactDeserializer.configure(Map.of(), false);
+            // The headers are reused across iterations, so the type headers must stay after a read
+            jsonDeserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES,
+                    "com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto,com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill",
+                    JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+
+            for (Object event : List.of(order, bill)) {
+                String name = event.getClass().getSimpleName();
+                Timing json = measure(jsonSerializer, jsonDeserializer, event);
+                Timing compact = measure(compactSerializer, compactDeserializer, event);
+                log.info("{} JSON:    {} bytes, serialize {} ns, deserialize {} ns", name,
+                        json.bytes(), String.format("%,6.0f", json.serializeNanos()), String.format("%,6.0f", json.deserializeNanos()));
+                log.info("{} compact: {} bytes, serialize {} ns ({}x), deserialize {} ns ({}x)", name,
+                        compact.bytes(), String.format("%,6.0f", compact.serializeNanos()),
+                        String.format("%.1f", json.serializeNanos() / compact.serializeNanos()),
+                        String.format("%,6.0f", compact.deserializeNanos()),
+                        String.format("%.1f", json.deserializeNanos() / compact.deserializeNanos()));
+                assertTrue(compact.bytes() < json.bytes());
+            }
+        }
+    }
+
+    /**
+     * Times serialization and deserialization separately, each with its own warm-up. Every
+     * iteration uses fresh headers, as a producer record does.
+     */
+    private static Timing measure(Serializer<Object> serializer, Deserializer<Object> deserializer, Object event) {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] bytes = serializer.serialize("benchmark-topic", headers, event);
+        assertEquals(event, deserializer.deserialize("benchmark-topic", headers, bytes));
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += serializer.serialize("benchmark-topic", new RecordHeaders(), event).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.serialize("benchmark-topic", new RecordHeaders(), event).length;
+        }
+        double serializeNanos = (double) (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += deserializer.deserialize("benchmark-topic", headers, bytes).hashCode();
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += deserializer.deserialize("benchmark-topic", headers, bytes).hashCode();
+        }
+        double deserializeNanos = (double) (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        // Using the sink keeps the JIT from discarding the measured calls
+        assertNotEquals(Long.MIN_VALUE, sink);
+        return new Timing(bytes.length, serializeNanos, deserializeNanos);
+    }
+
+    private record Timing(int bytes, double serializeNanos, double deserializeNanos) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.tlfdt.bonrecreme.config.message.kafka.serializer;
+
+import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactEventSerializerTest {
+
+    private CompactEventSerializer serializer;
+    private CompactEventDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new CompactEventSerializer();
+        serializer.configure(Map.of(), false);
+        deserializer = new CompactEventDeserializer();
+        deserializer.configure(Map.of(), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Test
+    void testRoundTrip_OrderNotification() {
+        OrderNotificationDTO order = new OrderNotificationDTO(42L, 7L, List.of(
+                new OrderNotificationDTO.OrderItemDTO("Crème brûlée", 2, "No sugar on top"),
+                new OrderNotificationDTO.OrderItemDTO("Espresso", 1, null)));
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("order-topic", headers, order);
+
+        assertEquals("order-notification", new String(headers.lastHeader(EventCodecs.TYPE_HEADER).value()));
+        assertNull(headers.lastHeader("__TypeId__"));
+        assertEquals(order, deserializer.deserialize("order-topic", headers, bytes));
+    }
+
+    @Test
+    void testRoundTrip_BillResponseKeepsDecimalScaleAndTime() {
+        BillResponseDTO bill = bill();
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("paid-bills-topic", headers, bill);
+        BillResponseDTO decoded = (BillResponseDTO) deserializer.deserialize("paid-bills-topic", headers, bytes);
+
+        assertEquals(bill, decoded);
+        assertEquals(2, decoded.getTotalAmount().scale());
+    }
+
+    @Test
+    void testSerialize_IsSmallerThanJson() {
+        BillResponseDTO bill = bill();
+        try (JsonSerializer<Object> jsonSerializer = new JsonSerializer<>()) {
+            byte[] json = jsonSerializer.serialize("paid-bills-topic", new RecordHeaders(), bill);
+            byte[] compact = serializer.serialize("paid-bills-topic", new RecordHeaders(), bill);
+
+            assertTrue(compact.length * 3 < json.length,
+                    "compact=" + compact.length + " bytes, json=" + json.length + " bytes");
+        }
+    }
+
+    @Test
+    void testUnregisteredType_FallsBackToJson() {
+        Map<String, Object> payload = new HashMap<>(Map.of("status", "ok"));
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("misc-topic", headers, payload);
+
+        assertNull(headers.lastHeader(EventCodecs.TYPE_HEADER));
+        assertEquals(payload, deserializer.deserialize("misc-topic", headers, bytes));
+    }
+
+    @Test
+    void testDeserialize_RejectsTruncatedPayload() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] bytes = serializer.serialize("paid-bills-topic", headers, bill());
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("paid-bills-topic", headers, truncated));
+    }
+
+    private static BillResponseDTO bill() {
+        List<BillResponseDTO.OrderDTO> orders = List.of(
+                new BillResponseDTO.OrderDTO(1L, new BigDecimal("24.50"), List.of(
+                        new BillResponseDTO.OrderItemDTO("Croissant", 3, new BigDecimal("3.50")),
+                        new BillResponseDTO.OrderItemDTO("Café au lait", 2, new BigDecimal("7.00")))),
+                new BillResponseDTO.OrderDTO(2L, new BigDecimal("12.00"), List.of(
+                        new BillResponseDTO.OrderItemDTO("Tarte tatin", 1, new BigDecimal("12.00")))));
+        return new BillResponseDTO(10L, 4L, new BigDecimal("36.50"), LocalDateTime.of(2024, 5, 1, 19, 30, 15, 123_000_000), true, orders);
+    }
+}
@@ -0,0 +1,126 @@
+package com.tlfdt.bonrecreme.security.jwt;
+
+import com.tlfdt.bonrecreme.config.properties.JwtClaimsProperties;
+import com.tlfdt.bonrecreme.config.properties.PrincipalCacheProperties;
+import com.tlfdt.bonrecreme.model.user.Role;
+import com.tlfdt.bonrecreme.model.user.User;
+import com.tlfdt.bonrecreme.repository.user.UserRepository;
+import com.tlfdt.bonrecreme.service.user.UserDetailsServiceImpl;
+import jakarta.servlet.FilterChain;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures authenticated requests per second through {@link JwtAuthenticationFilter}:
+ * tokens that load their user from the database on every request (the behaviour before the
+ * principal cache and stateless claims), stateless tokens seen for the first time, and
+ * repeated tokens served from the principal cache.
+ * <p>
+ * The user database is simulated with a fixed round-trip latency, 300 µs unless set with
+ * {@code -Dbenchmark.dbLatencyMicros}. It is skipped by default; run it with
+ * {@code mvn test -Dtest=JwtAuthenticationFilterBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final int DATABASE_REQUESTS = 2_000;
+    private static final int STATELESS_REQUESTS = 20_000;
+
+    private final AtomicLong userIds = new AtomicLong();
+    private final UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+    private final FilterChain filterChain = (request, response) -> assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+    @Test
+    void benchmarkAuthenticatedRequests() throws Exception {
+        long dbLatencyNanos = TimeUnit.MICROSECONDS.toNanos(Long.getLong("benchmark.dbLatencyMicros", 300));
+        when(userRepository.findByUsername(any())).thenAnswer(invocation -> Optional.of(user(userIds.incrementAndGet())));
+        when(userRepository.findById(any())).thenAnswer(invocation -> {
+            long deadline = System.nanoTime() + dbLatencyNanos;
+            // Spin rather than park; parking overshoots short waits by more than the wait itself
+            while (System.nanoTime() - deadline < 0) {
+                Thread.onSpinWait();
+            }
+            return Optional.of(user(invocation.getArgument(0)));
+        });
+
+        JwtClaimsProperties legacyClaims = new JwtClaimsProperties();
+        JwtClaimsProperties statelessClaims = new JwtClaimsProperties();
+        statelessClaims.setStatelessClaims(true);
+
+        List<String> databaseTokens = tokens(tokenProvider(legacyClaims), DATABASE_REQUESTS);
+        List<String> statelessTokens = tokens(tokenProvider(statelessClaims), STATELESS_REQUESTS);
+        List<String> repeatedToken = List.of(statelessTokens.getFirst());
+
+        // Warm up every path first, so the JIT's work is not charged to whichever runs first
+        requestsPerSecond(databaseTokens, DATABASE_REQUESTS);
+        requestsPerSecond(statelessTokens, STATELESS_REQUESTS);
+        requestsPerSecond(repeatedToken, STATELESS_REQUESTS);
+
+        double before = requestsPerSecond(databaseTokens, DATABASE_REQUESTS);
+        double statelessFirstUse = requestsPerSecond(statelessTokens, STATELESS_REQUESTS);
+        double cacheHit = requestsPerSecond(repeatedToken, STATELESS_REQUESTS);
+
+        log.info("JWT filter, user loaded per request (before): {} req/s", String.format("%,.0f", before));
+        log.info("JWT filter, stateless claims, first use:      {} req/s ({}x)", String.format("%,.0f", statelessFirstUse), String.format("%.1f", statelessFirstUse / before));
+        log.info("JWT filter, principal cache hit:              {} req/s ({}x)", String.format("%,.0f", cacheHit), String.format("%.1f", cacheHit / before));
+        assertTrue(statelessFirstUse > before, "Stateless tokens should not be slower than loading the user");
+    }
+
+    private double requestsPerSecond(List<String> tokens, int requests) throws Exception {
+        // A fresh cache per run, so every distinct token is a miss and repeated ones are hits
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider(new JwtClaimsProperties()),
+                new UserDetailsServiceImpl(userRepository),
+                new JwtPrincipalCache(new PrincipalCacheProperties()),
+                new TokenRevocationService(userRepository, null, null, null, new JwtClaimsProperties()));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/manager/menu-items");
+            request.addHeader("Authorization", "Bearer " + tokens.get(i % tokens.size()));
+            filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+            SecurityContextHolder.clearContext();
+        }
+        return requests / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private JwtTokenProvider tokenProvider(JwtClaimsProperties claimsProperties) {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(userRepository, claimsProperties);
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "x".repeat(64));
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        tokenProvider.init();
+        return tokenProvider;
+    }
+
+    private static List<String> tokens(JwtTokenProvider tokenProvider, int count) {
+        org.springframework.security.core.userdetails.User principal = new org.springframework.security.core.userdetails.User(
+                "manager", "", List.of(new SimpleGrantedAuthority("ROLE_MANAGER")));
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Each token belongs to a new user ID, so no two tokens are equal
+            tokens.add(tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+        }
+        return tokens;
+    }
+
+    private static User user(Long id) {
+        return User.builder().id(id).username("manager" + id).password("").role(Role.MANAGER).build();
+    }
+}
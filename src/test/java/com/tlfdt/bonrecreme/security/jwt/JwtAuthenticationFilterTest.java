@@ -0,0 +1,118 @@
+package com.tlfdt.bonrecreme.security.jwt;
+
+import com.tlfdt.bonrecreme.config.properties.JwtClaimsProperties;
+import com.tlfdt.bonrecreme.config.properties.PrincipalCacheProperties;
+import com.tlfdt.bonrecreme.model.user.Role;
+import com.tlfdt.bonrecreme.model.user.User;
+import com.tlfdt.bonrecreme.repository.user.UserRepository;
+import com.tlfdt.bonrecreme.service.user.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final User user = User.builder().id(7L).username("manager").password("").role(Role.MANAGER).build();
+
+    private JwtTokenProvider tokenProvider;
+    private TokenRevocationService tokenRevocationService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Stateless claims off, as in production
+        JwtClaimsProperties claimsProperties = new JwtClaimsProperties();
+        tokenProvider = new JwtTokenProvider(userRepository, claimsProperties);
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "x".repeat(64));
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        tokenProvider.init();
+
+        JwtPrincipalCache principalCache = new JwtPrincipalCache(new PrincipalCacheProperties());
+        tokenRevocationService = new TokenRevocationService(userRepository, redisTemplate, listenerContainer,
+                principalCache, claimsProperties);
+        filter = new JwtAuthenticationFilter(tokenProvider, new UserDetailsServiceImpl(userRepository),
+                principalCache, tokenRevocationService);
+
+        when(userRepository.findByUsername("manager")).thenAnswer(invocation -> Optional.of(user));
+        when(userRepository.findById(7L)).thenAnswer(invocation -> Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_TokenIssuedAfterRevocationAuthenticatesWithoutStatelessClaims() throws Exception {
+        String revokedToken = issueToken();
+        revoke();
+        String freshToken = issueToken();
+
+        assertNull(authenticate(revokedToken));
+        Authentication authentication = authenticate(freshToken);
+        assertNotNull(authentication);
+        assertEquals("manager", authentication.getName());
+    }
+
+    private void revoke() {
+        when(userRepository.incrementTokenVersion(7L)).thenAnswer(invocation -> {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            return 1;
+        });
+        when(userRepository.findTokenVersionById(7L)).thenAnswer(invocation -> Optional.of(user.getTokenVersion()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationService.revokeUser(7L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private String issueToken() {
+        org.springframework.security.core.userdetails.User principal = new org.springframework.security.core.userdetails.User(
+                "manager", "", List.of(new SimpleGrantedAuthority("ROLE_MANAGER")));
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/manager/menu-items");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,80 @@
+package com.tlfdt.bonrecreme.security.jwt;
+
+import com.tlfdt.bonrecreme.config.properties.PrincipalCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtPrincipalCacheTest {
+
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    private JwtPrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new JwtPrincipalCache(new PrincipalCacheProperties());
+    }
+
+    @Test
+    void testGet_ResolvesEachTokenOnce() {
+        JwtPrincipal first = principalCache.get("token-a", resolver(1L, Instant.now().plus(1, ChronoUnit.HOURS)));
+        JwtPrincipal second = principalCache.get("token-a", resolver(1L, Instant.now().plus(1, ChronoUnit.HOURS)));
+
+        assertSame(first, second);
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    void testGet_DoesNotCacheInvalidTokens() {
+        assertNull(principalCache.get("bad", token -> {
+            resolutions.incrementAndGet();
+            return null;
+        }));
+        principalCache.get("bad", resolver(1L, Instant.now().plus(1, ChronoUnit.HOURS)));
+
+        assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    void testGet_NeverServesExpiredTokens() {
+        assertNull(principalCache.get("old", resolver(1L, Instant.now().minusSeconds(1))));
+    }
+
+    @Test
+    void testInvalidateUser_DropsOnlyThatUsersTokens() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        principalCache.get("token-a", resolver(1L, expiresAt));
+        principalCache.get("token-b", resolver(2L, expiresAt));
+
+        principalCache.invalidateUser(1L);
+        principalCache.get("token-a", resolver(1L, expiresAt));
+        principalCache.get("token-b", resolver(2L, expiresAt));
+
+        assertEquals(3, resolutions.get());
+    }
+
+    @Test
+    void testHash_IsStableAndDoesNotContainTheToken() {
+        assertEquals(JwtPrincipalCache.hash("token-a"), JwtPrincipalCache.hash("token-a"));
+        assertNotEquals(JwtPrincipalCache.hash("token-a"), JwtPrincipalCache.hash("token-b"));
+        assertFalse(JwtPrincipalCache.hash("token-a").contains("token-a"));
+    }
+
+    private Function<String, JwtPrincipal> resolver(Long userId, Instant expiresAt) {
+        return token -> {
+            resolutions.incrementAndGet();
+            User user = new User("user" + userId, "", List.of(new SimpleGrantedAuthority("ROLE_MANAGER")));
+            return new JwtPrincipal(userId, user, 0L, expiresAt);
+        };
+    }
+}
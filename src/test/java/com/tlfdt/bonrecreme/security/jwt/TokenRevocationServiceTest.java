@@ -0,0 +1,149 @@
+package com.tlfdt.bonrecreme.security.jwt;
+
+import com.tlfdt.bonrecreme.config.properties.JwtClaimsProperties;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.repository.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final String CHANNEL = "jwt-revocation";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private JwtPrincipalCache principalCache;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(userRepository, redisTemplate, listenerContainer,
+                principalCache, new JwtClaimsProperties());
+    }
+
+    @Test
+    void testInit_RebuildsRevocationsFromTheDatabase() {
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(tokenVersion(7L, 3L)));
+
+        tokenRevocationService.init();
+
+        assertTrue(tokenRevocationService.isRevoked(7L, 2L));
+        assertFalse(tokenRevocationService.isRevoked(7L, 3L));
+        assertFalse(tokenRevocationService.isRevoked(8L, 0L));
+        verify(listenerContainer).addMessageListener(any(), any(Topic.class));
+    }
+
+    @Test
+    void testOnMessage_AppliesRemoteRevocationAndKeepsTheHighestVersion() {
+        tokenRevocationService.onMessage(message("7:4"), null);
+        tokenRevocationService.onMessage(message("7:2"), null);
+
+        assertTrue(tokenRevocationService.isRevoked(7L, 3L));
+        assertFalse(tokenRevocationService.isRevoked(7L, 4L));
+        verify(principalCache, times(1)).invalidateUser(7L);
+    }
+
+    @Test
+    void testOnMessage_IgnoresMalformedMessages() {
+        tokenRevocationService.onMessage(message("garbage"), null);
+
+        verifyNoInteractions(principalCache);
+    }
+
+    @Test
+    void testRevokeUser_PublishesAfterCommit() {
+        when(userRepository.incrementTokenVersion(7L)).thenReturn(1);
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(5L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(5L, tokenRevocationService.revokeUser(7L));
+            assertFalse(tokenRevocationService.isRevoked(7L, 4L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(tokenRevocationService.isRevoked(7L, 4L));
+        verify(redisTemplate).convertAndSend(CHANNEL, "7:5");
+        verify(principalCache).invalidateUser(7L);
+    }
+
+    @Test
+    void testRefresh_RetriesFailedPublicationAndPicksUpMissedRevocations() {
+        when(userRepository.incrementTokenVersion(7L)).thenReturn(1);
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(5L));
+        when(redisTemplate.convertAndSend(CHANNEL, "7:5"))
+                .thenThrow(new IllegalStateException("Redis down"))
+                .thenReturn(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationService.revokeUser(7L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        // Another instance revoked user 8, but its notification never arrived
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(tokenVersion(7L, 5L), tokenVersion(8L, 2L)));
+
+        tokenRevocationService.refresh();
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationService.isRevoked(8L, 1L));
+        verify(redisTemplate, times(2)).convertAndSend(CHANNEL, "7:5");
+    }
+
+    @Test
+    void testRevokeUser_UnknownUser() {
+        when(userRepository.incrementTokenVersion(9L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> tokenRevocationService.revokeUser(9L));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserRepository.TokenVersionView tokenVersion(Long userId, long version) {
+        return new UserRepository.TokenVersionView() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public long getTokenVersion() {
+                return version;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.tlfdt.bonrecreme.service.bill;
+
+import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.payment.PaymentRequest;
+import com.tlfdt.bonrecreme.exception.custom.ConflictException;
+import com.tlfdt.bonrecreme.model.restaurant.Bill;
+import com.tlfdt.bonrecreme.model.restaurant.Order;
+import com.tlfdt.bonrecreme.model.restaurant.enums.BillStatus;
+import com.tlfdt.bonrecreme.model.restaurant.enums.OrderStatus;
+import com.tlfdt.bonrecreme.repository.restaurant.BillRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.OrderRepository;
+import com.tlfdt.bonrecreme.service.bill.messaging.BillEventPublisher;
+import com.tlfdt.bonrecreme.service.report.rollup.SalesRollupService;
+import com.tlfdt.bonrecreme.utils.bill.BillFactory;
+import com.tlfdt.bonrecreme.utils.bill.mapper.BillMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BillServiceImplTest {
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private BillFactory billFactory;
+
+    @Mock
+    private BillMapper billMapper;
+
+    @Mock
+    private BillEventPublisher billEventPublisher;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @InjectMocks
+    private BillServiceImpl billService;
+
+    @Test
+    void testProcessPayment_MovesBilledOrdersToPaid() {
+        Order first = orderWithStatus(1L, OrderStatus.BILLED);
+        Order second = orderWithStatus(2L, OrderStatus.BILLED);
+        Bill bill = pendingBill(first, second);
+        when(billRepository.findById(10L)).thenReturn(Optional.of(bill));
+        when(billRepository.save(bill)).thenReturn(bill);
+
+        billService.processPayment(PaymentRequest.builder().billId(10L).build());
+
+        assertEquals(BillStatus.PAID, bill.getStatus());
+        assertEquals(OrderStatus.PAID, first.getStatus());
+        assertEquals(OrderStatus.PAID, second.getStatus());
+        verify(salesRollupService).recordPaidBill(10L);
+    }
+
+    @Test
+    void testProcessPayment_RejectsOrdersThatAreNotBilled() {
+        Order order = orderWithStatus(1L, OrderStatus.SERVED);
+        Bill bill = pendingBill(order);
+        when(billRepository.findById(10L)).thenReturn(Optional.of(bill));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> billService.processPayment(PaymentRequest.builder().billId(10L).build()));
+
+        assertEquals("Order #1 cannot move from SERVED to PAID.", exception.getMessage());
+        assertEquals(BillStatus.PENDING, bill.getStatus());
+        verify(billRepository, never()).save(any(Bill.class));
+        verifyNoInteractions(salesRollupService, billEventPublisher);
+    }
+
+    private static Order orderWithStatus(Long id, OrderStatus status) {
+        return Order.builder()
+                .id(id)
+                .status(status)
+                .orderItems(new HashSet<>())
+                .build();
+    }
+
+    private static Bill pendingBill(Order... orders) {
+        return Bill.builder()
+                .id(10L)
+                .status(BillStatus.PENDING)
+                .orders(new HashSet<>(List.of(orders)))
+                .build();
+    }
+}
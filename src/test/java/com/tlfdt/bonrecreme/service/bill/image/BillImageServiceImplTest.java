@@ -0,0 +1,121 @@
+package com.tlfdt.bonrecreme.service.bill.image;
+
+import com.tlfdt.bonrecreme.config.properties.BillImageProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.BillResponseDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.cashier.dto.bill.image.BillImageRequest;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.service.bill.BillService;
+import com.tlfdt.bonrecreme.service.bill.image.enums.BillRendererType;
+import com.tlfdt.bonrecreme.service.bill.image.renderer.BillRenderer;
+import com.tlfdt.bonrecreme.service.bill.image.renderer.SwingBillRenderer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BillImageServiceImplTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @Mock
+    private BillService billService;
+
+    @Mock
+    private TemplateEngine templateEngine;
+
+    private BillImageServiceImpl billImageService;
+
+    @BeforeEach
+    void setUp() {
+        billImageService = new BillImageServiceImpl(billService, templateEngine, new BillImageProperties(), List.of(new SwingBillRenderer()));
+        when(billService.getBillForTable(any(BillRequestDTO.class)))
+                .thenReturn(new BillResponseDTO(11L, 3L, new BigDecimal("12.00"), LocalDateTime.of(2024, 5, 1, 12, 0), false, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        billImageService.shutdown();
+    }
+
+    @Test
+    void testGenerateBillImage_UnchangedBillIsServedFromCache() {
+        when(templateEngine.process(eq("bill-template"), any(IContext.class)))
+                .thenReturn("<html><body><p>Bill 11: 12.00</p></body></html>");
+
+        byte[] first = billImageService.generateBillImage(BillImageRequest.builder().tableId(3L).build());
+        byte[] second = billImageService.generateBillImage(BillImageRequest.builder().tableId(3L).build());
+
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(first, PNG_SIGNATURE.length));
+        assertSame(first, second);
+    }
+
+    @Test
+    void testGenerateBillImage_ChangedContentIsRenderedAgain() {
+        when(templateEngine.process(eq("bill-template"), any(IContext.class)))
+                .thenReturn("<html><body><p>Bill 11: 12.00</p></body></html>")
+                .thenReturn("<html><body><p>Bill 11: 19.50</p></body></html>");
+
+        byte[] first = billImageService.generateBillImage(BillImageRequest.builder().tableId(3L).build());
+        byte[] second = billImageService.generateBillImage(BillImageRequest.builder().tableId(3L).build());
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testGenerateBillImage_InterruptedWaitKeepsTheInterruptFlag() {
+        CountDownLatch release = new CountDownLatch(1);
+        BillRenderer blockingRenderer = new BillRenderer() {
+            @Override
+            public BillRendererType type() {
+                return BillRendererType.SWING_PNG;
+            }
+
+            @Override
+            public MediaType mediaType() {
+                return MediaType.IMAGE_PNG;
+            }
+
+            @Override
+            public byte[] render(String xhtmlContent) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return PNG_SIGNATURE;
+            }
+        };
+        BillImageServiceImpl blockingService = new BillImageServiceImpl(billService, templateEngine, new BillImageProperties(), List.of(blockingRenderer));
+        when(templateEngine.process(eq("bill-template"), any(IContext.class)))
+                .thenReturn("<html><body><p>Bill 11: 12.00</p></body></html>");
+
+        try {
+            Thread.currentThread().interrupt();
+            CustomExceptionHandler exception = assertThrows(CustomExceptionHandler.class,
+                    () -> blockingService.generateBillImage(BillImageRequest.builder().tableId(3L).build()));
+
+            assertEquals("The bill image request was interrupted.", exception.getMessage());
+            assertTrue(Thread.interrupted());
+        } finally {
+            release.countDown();
+            blockingService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.tlfdt.bonrecreme.service.bill.image.renderer;
+
+import com.tlfdt.bonrecreme.config.properties.BillImageProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the throughput of the bill renderers, single-threaded and with four threads.
+ * It is skipped by default; run it with {@code mvn test -Dtest=BillRendererBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class BillRendererBenchmarkTest {
+
+    private static final int WARMUP_RENDERS = 50;
+    private static final int MEASURED_RENDERS = 400;
+    private static final int THREADS = 4;
+
+    @Test
+    void benchmarkRenderers() throws Exception {
+        BillImageProperties billImageProperties = new BillImageProperties();
+        List<BillRenderer> renderers = List.of(
+                new SwingBillRenderer(),
+                new Java2DBillRenderer(billImageProperties),
+                new PdfBillRenderer(billImageProperties));
+
+        for (BillRenderer renderer : renderers) {
+            for (int i = 0; i < WARMUP_RENDERS; i++) {
+                renderer.render(BillRendererTest.RECEIPT);
+            }
+            int size = renderer.render(BillRendererTest.RECEIPT).length;
+            double single = rendersPerSecond(renderer, 1);
+            double parallel = rendersPerSecond(renderer, THREADS);
+            log.info("{} {} renders/s (1 thread) {} renders/s ({} threads) {} bytes",
+                    String.format("%-11s", renderer.type()), String.format("%8.1f", single),
+                    String.format("%8.1f", parallel), THREADS, String.format("%7d", size));
+            assertTrue(single > 0);
+        }
+    }
+
+    private static double rendersPerSecond(BillRenderer renderer, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < MEASURED_RENDERS / threads; i++) {
+                        renderer.render(BillRendererTest.RECEIPT);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+            return MEASURED_RENDERS / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.tlfdt.bonrecreme.service.bill.image.renderer;
+
+import com.tlfdt.bonrecreme.config.properties.BillImageProperties;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BillRendererTest {
+
+    static final String RECEIPT = """
+            <!DOCTYPE html PUBLIC "-//W3C//DTD XHTML 1.0 Transitional//EN" "http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd">
+            <html xmlns="http://www.w3.org/1999/xhtml">
+            <head><title>Bill</title><style>body { font-family: sans-serif; font-size: 12px; }</style></head>
+            <body>
+            <h1>BonreCreme Receipt</h1>
+            <table>
+            <tr><td>Crème brûlée</td><td>2</td><td>9.00</td></tr>
+            <tr><td>Espresso</td><td>1</td><td>2.50</td></tr>
+            </table>
+            <p>Total Amount: 11.50</p>
+            </body>
+            </html>
+            """;
+
+    private final BillImageProperties billImageProperties = new BillImageProperties();
+
+    @Test
+    void testJava2DRenderer_ProducesIndexedGrayscalePng() throws Exception {
+        byte[] png = new Java2DBillRenderer(billImageProperties).render(RECEIPT);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertEquals(billImageProperties.getWidth(), image.getWidth());
+        assertTrue(image.getHeight() > 0);
+        IndexColorModel colorModel = assertInstanceOf(IndexColorModel.class, image.getColorModel());
+        assertEquals(16, colorModel.getMapSize());
+    }
+
+    @Test
+    void testPdfRenderer_ProducesPdf() throws Exception {
+        byte[] pdf = new PdfBillRenderer(billImageProperties).render(RECEIPT);
+
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testSwingRenderer_ProducesPng() throws Exception {
+        byte[] png = new SwingBillRenderer().render(RECEIPT);
+
+        assertNotNull(ImageIO.read(new ByteArrayInputStream(png)));
+    }
+}
@@ -0,0 +1,151 @@
+package com.tlfdt.bonrecreme.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.config.properties.IdempotencyProperties;
+import com.tlfdt.bonrecreme.exception.custom.ConflictException;
+import com.tlfdt.bonrecreme.exception.custom.IdempotencyKeyMismatchException;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.service.idempotency.store.IdempotencyRecord;
+import com.tlfdt.bonrecreme.service.idempotency.store.InMemoryIdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        store = new InMemoryIdempotencyStore(properties);
+        idempotencyService = new IdempotencyService(store, new ObjectMapper(), properties);
+    }
+
+    @Test
+    void testExecute_ReplaysStoredResultForRetries() {
+        IdempotentResult<String> first = idempotencyService.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder);
+        IdempotentResult<String> retry = idempotencyService.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder);
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals("order-1", retry.value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_RejectsKeyReusedWithDifferentRequest() {
+        idempotencyService.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder);
+
+        assertThrows(IdempotencyKeyMismatchException.class, () ->
+                idempotencyService.execute("order:create", "key-1", Map.of("table", 2), String.class, this::createOrder));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_FailureReleasesTheKey() {
+        assertThrows(ResourceNotFoundException.class, () -> idempotencyService.execute("order:create", "key-1", Map.of("table", 1),
+                String.class, () -> {
+                    throw new ResourceNotFoundException("SeatTable not found with id: 1");
+                }));
+
+        IdempotentResult<String> retry = idempotencyService.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder);
+
+        assertFalse(retry.replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_StoreFailureAfterTheActionStillReturnsTheResult() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        InMemoryIdempotencyStore failingStore = new InMemoryIdempotencyStore(properties) {
+            @Override
+            public void complete(String key, IdempotencyRecord record, Duration ttl) {
+                throw new IllegalStateException("Redis is down");
+            }
+        };
+        IdempotencyService service = new IdempotencyService(failingStore, new ObjectMapper(), properties);
+
+        IdempotentResult<String> result = service.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder);
+
+        assertFalse(result.replayed());
+        assertEquals("order-1", result.value());
+        // The claim is kept, so a retry cannot run the action a second time
+        assertThrows(ConflictException.class, () ->
+                service.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_KeyHeldByAnotherInstanceIsAConflict() throws Exception {
+        store.claim("order:create:key-1", IdempotencyRecord.inFlight(fingerprint("{\"table\":1}")), Duration.ofSeconds(30));
+
+        assertThrows(ConflictException.class, () ->
+                idempotencyService.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testExecute_ConcurrentDuplicatesCollapseOntoOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<IdempotentResult<String>> first = executor.submit(() -> idempotencyService.execute("order:create", "key-1",
+                    Map.of("table", 1), String.class, () -> {
+                        started.countDown();
+                        awaitQuietly(release);
+                        return createOrder();
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<IdempotentResult<String>>> duplicates = List.of(
+                    executor.submit(() -> idempotencyService.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder)),
+                    executor.submit(() -> idempotencyService.execute("order:create", "key-1", Map.of("table", 1), String.class, this::createOrder)));
+            release.countDown();
+
+            assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+            for (Future<IdempotentResult<String>> duplicate : duplicates) {
+                IdempotentResult<String> result = duplicate.get(5, TimeUnit.SECONDS);
+                assertEquals("order-1", result.value());
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String createOrder() {
+        return "order-" + executions.incrementAndGet();
+    }
+
+    private static String fingerprint(String json) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.tlfdt.bonrecreme.service.menu;
+
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemPageDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
+import com.tlfdt.bonrecreme.service.menu.catalog.MenuCatalogService;
+import com.tlfdt.bonrecreme.service.menu.search.MenuItemSearchCriteria;
+import com.tlfdt.bonrecreme.service.menu.snapshot.MenuItemSnapshot;
+import com.tlfdt.bonrecreme.utils.menu.mapper.MenuItemMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuItemServiceImplSearchTest {
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private MenuItemSnapshot menuItemSnapshot;
+
+    @Mock
+    private MenuCatalogService menuCatalogService;
+
+    private MenuItemServiceImpl menuItemService;
+
+    @BeforeEach
+    void setUp() {
+        menuItemService = new MenuItemServiceImpl(menuItemRepository, new MenuItemMapper(), menuItemSnapshot,
+                menuCatalogService, new MenuProperties());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchMenuItems_ReturnsCursorWhenMoreRowsFollow() {
+        when(menuItemRepository.findBy(any(Specification.class), any())).thenReturn(List.of(
+                menuItem(3L, "Latte"), menuItem(5L, "Iced Latte"), menuItem(8L, "Latte Macchiato")));
+
+        MenuItemPageDTO page = menuItemService.searchMenuItems(new MenuItemSearchCriteria("latte", null, null, null, 2));
+
+        assertEquals(List.of(3L, 5L), page.getItems().stream().map(MenuItemResponseDTO::getId).toList());
+        assertEquals(5L, page.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchMenuItems_LastPageHasNoCursor() {
+        when(menuItemRepository.findBy(any(Specification.class), any())).thenReturn(List.of(menuItem(8L, "Latte Macchiato")));
+
+        MenuItemPageDTO page = menuItemService.searchMenuItems(new MenuItemSearchCriteria("latte", null, null, 5L, 2));
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testSearchMenuItems_RejectsInvertedPriceBandAndOversizedPage() {
+        assertThrows(CustomExceptionHandler.class, () -> menuItemService.searchMenuItems(
+                new MenuItemSearchCriteria(null, new BigDecimal("10"), new BigDecimal("5"), null, 20)));
+        assertThrows(CustomExceptionHandler.class, () -> menuItemService.searchMenuItems(
+                new MenuItemSearchCriteria(null, null, null, null, 101)));
+        verifyNoInteractions(menuItemRepository);
+    }
+
+    @Test
+    void testSearchCriteria_EquivalentFiltersShareACacheKey() {
+        MenuItemSearchCriteria first = new MenuItemSearchCriteria("  Latte ", new BigDecimal("3.50"), null, null, 20);
+        MenuItemSearchCriteria second = new MenuItemSearchCriteria("latte", new BigDecimal("3.5"), null, null, 20);
+
+        assertEquals(first.cacheKey(), second.cacheKey());
+        assertNotEquals(first.cacheKey(), new MenuItemSearchCriteria("latte", null, null, 7L, 20).cacheKey());
+    }
+
+    private static MenuItem menuItem(Long id, String name) {
+        return MenuItem.builder().id(id).name(name).price(new BigDecimal("3.50")).build();
+    }
+}
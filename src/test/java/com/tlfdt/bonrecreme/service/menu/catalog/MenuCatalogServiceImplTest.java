@@ -0,0 +1,188 @@
+package com.tlfdt.bonrecreme.service.menu.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tlfdt.bonrecreme.config.cache.TwoTierCacheManager;
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuDeltaDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.menuitems.MenuItemResponseDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
+import com.tlfdt.bonrecreme.model.restaurant.MenuItemTombstone;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemTombstoneRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuVersionRepository;
+import com.tlfdt.bonrecreme.utils.menu.mapper.MenuItemMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuCatalogServiceImplTest {
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private MenuVersionRepository menuVersionRepository;
+
+    @Mock
+    private MenuItemTombstoneRepository menuItemTombstoneRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TwoTierCacheManager cacheManager;
+
+    private MenuCatalogServiceImpl menuCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        menuCatalogService = new MenuCatalogServiceImpl(menuItemRepository, menuVersionRepository,
+                menuItemTombstoneRepository, new MenuItemMapper(), objectMapper, transactionManager,
+                cacheManager, new MenuProperties());
+        menuCatalogService.init();
+    }
+
+    @Test
+    void testGetCatalog_SerializesOncePerVersion() throws IOException {
+        when(menuVersionRepository.findCurrentVersion()).thenReturn(3L);
+        when(menuItemRepository.findAll()).thenReturn(List.of(menuItem(1L, "Latte")));
+
+        MenuCatalog first = menuCatalogService.getCatalog();
+        MenuCatalog second = menuCatalogService.getCatalog();
+
+        assertSame(first, second);
+        assertEquals(3L, first.version());
+        assertEquals("\"menu-3\"", first.etag());
+        assertTrue(new String(first.body()).contains("\"name\":\"Latte\""));
+        assertArrayEquals(first.body(), gunzip(first.gzippedBody()));
+        verify(menuItemRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testGetCatalog_AnswersFromMemoryUntilTheVersionIsInvalidated() {
+        when(menuVersionRepository.findCurrentVersion()).thenReturn(3L);
+        when(menuItemRepository.findAll()).thenReturn(List.of(menuItem(1L, "Latte")));
+
+        menuCatalogService.getCatalog();
+        menuCatalogService.getCatalog();
+        menuCatalogService.getCatalog();
+
+        // The version read while building the catalog serves the later requests
+        verify(menuVersionRepository, times(1)).findCurrentVersion();
+    }
+
+    @Test
+    void testGetCatalog_RebuildsWhenAnotherInstanceChangesTheMenu() {
+        ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.captor();
+        verify(cacheManager).addInvalidationListener(eq(MenuCatalogServiceImpl.VERSION_INVALIDATION_NAME), listener.capture());
+        when(menuVersionRepository.findCurrentVersion()).thenReturn(3L, 4L, 4L);
+        when(menuItemRepository.findAll()).thenReturn(List.of(menuItem(1L, "Latte")));
+
+        MenuCatalog first = menuCatalogService.getCatalog();
+        listener.getValue().accept("4");
+        MenuCatalog second = menuCatalogService.getCatalog();
+
+        assertEquals(3L, first.version());
+        assertEquals(4L, second.version());
+        verify(menuItemRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testNextVersion_AnnouncesTheVersionAfterCommit() {
+        when(menuVersionRepository.findCurrentVersion()).thenReturn(3L, 4L, 4L, 4L);
+        when(menuItemRepository.findAll()).thenReturn(List.of(menuItem(1L, "Latte")));
+        menuCatalogService.getCatalog();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(4L, menuCatalogService.nextVersion());
+            // Until the change commits, the menu is served from memory at the old version
+            assertEquals(3L, menuCatalogService.getCatalog().version());
+            verify(cacheManager, never()).publishInvalidation(any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(cacheManager).publishInvalidation(MenuCatalogServiceImpl.VERSION_INVALIDATION_NAME, "4");
+        assertEquals(4L, menuCatalogService.getCatalog().version());
+    }
+
+    @Test
+    void testGetChangesSince_ReturnsChangedAndDeletedItems() {
+        when(menuVersionRepository.findCurrentVersion()).thenReturn(5L);
+        when(menuItemRepository.findChangedAfter(2L)).thenReturn(List.of(menuItem(1L, "Latte")));
+        when(menuItemTombstoneRepository.findMenuItemIdsDeletedAfter(2L)).thenReturn(List.of(7L));
+
+        MenuDeltaDTO delta = menuCatalogService.getChangesSince(2L);
+
+        assertEquals(5L, delta.version());
+        assertEquals(List.of(1L), delta.changedItems().stream().map(MenuItemResponseDTO::getId).toList());
+        assertEquals(List.of(7L), delta.deletedItemIds());
+    }
+
+    @Test
+    void testGetChangesSince_UpToDateClientGetsEmptyDelta() {
+        when(menuVersionRepository.findCurrentVersion()).thenReturn(5L);
+
+        MenuDeltaDTO delta = menuCatalogService.getChangesSince(5L);
+
+        assertTrue(delta.changedItems().isEmpty());
+        assertTrue(delta.deletedItemIds().isEmpty());
+        verifyNoInteractions(menuItemRepository, menuItemTombstoneRepository);
+    }
+
+    @Test
+    void testGetChangesSince_RejectsUnknownVersion() {
+        when(menuVersionRepository.findCurrentVersion()).thenReturn(5L);
+
+        assertThrows(CustomExceptionHandler.class, () -> menuCatalogService.getChangesSince(6L));
+    }
+
+    @Test
+    void testRecordDeletion_StoresTombstoneUnderNewVersion() {
+        when(menuVersionRepository.findCurrentVersion()).thenReturn(8L);
+
+        menuCatalogService.recordDeletion(7L);
+
+        ArgumentCaptor<MenuItemTombstone> captor = ArgumentCaptor.forClass(MenuItemTombstone.class);
+        verify(menuVersionRepository).incrementVersion();
+        verify(menuItemTombstoneRepository).save(captor.capture());
+        assertEquals(7L, captor.getValue().getMenuItemId());
+        assertEquals(8L, captor.getValue().getMenuVersion());
+        verify(menuItemRepository, never()).save(any());
+    }
+
+    private static MenuItem menuItem(Long id, String name) {
+        return MenuItem.builder().id(id).name(name).price(new BigDecimal("3.50")).build();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
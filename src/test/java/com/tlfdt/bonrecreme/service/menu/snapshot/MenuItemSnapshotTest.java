@@ -0,0 +1,93 @@
+package com.tlfdt.bonrecreme.service.menu.snapshot;
+
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemPrice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuItemSnapshotTest {
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    private MenuItemSnapshot menuItemSnapshot;
+
+    private MenuItemPrice coffee;
+    private MenuItemPrice cake;
+
+    @BeforeEach
+    void setUp() {
+        menuItemSnapshot = new MenuItemSnapshot(menuItemRepository, new MenuProperties());
+
+        coffee = new MenuItemPrice(1L, "Coffee", BigDecimal.valueOf(3));
+        cake = new MenuItemPrice(2L, "Cake", BigDecimal.valueOf(5));
+    }
+
+    @Test
+    void testResolveAll_ServesRepeatedLookupsFromOneLoad() {
+        when(menuItemRepository.findAllPrices()).thenReturn(List.of(coffee, cake));
+
+        Map<Long, MenuItemPrice> first = menuItemSnapshot.resolveAll(Set.of(1L, 2L));
+        Map<Long, MenuItemPrice> second = menuItemSnapshot.resolveAll(Set.of(2L));
+
+        assertEquals(2, first.size());
+        assertSame(cake, second.get(2L));
+        assertEquals(1L, menuItemSnapshot.getVersion());
+        verify(menuItemRepository, times(1)).findAllPrices();
+        verify(menuItemRepository, never()).findPricesByIdIn(anyCollection());
+    }
+
+    @Test
+    void testResolveAll_ReportsAllMissingIdsTogether() {
+        when(menuItemRepository.findAllPrices()).thenReturn(List.of(coffee));
+        when(menuItemRepository.findPricesByIdIn(anyCollection())).thenReturn(List.of());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> menuItemSnapshot.resolveAll(List.of(1L, 7L, 9L)));
+
+        assertEquals("menuitems not found with id: 7, 9", exception.getMessage());
+        verify(menuItemRepository, times(1)).findPricesByIdIn(List.of(7L, 9L));
+    }
+
+    @Test
+    void testResolveAll_NeverLoadsEntities() {
+        when(menuItemRepository.findAllPrices()).thenReturn(List.of(coffee));
+        when(menuItemRepository.findPricesByIdIn(anyCollection())).thenReturn(List.of(cake));
+
+        Map<Long, MenuItemPrice> result = menuItemSnapshot.resolveAll(List.of(1L, 2L));
+
+        assertEquals(Map.of(1L, coffee, 2L, cake), result);
+        verify(menuItemRepository, times(1)).findAllPrices();
+        verify(menuItemRepository, times(1)).findPricesByIdIn(List.of(2L));
+        verifyNoMoreInteractions(menuItemRepository);
+    }
+
+    @Test
+    void testInvalidate_RebuildsOnNextLookup() {
+        MenuItemPrice repricedCoffee = new MenuItemPrice(1L, "Coffee", BigDecimal.valueOf(4));
+        when(menuItemRepository.findAllPrices()).thenReturn(List.of(coffee), List.of(repricedCoffee));
+
+        menuItemSnapshot.resolveAll(Set.of(1L));
+        menuItemSnapshot.invalidate();
+        Map<Long, MenuItemPrice> result = menuItemSnapshot.resolveAll(Set.of(1L));
+
+        assertEquals(BigDecimal.valueOf(4), result.get(1L).price());
+        assertEquals(2L, menuItemSnapshot.getVersion());
+        verify(menuItemRepository, times(2)).findAllPrices();
+    }
+}
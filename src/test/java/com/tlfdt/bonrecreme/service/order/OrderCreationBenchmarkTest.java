@@ -0,0 +1,196 @@
+package com.tlfdt.bonrecreme.service.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tlfdt.bonrecreme.config.properties.KafkaProducerProperties;
+import com.tlfdt.bonrecreme.config.properties.MenuProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
+import com.tlfdt.bonrecreme.model.restaurant.Order;
+import com.tlfdt.bonrecreme.model.restaurant.OrderItem;
+import com.tlfdt.bonrecreme.model.restaurant.SeatTable;
+import com.tlfdt.bonrecreme.model.restaurant.enums.OrderStatus;
+import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.OrderRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.OutboxEventRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.SeatTableRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemPrice;
+import com.tlfdt.bonrecreme.service.menu.snapshot.MenuItemSnapshot;
+import com.tlfdt.bonrecreme.service.outbox.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the latency of creating an order with 1, 10 and 50 lines through
+ * {@link OrderServiceImpl#createOrder}, which prices every line from the {@link MenuItemSnapshot},
+ * with the previous implementation, reproduced here, which loaded each menu item with
+ * {@code findById}.
+ * <p>
+ * No database is involved: every repository call that would reach one waits for a simulated
+ * round trip of {@code -Dbenchmark.roundTripMicros} (250 µs unless set) and is counted. Inserting
+ * the order lines at commit is the same for both paths and is not included. The snapshot is
+ * warm, as it is for all but the first order after a menu change. It is skipped by default;
+ * run it with {@code mvn test -Dtest=OrderCreationBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class OrderCreationBenchmarkTest {
+
+    private static final int[] LINE_COUNTS = {1, 10, 50};
+    private static final int MENU_SIZE = 200;
+    private static final int WARMUP_ORDERS = 300;
+    private static final int MEASURED_ORDERS = 1_000;
+
+    private final long roundTripNanos = TimeUnit.MICROSECONDS.toNanos(Long.getLong("benchmark.roundTripMicros", 250));
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong orderIds = new AtomicLong();
+
+    private SeatTableRepository seatTableRepository;
+    private OrderRepository orderRepository;
+    private MenuItemRepository menuItemRepository;
+    private OutboxService outboxService;
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        SeatTable table = SeatTable.builder().id(1L).build();
+        seatTableRepository = mock(SeatTableRepository.class, withSettings().stubOnly());
+        when(seatTableRepository.findById(anyLong())).thenAnswer(roundTrip(invocation -> Optional.of(table)));
+
+        orderRepository = mock(OrderRepository.class, withSettings().stubOnly());
+        when(orderRepository.save(any(Order.class))).thenAnswer(roundTrip(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(orderIds.incrementAndGet());
+            return order;
+        }));
+
+        menuItemRepository = mock(MenuItemRepository.class, withSettings().stubOnly());
+        List<MenuItemPrice> menu = LongStream.rangeClosed(1, MENU_SIZE)
+                .mapToObj(id -> new MenuItemPrice(id, "Item " + id, BigDecimal.valueOf(250 + id, 2)))
+                .toList();
+        when(menuItemRepository.findAllPrices()).thenAnswer(roundTrip(invocation -> menu));
+        when(menuItemRepository.findById(anyLong())).thenAnswer(roundTrip(invocation -> {
+            MenuItemPrice price = menu.get(invocation.<Long>getArgument(0).intValue() - 1);
+            return Optional.of(MenuItem.builder().id(price.id()).name(price.name()).price(price.price()).build());
+        }));
+        // A Hibernate reference is a proxy and does not touch the database
+        when(menuItemRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> MenuItem.builder().id(invocation.getArgument(0)).build());
+
+        OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class, withSettings().stubOnly());
+        when(outboxEventRepository.save(any())).thenAnswer(roundTrip(invocation -> invocation.getArgument(0)));
+        outboxService = new OutboxService(outboxEventRepository, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        MenuItemSnapshot menuItemSnapshot = new MenuItemSnapshot(menuItemRepository, new MenuProperties());
+        orderService = new OrderServiceImpl(menuItemSnapshot, menuItemRepository, orderRepository, seatTableRepository,
+                outboxService, new KafkaProducerProperties());
+    }
+
+    @Test
+    void benchmarkCreateOrder() {
+        for (int lineCount : LINE_COUNTS) {
+            MenuRequestDTO request = request(lineCount);
+            Result perLine = measure(this::createOrderWithPerLineLookup, request);
+            Result snapshot = measure(orderService::createOrder, request);
+            log.info("Create order, {} lines, findById per line (before): {} round trips, p50 {} µs, p99 {} µs",
+                    String.format("%2d", lineCount), String.format("%4.1f", perLine.roundTrips()),
+                    String.format("%,9.1f", perLine.p50Micros()), String.format("%,9.1f", perLine.p99Micros()));
+            log.info("Create order, {} lines, menu snapshot:                {} round trips, p50 {} µs, p99 {} µs ({}x faster at p50)",
+                    String.format("%2d", lineCount), String.format("%4.1f", snapshot.roundTrips()),
+                    String.format("%,9.1f", snapshot.p50Micros()), String.format("%,9.1f", snapshot.p99Micros()),
+                    String.format("%.1f", perLine.p50Micros() / snapshot.p50Micros()));
+            assertTrue(snapshot.roundTrips() <= perLine.roundTrips());
+        }
+    }
+
+    private Result measure(Function<MenuRequestDTO, OrderNotificationDTO> createOrder, MenuRequestDTO request) {
+        for (int i = 0; i < WARMUP_ORDERS; i++) {
+            assertEquals(request.getItems().size(), createOrder.apply(request).getItems().size());
+        }
+        long roundTripsBefore = roundTrips.get();
+        long[] latencies = new long[MEASURED_ORDERS];
+        for (int i = 0; i < MEASURED_ORDERS; i++) {
+            long start = System.nanoTime();
+            createOrder.apply(request);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return new Result((double) (roundTrips.get() - roundTripsBefore) / MEASURED_ORDERS,
+                latencies[MEASURED_ORDERS / 2] / 1e3,
+                latencies[(int) Math.ceil(MEASURED_ORDERS * 0.99) - 1] / 1e3);
+    }
+
+    /**
+     * The order creation that {@link OrderServiceImpl#createOrder} replaced: one {@code findById}
+     * per order line, with the notification built from the loaded entities.
+     */
+    private OrderNotificationDTO createOrderWithPerLineLookup(MenuRequestDTO request) {
+        SeatTable table = seatTableRepository.findById(request.getTableId()).orElseThrow();
+        Order order = Order.builder()
+                .seatTable(table)
+                .status(OrderStatus.PENDING)
+                .build();
+        Order savedOrder = orderRepository.save(order);
+
+        List<OrderItem> orderItems = request.getItems().stream()
+                .map(itemDto -> {
+                    MenuItem menuItem = menuItemRepository.findById(itemDto.getMenuItemId()).orElseThrow();
+                    return OrderItem.builder()
+                            .order(savedOrder)
+                            .menuItem(menuItem)
+                            .quantity(itemDto.getQuantity())
+                            .priceAtTime(menuItem.getPrice())
+                            .specialRequests(itemDto.getSpecialRequests())
+                            .build();
+                })
+                .toList();
+        order.setOrderItems(new HashSet<>(orderItems));
+
+        OrderNotificationDTO notificationDTO = OrderNotificationDTO.fromOrder(order);
+        outboxService.enqueue("order-topic", String.valueOf(savedOrder.getId()), notificationDTO);
+        return notificationDTO;
+    }
+
+    private static MenuRequestDTO request(int lineCount) {
+        return new MenuRequestDTO(1L, LongStream.rangeClosed(1, lineCount)
+                .mapToObj(id -> new MenuRequestDTO.OrderItemRequest(id * 3, 1 + (int) (id % 3), id % 5 == 0 ? "No onions" : null))
+                .toList());
+    }
+
+    /**
+     * Answers a repository call after waiting for one simulated database round trip.
+     */
+    private <T> Answer<T> roundTrip(Answer<T> answer) {
+        return invocation -> {
+            roundTrips.incrementAndGet();
+            long deadline = System.nanoTime() + roundTripNanos;
+            // Spin rather than park; parking overshoots short waits by more than the wait itself
+            while (System.nanoTime() - deadline < 0) {
+                Thread.onSpinWait();
+            }
+            return answer.answer(invocation);
+        };
+    }
+
+    private record Result(double roundTrips, double p50Micros, double p99Micros) {
+    }
+}
@@ -1,9 +1,14 @@
 package com.tlfdt.bonrecreme.service.order;
 
+import com.tlfdt.bonrecreme.config.message.kafka.producer.enums.MessageKeyStrategy;
+import com.tlfdt.bonrecreme.config.properties.KafkaProducerProperties;
 import com.tlfdt.bonrecreme.controller.api.v1.customer.dto.MenuRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.BulkOrderStatusRequestDTO;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.BulkOrderStatusResponseDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.UpdateOrderRequestDTO;
 import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.UpdateOrderStatusRequestDTO;
+import com.tlfdt.bonrecreme.exception.custom.ConflictException;
 import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
 import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
 import com.tlfdt.bonrecreme.model.restaurant.MenuItem;
@@ -14,21 +19,33 @@ import com.tlfdt.bonrecreme.model.restaurant.enums.OrderStatus;
 import com.tlfdt.bonrecreme.repository.restaurant.MenuItemRepository;
 import com.tlfdt.bonrecreme.repository.restaurant.OrderRepository;
 import com.tlfdt.bonrecreme.repository.restaurant.SeatTableRepository;
-import com.tlfdt.bonrecreme.config.message.kafka.producer.KafkaProducerService;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemPrice;
+import com.tlfdt.bonrecreme.service.menu.snapshot.MenuItemSnapshot;
+import com.tlfdt.bonrecreme.service.outbox.OutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import org.mockito.ArgumentCaptor;
@@ -36,6 +53,9 @@ import org.mockito.ArgumentCaptor;
 @ExtendWith(MockitoExtension.class)
 class OrderServiceImplTest {
 
+    @Mock
+    private MenuItemSnapshot menuItemSnapshot;
+
     @Mock
     private MenuItemRepository menuItemRepository;
 
@@ -46,13 +66,16 @@ class OrderServiceImplTest {
     private SeatTableRepository seatTableRepository;
 
     @Mock
-    private KafkaProducerService kafkaProducerService;
+    private OutboxService outboxService;
+
+    @Spy
+    private KafkaProducerProperties kafkaProducerProperties = new KafkaProducerProperties();
 
     @InjectMocks
     private OrderServiceImpl orderService;
 
     private SeatTable seatTable;
-    private MenuItem menuItem;
+    private MenuItemPrice menuItem;
     private Order order;
     private MenuRequestDTO menuRequestDTO;
     private UpdateOrderRequestDTO updateOrderRequestDTO;
@@ -64,11 +87,7 @@ class OrderServiceImplTest {
                 .id(1L)
                 .build();
 
-        menuItem = MenuItem.builder()
-                .id(1L)
-                .name("Test Item")
-                .price(BigDecimal.TEN)
-                .build();
+        menuItem = new MenuItemPrice(1L, "Test Item", BigDecimal.TEN);
 
         order = Order.builder()
                 .id(1L)
@@ -89,17 +108,49 @@ class OrderServiceImplTest {
         when(seatTableRepository.findById(anyLong())).thenReturn(Optional.of(seatTable));
         ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
         when(orderRepository.save(orderCaptor.capture())).thenReturn(Order.builder().id(1L).seatTable(seatTable).status(OrderStatus.PENDING).orderItems(new java.util.HashSet<>()).build());
-        when(menuItemRepository.findById(anyLong())).thenReturn(Optional.of(menuItem));
-        doNothing().when(kafkaProducerService).sendMessage(anyString(), any(OrderNotificationDTO.class));
+        when(menuItemSnapshot.resolveAll(anyCollection())).thenReturn(Map.of(1L, menuItem));
+        when(menuItemRepository.getReferenceById(1L)).thenReturn(MenuItem.builder().id(1L).build());
+        doNothing().when(outboxService).enqueue(anyString(), any(), any(OrderNotificationDTO.class));
 
         OrderNotificationDTO result = orderService.createOrder(menuRequestDTO);
 
         assertNotNull(result);
         assertEquals(orderCaptor.getValue().getId(), result.getOrderId());
+        // The name comes from the snapshot; the linked reference is never read
+        assertEquals("Test Item", result.getItems().getFirst().getMenuItemName());
+        OrderItem orderItem = orderCaptor.getValue().getOrderItems().iterator().next();
+        assertEquals(BigDecimal.TEN, orderItem.getPriceAtTime());
+        assertEquals(1L, orderItem.getMenuItem().getId());
         verify(seatTableRepository, times(1)).findById(anyLong());
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(menuItemRepository, times(1)).findById(anyLong());
-        // KafkaProducerService is mocked but not explicitly verified as per instructions
+        verify(menuItemSnapshot, times(1)).resolveAll(anyCollection());
+        // OutboxService is mocked but not explicitly verified as per instructions
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @SuppressWarnings("unchecked")
+    void testCreateOrder_ResolvesAllItemsInOneLookup(int itemCount) {
+        List<MenuRequestDTO.OrderItemRequest> items = LongStream.rangeClosed(1, itemCount)
+                .mapToObj(id -> new MenuRequestDTO.OrderItemRequest(id, 1, null))
+                .toList();
+        Map<Long, MenuItemPrice> menu = LongStream.rangeClosed(1, itemCount)
+                .mapToObj(id -> new MenuItemPrice(id, "Item " + id, BigDecimal.valueOf(id)))
+                .collect(Collectors.toMap(MenuItemPrice::id, Function.identity()));
+
+        when(seatTableRepository.findById(anyLong())).thenReturn(Optional.of(seatTable));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(menuItemSnapshot.resolveAll(anyCollection())).thenReturn(menu);
+        when(menuItemRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> MenuItem.builder().id(invocation.getArgument(0)).build());
+        doNothing().when(outboxService).enqueue(anyString(), any(), any(OrderNotificationDTO.class));
+
+        OrderNotificationDTO result = orderService.createOrder(new MenuRequestDTO(1L, items));
+
+        ArgumentCaptor<Collection<Long>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(menuItemSnapshot, times(1)).resolveAll(idsCaptor.capture());
+        assertEquals(itemCount, idsCaptor.getValue().size());
+        assertEquals(itemCount, result.getItems().size());
     }
 
     @Test
@@ -110,28 +161,30 @@ class OrderServiceImplTest {
 
         assertEquals("SeatTable not found with id: 1", exception.getMessage());
         verify(seatTableRepository, times(1)).findById(anyLong());
-        verifyNoInteractions(orderRepository, menuItemRepository, kafkaProducerService);
+        verifyNoInteractions(orderRepository, menuItemSnapshot, menuItemRepository, outboxService);
     }
 
     @Test
     void testCreateOrder_MenuItemNotFound() {
         when(seatTableRepository.findById(anyLong())).thenReturn(Optional.of(seatTable));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(menuItemRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(menuItemSnapshot.resolveAll(anyCollection()))
+                .thenThrow(new ResourceNotFoundException("menuitems not found with id: 1"));
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> orderService.createOrder(menuRequestDTO));
 
         assertEquals("menuitems not found with id: 1", exception.getMessage());
         verify(seatTableRepository, times(1)).findById(anyLong());
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(menuItemRepository, times(1)).findById(anyLong());
-        verifyNoInteractions(kafkaProducerService);
+        verify(menuItemSnapshot, times(1)).resolveAll(anyCollection());
+        verifyNoInteractions(menuItemRepository, outboxService);
     }
 
     @Test
     void testUpdateOrderItems_Success() {
         when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
-        when(menuItemRepository.findById(anyLong())).thenReturn(Optional.of(menuItem));
+        when(menuItemSnapshot.resolveAll(anyCollection())).thenReturn(Map.of(1L, menuItem));
+        when(menuItemRepository.getReferenceById(1L)).thenReturn(MenuItem.builder().id(1L).build());
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         OrderNotificationDTO result = orderService.updateOrderItems(1L, updateOrderRequestDTO);
@@ -140,10 +193,39 @@ class OrderServiceImplTest {
         assertEquals(order.getId(), result.getOrderId());
         assertEquals(OrderStatus.PENDING, order.getStatus());
         verify(orderRepository, times(1)).findById(anyLong());
-        verify(menuItemRepository, times(1)).findById(anyLong());
+        verify(menuItemSnapshot, times(1)).resolveAll(anyCollection());
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
+    @Test
+    void testUpdateOrderItems_SendsACookingOrderBackToPending() {
+        order.setStatus(OrderStatus.COOKING);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(menuItemSnapshot.resolveAll(anyCollection())).thenReturn(Map.of(1L, menuItem));
+        when(menuItemRepository.getReferenceById(1L)).thenReturn(MenuItem.builder().id(1L).build());
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        orderService.updateOrderItems(1L, updateOrderRequestDTO);
+
+        assertTrue(OrderStatus.COOKING.canTransitionTo(OrderStatus.PENDING));
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        verify(orderRepository, times(1)).save(order);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"READY_TO_SERVE", "SERVED", "BILLED", "PAID", "CANCELLED"})
+    void testUpdateOrderItems_RejectsOrdersPastCooking(OrderStatus status) {
+        order.setStatus(status);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> orderService.updateOrderItems(1L, updateOrderRequestDTO));
+
+        assertEquals("Order #1 cannot be edited while it is " + status + ".", exception.getMessage());
+        assertEquals(status, order.getStatus());
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(menuItemSnapshot, menuItemRepository, outboxService);
+    }
+
     @Test
     void testUpdateOrderItems_OrderNotFound() {
         when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -152,87 +234,189 @@ class OrderServiceImplTest {
 
         assertEquals("Order not found with id: 1", exception.getMessage());
         verify(orderRepository, times(1)).findById(anyLong());
-        verifyNoInteractions(menuItemRepository, kafkaProducerService);
+        verifyNoInteractions(menuItemSnapshot, outboxService);
     }
 
     @Test
     void testUpdateOrderStatus_Success() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
-        doNothing().when(kafkaProducerService).sendMessage(anyString(), any(OrderNotificationDTO.class));
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.COOKING)).thenReturn(1);
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
 
         OrderNotificationDTO result = orderService.updateOrderStatus(1L, updateOrderStatusRequestDTO);
 
         assertNotNull(result);
         assertEquals(order.getId(), result.getOrderId());
-        assertEquals(OrderStatus.COOKING, order.getStatus());
-        verify(orderRepository, times(1)).findById(anyLong());
-        verify(orderRepository, times(1)).save(any(Order.class));
-        // KafkaProducerService is mocked but not explicitly verified as per instructions
+        verify(orderRepository, times(1)).compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.COOKING);
+        verify(orderRepository, never()).findById(anyLong());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(outboxService, times(1)).enqueue(eq("update-order-topic"), any(), any(OrderNotificationDTO.class));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ORDER, 7", "TABLE, 1"})
+    void testUpdateOrderStatus_KeysEventByConfiguredStrategy(MessageKeyStrategy strategy, String expectedKey) {
+        kafkaProducerProperties.setKeyStrategy(strategy);
+        Order keyedOrder = Order.builder()
+                .id(7L)
+                .seatTable(seatTable)
+                .status(OrderStatus.COOKING)
+                .orderItems(new java.util.HashSet<>())
+                .build();
+        when(orderRepository.findStatusById(7L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.compareAndSetStatus(7L, OrderStatus.PENDING, OrderStatus.COOKING)).thenReturn(1);
+        when(orderRepository.findWithDetailsById(7L)).thenReturn(Optional.of(keyedOrder));
+
+        orderService.updateOrderStatus(7L, updateOrderStatusRequestDTO);
+
+        verify(outboxService).enqueue(eq("update-order-topic"), eq(expectedKey), any(OrderNotificationDTO.class));
     }
 
     @Test
     void testUpdateOrderStatus_OrderNotFound() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(orderRepository.findStatusById(anyLong())).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> orderService.updateOrderStatus(1L, updateOrderStatusRequestDTO));
 
         assertEquals("Order not found with id: 1", exception.getMessage());
-        verify(orderRepository, times(1)).findById(anyLong());
-        verifyNoInteractions(kafkaProducerService);
+        verify(orderRepository, never()).compareAndSetStatus(anyLong(), any(), any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void testUpdateOrderStatus_InvalidTransitionIsAConflict() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.SERVED));
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> orderService.updateOrderStatus(1L, updateOrderStatusRequestDTO));
+
+        assertEquals("Order #1 cannot move from SERVED to COOKING.", exception.getMessage());
+        verify(orderRepository, never()).compareAndSetStatus(anyLong(), any(), any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void testUpdateOrderStatus_ConcurrentChangeIsAConflict() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PENDING));
+        // Another staff member changed the order between the read and the compare-and-set
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.PENDING, OrderStatus.COOKING)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> orderService.updateOrderStatus(1L, updateOrderStatusRequestDTO));
+
+        verify(orderRepository, never()).findWithDetailsById(anyLong());
+        verifyNoInteractions(outboxService);
     }
 
     @Test
     void testMarkOrderAsReadyToServe_Success() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
-        doNothing().when(kafkaProducerService).sendMessage(anyString(), any(OrderNotificationDTO.class));
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.COOKING));
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.COOKING, OrderStatus.READY_TO_SERVE)).thenReturn(1);
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
 
         OrderNotificationDTO result = orderService.markOrderAsReadyToServe(1L);
 
         assertNotNull(result);
         assertEquals(order.getId(), result.getOrderId());
-        assertEquals(OrderStatus.READY_TO_SERVE, order.getStatus());
-        verify(orderRepository, times(1)).findById(anyLong());
-        verify(orderRepository, times(1)).save(any(Order.class));
-        // KafkaProducerService is mocked but not explicitly verified as per instructions
+        verify(orderRepository, times(1)).compareAndSetStatus(1L, OrderStatus.COOKING, OrderStatus.READY_TO_SERVE);
+        verify(outboxService, times(1)).enqueue(eq("serve-order-topic"), any(), any(OrderNotificationDTO.class));
     }
 
     @Test
     void testMarkOrderAsReadyToServe_OrderNotFound() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(orderRepository.findStatusById(anyLong())).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> orderService.markOrderAsReadyToServe(1L));
 
         assertEquals("Order not found with id: 1", exception.getMessage());
-        verify(orderRepository, times(1)).findById(anyLong());
-        verifyNoInteractions(kafkaProducerService);
+        verify(orderRepository, times(1)).findStatusById(anyLong());
+        verifyNoInteractions(outboxService);
     }
 
     @Test
     void testMarkOrderAsServed_Success() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
-        doNothing().when(kafkaProducerService).sendMessage(anyString(), any(OrderNotificationDTO.class));
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.READY_TO_SERVE));
+        when(orderRepository.compareAndSetStatus(1L, OrderStatus.READY_TO_SERVE, OrderStatus.SERVED)).thenReturn(1);
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
 
         OrderNotificationDTO result = orderService.markOrderAsServed(1L);
 
         assertNotNull(result);
         assertEquals(order.getId(), result.getOrderId());
-        assertEquals(OrderStatus.SERVED, order.getStatus());
-        verify(orderRepository, times(1)).findById(anyLong());
-        verify(orderRepository, times(1)).save(any(Order.class));
-        // KafkaProducerService is mocked but not explicitly verified as per instructions
+        verify(orderRepository, times(1)).compareAndSetStatus(1L, OrderStatus.READY_TO_SERVE, OrderStatus.SERVED);
+        verify(outboxService, times(1)).enqueue(eq("update-order-topic"), any(), any(OrderNotificationDTO.class));
+    }
+
+    @Test
+    void testMarkOrderAsServed_FromPendingIsAConflict() {
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PENDING));
+
+        assertThrows(ConflictException.class, () -> orderService.markOrderAsServed(1L));
+
+        verify(orderRepository, never()).compareAndSetStatus(anyLong(), any(), any());
+        verifyNoInteractions(outboxService);
     }
 
     @Test
     void testMarkOrderAsServed_OrderNotFound() {
-        when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(orderRepository.findStatusById(anyLong())).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> orderService.markOrderAsServed(1L));
 
         assertEquals("Order not found with id: 1", exception.getMessage());
-        verify(orderRepository, times(1)).findById(anyLong());
-        verifyNoInteractions(kafkaProducerService);
+        verify(orderRepository, times(1)).findStatusById(anyLong());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateOrderStatuses_ReportsPerOrderAndUpdatesWithCompareAndSet() {
+        Order cooking = orderWithStatus(2L, OrderStatus.COOKING);
+        Order alreadyReady = orderWithStatus(3L, OrderStatus.READY_TO_SERVE);
+        Order served = orderWithStatus(4L, OrderStatus.SERVED);
+        Order changedConcurrently = orderWithStatus(5L, OrderStatus.COOKING);
+        when(orderRepository.findAllWithDetailsByIdIn(anyCollection()))
+                .thenReturn(List.of(order, cooking, alreadyReady, served, changedConcurrently));
+        when(orderRepository.compareAndSetStatuses(List.of(1L), "PENDING", "READY_TO_SERVE")).thenReturn(List.of(1L));
+        when(orderRepository.compareAndSetStatuses(List.of(2L, 5L), "COOKING", "READY_TO_SERVE")).thenReturn(List.of(2L));
+
+        BulkOrderStatusResponseDTO result = orderService.updateOrderStatuses(
+                new BulkOrderStatusRequestDTO(List.of(1L, 2L, 3L, 4L, 5L, 6L, 1L), OrderStatus.READY_TO_SERVE));
+
+        assertEquals(2, result.getUpdatedCount());
+        assertEquals(List.of(
+                new BulkOrderStatusResponseDTO.OrderResult(1L, BulkOrderStatusResponseDTO.Outcome.UPDATED),
+                new BulkOrderStatusResponseDTO.OrderResult(2L, BulkOrderStatusResponseDTO.Outcome.UPDATED),
+                new BulkOrderStatusResponseDTO.OrderResult(3L, BulkOrderStatusResponseDTO.Outcome.UNCHANGED),
+                new BulkOrderStatusResponseDTO.OrderResult(4L, BulkOrderStatusResponseDTO.Outcome.INVALID_TRANSITION),
+                new BulkOrderStatusResponseDTO.OrderResult(5L, BulkOrderStatusResponseDTO.Outcome.CONFLICT),
+                new BulkOrderStatusResponseDTO.OrderResult(6L, BulkOrderStatusResponseDTO.Outcome.NOT_FOUND)), result.getResults());
+
+        ArgumentCaptor<List<OutboxService.Message>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(outboxService, times(1)).enqueueAll(eq("serve-order-topic"), messagesCaptor.capture());
+        assertEquals(List.of("1", "2"), messagesCaptor.getValue().stream().map(OutboxService.Message::key).toList());
+        verify(orderRepository, never()).findById(anyLong());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(outboxService, never()).enqueue(anyString(), any(), any());
+    }
+
+    @Test
+    void testUpdateOrderStatuses_NothingToChangeSkipsUpdateAndPublish() {
+        when(orderRepository.findAllWithDetailsByIdIn(anyCollection())).thenReturn(List.of());
+
+        BulkOrderStatusResponseDTO result = orderService.updateOrderStatuses(
+                new BulkOrderStatusRequestDTO(List.of(5L), OrderStatus.COOKING));
+
+        assertEquals(0, result.getUpdatedCount());
+        assertEquals(BulkOrderStatusResponseDTO.Outcome.NOT_FOUND, result.getResults().getFirst().getOutcome());
+        verify(orderRepository, never()).compareAndSetStatuses(anyCollection(), any(), any());
+        verifyNoInteractions(outboxService);
+    }
+
+    private Order orderWithStatus(Long id, OrderStatus status) {
+        return Order.builder()
+                .id(id)
+                .seatTable(seatTable)
+                .status(status)
+                .orderItems(new java.util.HashSet<>())
+                .build();
     }
 }
@@ -0,0 +1,254 @@
+package com.tlfdt.bonrecreme.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tlfdt.bonrecreme.config.message.kafka.producer.KafkaProducerService;
+import com.tlfdt.bonrecreme.config.properties.OutboxProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import com.tlfdt.bonrecreme.model.restaurant.OutboxEvent;
+import com.tlfdt.bonrecreme.repository.restaurant.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxProperties outboxProperties;
+    private OutboxService outboxService;
+    private OutboxRelay outboxRelay;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        outboxProperties = new OutboxProperties();
+        outboxProperties.setBatchSize(2);
+        outboxProperties.setMaxAttempts(3);
+        outboxProperties.setSendTimeoutSeconds(1);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        outboxService = new OutboxService(outboxEventRepository, objectMapper);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxService, kafkaProducerService, outboxProperties,
+                transactionManager, meterRegistry);
+    }
+
+    @Test
+    void testPublishBatch_MarksAcknowledgedEventsAsPublished() {
+        OutboxEvent event = orderEvent(1L, "{\"order_id\":7,\"table_id\":3}");
+        when(outboxEventRepository.lockNextBatch(any(), eq(3), eq(2))).thenReturn(List.of(event));
+        when(kafkaProducerService.sendMessage(eq("order-topic"), any(), any(OrderNotificationDTO.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(1, outboxRelay.publishBatch());
+
+        assertNotNull(event.getPublishedAt());
+        assertEquals(0, event.getAttempts());
+    }
+
+    @Test
+    void testPublishBatch_RecordsFailureAndKeepsEventPending() {
+        OutboxEvent event = orderEvent(1L, "{\"order_id\":7,\"table_id\":3}");
+        when(outboxEventRepository.lockNextBatch(any(), eq(3), eq(2))).thenReturn(List.of(event));
+        when(kafkaProducerService.sendMessage(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        outboxRelay.publishBatch();
+
+        assertNull(event.getPublishedAt());
+        assertEquals(1, event.getAttempts());
+        assertEquals("Broker unavailable", event.getLastError());
+        assertNotNull(event.getNextAttemptAt());
+    }
+
+    @Test
+    void testPublishBatch_BacksOffExponentiallyUpToTheMaximum() {
+        outboxProperties.setMaxAttempts(20);
+        outboxProperties.setRetryInitialBackoffMs(1_000);
+        outboxProperties.setRetryMaxBackoffMs(60_000);
+        OutboxEvent second = orderEvent(1L, "{\"order_id\":7}");
+        second.setAttempts(1);
+        OutboxEvent capped = orderEvent(2L, "{\"order_id\":8}");
+        capped.setAttempts(10);
+        when(outboxEventRepository.lockNextBatch(any(), eq(20), eq(2))).thenReturn(List.of(second, capped));
+        when(kafkaProducerService.sendMessage(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxRelay.publishBatch();
+        LocalDateTime after = LocalDateTime.now();
+
+        // Second failure: twice the initial backoff
+        assertFalse(second.getNextAttemptAt().isBefore(before.plusSeconds(2)));
+        assertFalse(second.getNextAttemptAt().isAfter(after.plusSeconds(2)));
+        // Eleventh failure: 1024 s, capped at the maximum
+        assertFalse(capped.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+        assertFalse(capped.getNextAttemptAt().isAfter(after.plusSeconds(60)));
+        assertNull(capped.getDeadLetteredAt());
+    }
+
+    @Test
+    void testPublishBatch_UnknownPayloadTypeIsNotSent() {
+        OutboxEvent event = OutboxEvent.builder().id(1L).topic("order-topic").payloadType("java.lang.Runtime").payload("{}").build();
+        when(outboxEventRepository.lockNextBatch(any(), eq(3), eq(2))).thenReturn(List.of(event));
+
+        outboxRelay.publishBatch();
+
+        assertNull(event.getPublishedAt());
+        assertEquals(1, event.getAttempts());
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    @Test
+    void testPublishBatch_FailureStopsLaterEventsOfTheSameKey() {
+        outboxProperties.setBatchSize(3);
+        OutboxEvent first = keyedEvent(1L, "7");
+        OutboxEvent second = keyedEvent(2L, "7");
+        OutboxEvent otherKey = keyedEvent(3L, "8");
+        when(outboxEventRepository.lockNextBatch(any(), eq(3), eq(3))).thenReturn(List.of(first, second, otherKey));
+        when(kafkaProducerService.sendMessage(eq("order-topic"), eq("7"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+        when(kafkaProducerService.sendMessage(eq("order-topic"), eq("8"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxRelay.publishBatch();
+
+        assertEquals(1, first.getAttempts());
+        assertNull(second.getPublishedAt());
+        assertEquals(0, second.getAttempts());
+        assertNotNull(otherKey.getPublishedAt());
+        // The second event of key 7 was never sent, so it cannot overtake the first
+        verify(kafkaProducerService, times(1)).sendMessage(eq("order-topic"), eq("7"), any());
+    }
+
+    @Test
+    void testPublishBatch_SendsEventsOfOneKeyInOrder() {
+        OutboxEvent first = keyedEvent(1L, "7");
+        OutboxEvent second = keyedEvent(2L, "7");
+        when(outboxEventRepository.lockNextBatch(any(), eq(3), eq(2))).thenReturn(List.of(first, second));
+        when(kafkaProducerService.sendMessage(eq("order-topic"), eq("7"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenAnswer(invocation -> {
+                    // The second event is only sent once the first one was acknowledged
+                    assertNotNull(first.getPublishedAt());
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        outboxRelay.publishBatch();
+
+        assertNotNull(first.getPublishedAt());
+        assertNotNull(second.getPublishedAt());
+    }
+
+    @Test
+    void testPublishBatch_SkipsKeysWithAnOlderEventLockedElsewhere() {
+        OutboxEvent event = keyedEvent(5L, "7");
+        when(outboxEventRepository.lockNextBatch(any(), eq(3), eq(2))).thenReturn(List.of(event));
+        when(outboxEventRepository.findOlderPendingKeys(anyCollection(), anyCollection(), anyLong(), anyInt()))
+                .thenReturn(List.of(pendingKey("order-topic", "7")));
+
+        outboxRelay.publishBatch();
+
+        assertNull(event.getPublishedAt());
+        assertEquals(0, event.getAttempts());
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    @Test
+    void testPublishBatch_DeadLettersEventsAtMaxAttempts() {
+        OutboxEvent event = orderEvent(1L, "{\"order_id\":7}");
+        event.setAttempts(2);
+        when(outboxEventRepository.lockNextBatch(any(), eq(3), eq(2))).thenReturn(List.of(event));
+        when(kafkaProducerService.sendMessage(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        outboxRelay.publishBatch();
+
+        assertEquals(3, event.getAttempts());
+        assertNotNull(event.getDeadLetteredAt());
+        assertEquals(1.0, meterRegistry.get("outbox.events.dead_lettered").tag("topic", "order-topic").counter().count());
+    }
+
+    @Test
+    void testPoll_DrainsFullBatchesUntilTheOutboxIsEmpty() {
+        when(outboxEventRepository.lockNextBatch(any(), anyInt(), anyInt()))
+                .thenReturn(List.of(orderEvent(1L, "{\"order_id\":1}"), orderEvent(2L, "{\"order_id\":2}")))
+                .thenReturn(List.of(orderEvent(3L, "{\"order_id\":3}")));
+        when(kafkaProducerService.sendMessage(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxRelay.poll();
+
+        verify(outboxEventRepository, times(2)).lockNextBatch(any(), anyInt(), anyInt());
+        verify(kafkaProducerService, times(3)).sendMessage(any(), any(), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testPoll_StopsAfterAFullBatchThatWasNotPublished() {
+        when(outboxEventRepository.lockNextBatch(any(), anyInt(), anyInt()))
+                .thenReturn(List.of(orderEvent(1L, "{\"order_id\":1}"), orderEvent(2L, "{\"order_id\":2}")));
+        when(kafkaProducerService.sendMessage(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        outboxRelay.poll();
+
+        verify(outboxEventRepository, times(1)).lockNextBatch(any(), anyInt(), anyInt());
+    }
+
+    private static OutboxEvent orderEvent(Long id, String payload) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("order-topic")
+                .payloadType(OrderNotificationDTO.class.getName())
+                .payload(payload)
+                .build();
+    }
+
+    private static OutboxEvent keyedEvent(Long id, String key) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("order-topic")
+                .messageKey(key)
+                .payloadType(OrderNotificationDTO.class.getName())
+                .payload("{\"order_id\":" + key + "}")
+                .build();
+    }
+
+    private static OutboxEventRepository.PendingKey pendingKey(String topic, String messageKey) {
+        return new OutboxEventRepository.PendingKey() {
+            @Override
+            public String getTopic() {
+                return topic;
+            }
+
+            @Override
+            public String getMessageKey() {
+                return messageKey;
+            }
+        };
+    }
+}
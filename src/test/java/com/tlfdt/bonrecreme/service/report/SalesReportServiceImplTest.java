@@ -0,0 +1,107 @@
+package com.tlfdt.bonrecreme.service.report;
+
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesReportRequestDTO;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.model.restaurant.enums.BillStatus;
+import com.tlfdt.bonrecreme.repository.restaurant.BillRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.DailySalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.SalesPeriodTotals;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.SalesReportRow;
+import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import com.tlfdt.bonrecreme.service.report.template.JasperTemplateCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesReportServiceImplTest {
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private DailySalesRepository dailySalesRepository;
+
+    @Mock
+    private JasperTemplateCache jasperTemplateCache;
+
+    @InjectMocks
+    private SalesReportServiceImpl salesReportService;
+
+    @Test
+    void testWriteCsvSalesReport_StreamsRowsAndClosesCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<SalesReportRow> rows = Stream.of(
+                new SalesReportRow(1L, LocalDateTime.of(2024, 5, 1, 12, 0), new BigDecimal("10.50")),
+                new SalesReportRow(2L, LocalDateTime.of(2024, 5, 2, 18, 30, 5), new BigDecimal("4.25")))
+                .onClose(() -> closed.set(true));
+        when(billRepository.streamSalesReportRows(BillStatus.PAID,
+                LocalDateTime.of(2024, 5, 1, 0, 0), LocalDateTime.of(2024, 6, 1, 0, 0))).thenReturn(rows);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        salesReportService.writeCsvSalesReport(2024, 5, outputStream);
+
+        assertEquals("""
+                Date,Bill,Total Amount,
+                2024-05-01 12:00:00,1,10.50
+                2024-05-02 18:30:05,2,4.25
+
+
+
+                Total Revenue,,14.75
+                """, outputStream.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+        verify(billRepository, never()).findBillsWithDetailsByStatusAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void testCheckSalesReportAvailable_AnsweredFromRollups() {
+        when(dailySalesRepository.sumByDateRange(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 1)))
+                .thenReturn(new SalesPeriodTotals(3L, new BigDecimal("42.50")));
+
+        assertDoesNotThrow(() -> salesReportService.checkSalesReportAvailable(2024, 5));
+        verifyNoInteractions(billRepository);
+    }
+
+    @Test
+    void testCheckSalesReportAvailable_FallsBackToBillsForMonthsWithoutRollups() {
+        when(dailySalesRepository.sumByDateRange(any(), any())).thenReturn(new SalesPeriodTotals(null, null));
+        when(billRepository.existsByStatusAndDateRange(BillStatus.PAID,
+                LocalDateTime.of(2024, 5, 1, 0, 0), LocalDateTime.of(2024, 6, 1, 0, 0))).thenReturn(true);
+
+        assertDoesNotThrow(() -> salesReportService.checkSalesReportAvailable(2024, 5));
+    }
+
+    @Test
+    void testCheckSalesReportAvailable_NoPaidBills() {
+        when(billRepository.existsByStatusAndDateRange(any(), any(), any())).thenReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> salesReportService.checkSalesReportAvailable(2024, 5));
+
+        assertEquals("No paid bills found for the selected period.", exception.getMessage());
+    }
+
+    @Test
+    void testGenerateSalesReport_CsvChecksPeriodBeforeStreaming() {
+        when(billRepository.existsByStatusAndDateRange(any(), any(), any())).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> salesReportService.generateSalesReport(new SalesReportRequestDTO(2024, 5, ReportFormat.CSV)));
+        verify(billRepository, never()).streamSalesReportRows(any(), any(), any());
+    }
+}
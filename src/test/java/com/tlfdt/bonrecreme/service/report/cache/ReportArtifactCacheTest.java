@@ -0,0 +1,166 @@
+package com.tlfdt.bonrecreme.service.report.cache;
+
+import com.tlfdt.bonrecreme.config.properties.ReportCacheProperties;
+import com.tlfdt.bonrecreme.config.properties.ReportJobProperties;
+import com.tlfdt.bonrecreme.repository.restaurant.DailySalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.SalesPeriodTotals;
+import com.tlfdt.bonrecreme.service.report.SalesReportService;
+import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportArtifactCacheTest {
+
+    private static final LocalDate MAY = LocalDate.of(2024, 5, 1);
+    private static final LocalDate JUNE = LocalDate.of(2024, 6, 1);
+    private static final long GRACE_SECONDS = 60;
+
+    @Mock
+    private SalesReportService salesReportService;
+
+    @Mock
+    private DailySalesRepository dailySalesRepository;
+
+    @TempDir
+    private Path storageDir;
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    private ReportArtifactCache reportArtifactCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReportJobProperties jobProperties = new ReportJobProperties();
+        jobProperties.setStorageDir(storageDir);
+        ReportCacheProperties cacheProperties = new ReportCacheProperties();
+        cacheProperties.setEvictionGraceSeconds(GRACE_SECONDS);
+        reportArtifactCache = new ReportArtifactCache(salesReportService, dailySalesRepository, jobProperties, cacheProperties);
+        reportArtifactCache.init();
+
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(("render " + renders.incrementAndGet()).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(salesReportService).writeCsvSalesReport(eq(2024), eq(5), any());
+    }
+
+    @Test
+    void testGetOrRender_SameDataVersionIsServedFromCache() throws Exception {
+        when(dailySalesRepository.sumByDateRange(MAY, JUNE)).thenReturn(new SalesPeriodTotals(3L, new BigDecimal("42.50")));
+
+        ReportArtifactCache.CachedReport first = reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+        ReportArtifactCache.CachedReport second = reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+
+        assertEquals(1, renders.get());
+        assertEquals(first, second);
+        assertEquals("render 1", Files.readString(first.path()));
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void testGetOrRender_NewDataVersionRendersAgainAndDeletesOldFileAfterGracePeriod() throws Exception {
+        when(dailySalesRepository.sumByDateRange(MAY, JUNE))
+                .thenReturn(new SalesPeriodTotals(3L, new BigDecimal("42.50")))
+                .thenReturn(new SalesPeriodTotals(4L, new BigDecimal("50.00")));
+
+        ReportArtifactCache.CachedReport first = reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+        ReportArtifactCache.CachedReport second = reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+
+        assertEquals(2, renders.get());
+        assertNotEquals(first.etag(), second.etag());
+        // A download handed the old file just before the eviction can still open it
+        assertTrue(Files.exists(first.path()));
+        assertEquals(0, reportArtifactCache.purgeEvicted(Instant.now()));
+        assertTrue(Files.exists(first.path()));
+
+        assertEquals(1, reportArtifactCache.purgeEvicted(Instant.now().plusSeconds(GRACE_SECONDS + 1)));
+        assertFalse(Files.exists(first.path()));
+        assertTrue(Files.exists(second.path()));
+    }
+
+    @Test
+    void testInvalidate_EvictsThePeriod() throws Exception {
+        when(dailySalesRepository.sumByDateRange(MAY, JUNE)).thenReturn(new SalesPeriodTotals(null, null));
+
+        ReportArtifactCache.CachedReport first = reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+        reportArtifactCache.invalidate(YearMonth.of(2024, 4));
+        reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+        assertEquals(1, renders.get());
+
+        reportArtifactCache.invalidate(YearMonth.of(2024, 5));
+        reportArtifactCache.purgeEvicted(Instant.now().plusSeconds(GRACE_SECONDS + 1));
+        assertFalse(Files.exists(first.path()));
+        reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void testPurgeEvicted_KeepsFileThatIsCachedAgain() throws Exception {
+        when(dailySalesRepository.sumByDateRange(MAY, JUNE)).thenReturn(new SalesPeriodTotals(3L, new BigDecimal("42.50")));
+
+        ReportArtifactCache.CachedReport first = reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+        reportArtifactCache.invalidate(YearMonth.of(2024, 5));
+        renders.set(0); // The re-render writes the same content, so it lands on the same file
+        ReportArtifactCache.CachedReport second = reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV);
+
+        assertEquals(first.path(), second.path());
+        assertEquals(0, reportArtifactCache.purgeEvicted(Instant.now().plusSeconds(GRACE_SECONDS + 1)));
+        assertTrue(Files.exists(second.path()));
+    }
+
+    @Test
+    void testWriteTo_StreamsAMissAndCachesIt() throws Exception {
+        when(dailySalesRepository.sumByDateRange(MAY, JUNE)).thenReturn(new SalesPeriodTotals(3L, new BigDecimal("42.50")));
+
+        assertNull(reportArtifactCache.getIfCached(2024, 5, ReportFormat.CSV));
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        reportArtifactCache.writeTo(2024, 5, ReportFormat.CSV, first);
+        ReportArtifactCache.CachedReport cached = reportArtifactCache.getIfCached(2024, 5, ReportFormat.CSV);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        reportArtifactCache.writeTo(2024, 5, ReportFormat.CSV, second);
+
+        assertEquals(1, renders.get());
+        assertEquals("render 1", first.toString(StandardCharsets.UTF_8));
+        assertEquals("render 1", second.toString(StandardCharsets.UTF_8));
+        assertEquals("render 1", Files.readString(cached.path()));
+    }
+
+    @Test
+    void testWriteTo_ClientFailureStillCachesTheReport() throws Exception {
+        when(dailySalesRepository.sumByDateRange(MAY, JUNE)).thenReturn(new SalesPeriodTotals(3L, new BigDecimal("42.50")));
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> reportArtifactCache.writeTo(2024, 5, ReportFormat.CSV, disconnected));
+        ReportArtifactCache.CachedReport cached = reportArtifactCache.getIfCached(2024, 5, ReportFormat.CSV);
+
+        assertEquals("render 1", Files.readString(cached.path()));
+        assertEquals(cached, reportArtifactCache.getOrRender(2024, 5, ReportFormat.CSV));
+        assertEquals(1, renders.get());
+    }
+}
@@ -0,0 +1,153 @@
+package com.tlfdt.bonrecreme.service.report.job;
+
+import com.tlfdt.bonrecreme.config.properties.ReportJobProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.ReportJobDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.exception.custom.ServiceBusyException;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.service.report.SalesReportService;
+import com.tlfdt.bonrecreme.service.report.enums.ReportFormat;
+import com.tlfdt.bonrecreme.service.report.enums.ReportJobStatus;
+import com.tlfdt.bonrecreme.service.report.sse.ReportSseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    @Mock
+    private SalesReportService salesReportService;
+
+    @Mock
+    private ReportSseService reportSseService;
+
+    @TempDir
+    private Path storageDir;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReportJobProperties properties = new ReportJobProperties();
+        properties.setWorkerThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setStorageDir(storageDir);
+        ReportArtifactStore store = new ReportArtifactStore(properties);
+        store.init();
+        reportJobService = new ReportJobService(salesReportService, store, reportSseService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        reportJobService.shutdown();
+    }
+
+    @Test
+    void testSubmit_IdenticalRequestsShareOneJob() throws Exception {
+        blockCsvUntilReleased();
+
+        ReportJobDTO first = reportJobService.submit(2024, 5, ReportFormat.CSV);
+        ReportJobDTO second = reportJobService.submit(2024, 5, ReportFormat.CSV);
+        release.countDown();
+
+        assertEquals(first.jobId(), second.jobId());
+        ReportJobDTO completed = awaitFinished(first.jobId());
+        assertEquals(ReportJobStatus.COMPLETED, completed.status());
+        assertEquals(100, completed.progress());
+        assertEquals("sales-report-2024-05.csv", completed.fileName());
+        verify(salesReportService, times(1)).writeCsvSalesReport(eq(2024), eq(5), any());
+
+        Path file = reportJobService.getArtifact(first.jobId()).path();
+        assertEquals("report", Files.readString(file, StandardCharsets.UTF_8));
+        verify(reportSseService, atLeast(3)).sendReportJobUpdate(argThat(job -> job.jobId().equals(first.jobId())));
+    }
+
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() throws Exception {
+        blockCsvUntilReleased();
+
+        reportJobService.submit(2024, 1, ReportFormat.CSV);
+        verify(salesReportService, timeout(5000)).writeCsvSalesReport(eq(2024), eq(1), any());
+        reportJobService.submit(2024, 2, ReportFormat.CSV);
+
+        assertThrows(ServiceBusyException.class, () -> reportJobService.submit(2024, 3, ReportFormat.CSV));
+
+        // The rejected job stays visible as failed to anyone who joined it before the rejection
+        verify(reportSseService).sendReportJobUpdate(argThat(job -> job.month() == 3 && job.status() == ReportJobStatus.FAILED));
+    }
+
+    @Test
+    void testInit_OnlyRemovesLeftoverReportFiles() throws Exception {
+        Path jobsDir = storageDir.resolve(ReportArtifactStore.JOBS_DIR);
+        Path leftover = Files.writeString(jobsDir.resolve("0b6c7d3e-8f51-4a0c-9d2b-6e1f2a3b4c5d.pdf"), "stale");
+        Path partial = Files.writeString(jobsDir.resolve("0b6c7d3e-8f51-4a0c-9d2b-6e1f2a3b4c5d.partial"), "stale");
+        Path unrelatedInJobsDir = Files.writeString(jobsDir.resolve("notes.txt"), "keep");
+        Path unrelatedInStorageDir = Files.writeString(storageDir.resolve("backup.sql"), "keep");
+
+        ReportJobProperties properties = new ReportJobProperties();
+        properties.setStorageDir(storageDir);
+        new ReportArtifactStore(properties).init();
+
+        assertFalse(Files.exists(leftover));
+        assertFalse(Files.exists(partial));
+        assertTrue(Files.exists(unrelatedInJobsDir));
+        assertTrue(Files.exists(unrelatedInStorageDir));
+    }
+
+    @Test
+    void testSubmit_MissingPeriodFailsTheJob() {
+        doThrow(new ResourceNotFoundException("No paid bills found for the selected period."))
+                .when(salesReportService).checkSalesReportAvailable(2024, 7);
+
+        ReportJobDTO job = reportJobService.submit(2024, 7, ReportFormat.PDF);
+        ReportJobDTO failed = awaitFinished(job.jobId());
+
+        assertEquals(ReportJobStatus.FAILED, failed.status());
+        assertEquals("No paid bills found for the selected period.", failed.error());
+        assertThrows(CustomExceptionHandler.class, () -> reportJobService.getArtifact(job.jobId()));
+    }
+
+    @Test
+    void testGetJob_UnknownIdThrows() {
+        assertThrows(ResourceNotFoundException.class, () -> reportJobService.getJob("missing"));
+    }
+
+    private void blockCsvUntilReleased() throws Exception {
+        lenient().doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write("report".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(salesReportService).writeCsvSalesReport(anyInt(), anyInt(), any());
+    }
+
+    private ReportJobDTO awaitFinished(String jobId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ReportJobDTO job = reportJobService.getJob(jobId);
+        while (!job.status().isFinished() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            job = reportJobService.getJob(jobId);
+        }
+        return job;
+    }
+}
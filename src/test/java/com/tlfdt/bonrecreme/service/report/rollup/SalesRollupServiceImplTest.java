@@ -0,0 +1,131 @@
+package com.tlfdt.bonrecreme.service.report.rollup;
+
+import com.tlfdt.bonrecreme.controller.api.v1.manager.dto.report.SalesSummaryDTO;
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import com.tlfdt.bonrecreme.exception.resource.ResourceNotFoundException;
+import com.tlfdt.bonrecreme.model.restaurant.DailySales;
+import com.tlfdt.bonrecreme.repository.restaurant.DailyMenuItemSalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.DailySalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.DailyTableSalesRepository;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.MenuItemSalesTotal;
+import com.tlfdt.bonrecreme.repository.restaurant.projection.TableSalesTotal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceImplTest {
+
+    @Mock
+    private DailySalesRepository dailySalesRepository;
+
+    @Mock
+    private DailyTableSalesRepository dailyTableSalesRepository;
+
+    @Mock
+    private DailyMenuItemSalesRepository dailyMenuItemSalesRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SalesRollupServiceImpl salesRollupService;
+
+    @BeforeEach
+    void setUp() {
+        salesRollupService = new SalesRollupServiceImpl(dailySalesRepository, dailyTableSalesRepository,
+                dailyMenuItemSalesRepository, transactionManager);
+    }
+
+    @Test
+    void testRecordPaidBill_UpdatesEveryRollup() {
+        salesRollupService.recordPaidBill(7L);
+
+        verify(dailySalesRepository).addBillToDailySales(7L);
+        verify(dailyTableSalesRepository).addBillToDailyTableSales(7L);
+        verify(dailyMenuItemSalesRepository).addBillToDailyMenuItemSales(7L);
+    }
+
+    @Test
+    void testGetMonthlySummary_SumsDailyRows() {
+        LocalDate start = LocalDate.of(2024, 2, 1);
+        LocalDate end = LocalDate.of(2024, 3, 1);
+        when(dailySalesRepository.findByDateRange(start, end)).thenReturn(List.of(
+                day(LocalDate.of(2024, 2, 3), 2, "30.00"),
+                day(LocalDate.of(2024, 2, 29), 1, "12.50")));
+        when(dailyTableSalesRepository.sumByTable(start, end))
+                .thenReturn(List.of(new TableSalesTotal(4L, 3L, new BigDecimal("42.50"))));
+        when(dailyMenuItemSalesRepository.sumByMenuItem(start, end))
+                .thenReturn(List.of(new MenuItemSalesTotal(9L, "Crème brûlée", 5L, new BigDecimal("42.50"))));
+
+        SalesSummaryDTO summary = salesRollupService.getMonthlySummary(2024, 2);
+
+        assertEquals(3, summary.billCount());
+        assertEquals(new BigDecimal("42.50"), summary.totalAmount());
+        assertEquals(2, summary.days().size());
+        assertEquals(LocalDate.of(2024, 2, 29), summary.days().get(1).date());
+        assertEquals(new SalesSummaryDTO.TableSales(4L, 3, new BigDecimal("42.50")), summary.tables().getFirst());
+        assertEquals("Crème brûlée", summary.menuItems().getFirst().name());
+    }
+
+    @Test
+    void testGetMonthlySummary_EmptyMonthThrows() {
+        when(dailySalesRepository.findByDateRange(any(), any())).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> salesRollupService.getMonthlySummary(2024, 1));
+        verifyNoInteractions(dailyTableSalesRepository, dailyMenuItemSalesRepository);
+    }
+
+    @Test
+    void testRebuild_ReplacesEachMonthInItsOwnTransaction() {
+        int months = salesRollupService.rebuild(YearMonth.of(2023, 12), YearMonth.of(2024, 1));
+
+        assertEquals(2, months);
+        verify(transactionManager, times(2)).getTransaction(any());
+        InOrder inOrder = inOrder(dailySalesRepository, dailyTableSalesRepository, dailyMenuItemSalesRepository);
+        inOrder.verify(dailySalesRepository).lockRollupTables();
+        inOrder.verify(dailySalesRepository).deleteDailySales(LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 1));
+        inOrder.verify(dailyTableSalesRepository).deleteDailyTableSales(LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 1));
+        inOrder.verify(dailyMenuItemSalesRepository).deleteDailyMenuItemSales(LocalDate.of(2023, 12, 1), LocalDate.of(2024, 1, 1));
+        inOrder.verify(dailySalesRepository).rebuildDailySales(
+                LocalDateTime.of(2023, 12, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0));
+        inOrder.verify(dailyTableSalesRepository).rebuildDailyTableSales(
+                LocalDateTime.of(2023, 12, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0));
+        inOrder.verify(dailyMenuItemSalesRepository).rebuildDailyMenuItemSales(
+                LocalDateTime.of(2023, 12, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0));
+        inOrder.verify(dailySalesRepository).lockRollupTables();
+        inOrder.verify(dailySalesRepository).deleteDailySales(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+        inOrder.verify(dailySalesRepository).rebuildDailySales(
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0));
+    }
+
+    @Test
+    void testRebuild_RejectsInvalidRanges() {
+        assertThrows(CustomExceptionHandler.class,
+                () -> salesRollupService.rebuild(YearMonth.of(2024, 3), YearMonth.of(2024, 2)));
+        assertThrows(CustomExceptionHandler.class,
+                () -> salesRollupService.rebuild(YearMonth.of(2000, 1), YearMonth.of(2024, 1)));
+        verifyNoInteractions(dailySalesRepository, dailyTableSalesRepository, dailyMenuItemSalesRepository);
+    }
+
+    private static DailySales day(LocalDate date, long billCount, String totalAmount) {
+        return DailySales.builder()
+                .salesDate(date)
+                .billCount(billCount)
+                .totalAmount(new BigDecimal(totalAmount))
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.tlfdt.bonrecreme.service.report.template;
+
+import com.tlfdt.bonrecreme.config.properties.ReportTemplateProperties;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperExportManager;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the latency of generating the monthly sales PDF when the template is compiled on every
+ * request, as it was before, with taking the compiled template from {@link JasperTemplateCache}.
+ * Both fill and export the same rows. It is skipped by default; run it with
+ * {@code mvn test -Dtest=JasperTemplateCacheBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class JasperTemplateCacheBenchmarkTest {
+
+    private static final String TEMPLATE = "reports/sales-report-template.jrxml";
+    private static final int[] ROW_COUNTS = {10, 1_000};
+    private static final int WARMUP_REPORTS = 20;
+    private static final int MEASURED_REPORTS = 100;
+
+    @Test
+    void benchmarkCompilePerRequestAgainstCache() throws Exception {
+        JasperTemplateCache jasperTemplateCache = new JasperTemplateCache(new ReportTemplateProperties());
+
+        for (int rowCount : ROW_COUNTS) {
+            List<Map<String, Object>> rows = rows(rowCount);
+            Latency compiled = measure(JasperTemplateCacheBenchmarkTest::compile, rows);
+            Latency cached = measure(() -> jasperTemplateCache.get(TEMPLATE), rows);
+            log.info("Sales PDF, {} rows, compiled per request (before): p50 {} ms, p99 {} ms",
+                    String.format("%5d", rowCount), String.format("%7.2f", compiled.p50Millis()), String.format("%7.2f", compiled.p99Millis()));
+            log.info("Sales PDF, {} rows, cached template:               p50 {} ms, p99 {} ms ({}x faster at p50)",
+                    String.format("%5d", rowCount), String.format("%7.2f", cached.p50Millis()), String.format("%7.2f", cached.p99Millis()),
+                    String.format("%.1f", compiled.p50Millis() / cached.p50Millis()));
+            assertTrue(cached.p50Millis() > 0);
+        }
+    }
+
+    private static JasperReport compile() throws Exception {
+        try (InputStream inputStream = new ClassPathResource(TEMPLATE).getInputStream()) {
+            return JasperCompileManager.compileReport(inputStream);
+        }
+    }
+
+    /**
+     * Times each report from getting the template to the exported PDF, as a request does.
+     */
+    private static Latency measure(TemplateSource templateSource, List<Map<String, Object>> rows) throws Exception {
+        for (int i = 0; i < WARMUP_REPORTS; i++) {
+            render(templateSource, rows);
+        }
+        long[] latencies = new long[MEASURED_REPORTS];
+        for (int i = 0; i < MEASURED_REPORTS; i++) {
+            long start = System.nanoTime();
+            int size = render(templateSource, rows);
+            latencies[i] = System.nanoTime() - start;
+            assertTrue(size > 0);
+        }
+        Arrays.sort(latencies);
+        return new Latency(latencies[MEASURED_REPORTS / 2] / 1e6,
+                latencies[(int) Math.ceil(MEASURED_REPORTS * 0.99) - 1] / 1e6);
+    }
+
+    private static int render(TemplateSource templateSource, List<Map<String, Object>> rows) throws Exception {
+        BigDecimal totalSales = BigDecimal.ZERO;
+        for (Map<String, Object> row : rows) {
+            totalSales = totalSales.add((BigDecimal) row.get("totalAmount"));
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("ReportTitle", "Monthly Sales Report");
+        parameters.put("MonthYear", "MAY 2024");
+        parameters.put("TotalSales", totalSales);
+
+        JasperPrint jasperPrint = JasperFillManager.fillReport(templateSource.get(), parameters, new JRBeanCollectionDataSource(rows));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JasperExportManager.exportReportToPdfStream(jasperPrint, outputStream);
+        return outputStream.size();
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 9, 0);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", (long) i + 1);
+            row.put("createdAt", start.plusMinutes(40L * i).format(formatter));
+            row.put("totalAmount", BigDecimal.valueOf(1_250 + (i % 40) * 75L, 2));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface TemplateSource {
+        JasperReport get() throws Exception;
+    }
+
+    private record Latency(double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.tlfdt.bonrecreme.service.report.template;
+
+import com.tlfdt.bonrecreme.config.properties.ReportTemplateProperties;
+import net.sf.jasperreports.engine.JasperReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JasperTemplateCacheTest {
+
+    private static final String TEMPLATE = "reports/sales-report-template.jrxml";
+
+    private JasperTemplateCache jasperTemplateCache;
+
+    @BeforeEach
+    void setUp() {
+        jasperTemplateCache = new JasperTemplateCache(new ReportTemplateProperties());
+    }
+
+    @Test
+    void testGet_CompilesOnceAndReusesTheReport() throws Exception {
+        JasperReport first = jasperTemplateCache.get(TEMPLATE);
+        JasperReport second = jasperTemplateCache.get(TEMPLATE);
+
+        assertNotNull(first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void testGet_ConcurrentFirstRequestsShareOneCompilation() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<JasperReport>> requests = IntStream.range(0, 8)
+                    .<Callable<JasperReport>>mapToObj(i -> () -> jasperTemplateCache.get(TEMPLATE))
+                    .toList();
+            List<Future<JasperReport>> results = executor.invokeAll(requests);
+
+            JasperReport expected = results.getFirst().get();
+            for (Future<JasperReport> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testClear_ForcesRecompilation() throws Exception {
+        JasperReport first = jasperTemplateCache.get(TEMPLATE);
+
+        jasperTemplateCache.clear();
+
+        assertNotSame(first, jasperTemplateCache.get(TEMPLATE));
+    }
+
+    @Test
+    void testGet_MissingTemplate() {
+        assertThrows(FileNotFoundException.class, () -> jasperTemplateCache.get("reports/missing.jrxml"));
+    }
+}
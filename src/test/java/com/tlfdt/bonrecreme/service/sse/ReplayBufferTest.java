@@ -0,0 +1,52 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayBufferTest {
+
+    @Test
+    void testSince_ReturnsOnlyTheGap() {
+        ReplayBuffer buffer = new ReplayBuffer(4);
+        ReplayBuffer.Entry first = entry(1);
+        ReplayBuffer.Entry second = entry(2);
+        ReplayBuffer.Entry third = entry(3);
+        buffer.append(1, first);
+        buffer.append(2, second);
+        buffer.append(3, third);
+
+        assertEquals(List.of(second, third), buffer.since(1));
+        assertEquals(List.of(first, second, third), buffer.since(0));
+        assertEquals(List.of(), buffer.since(3));
+    }
+
+    @Test
+    void testSince_ReturnsNullOnceTheGapIsEvicted() {
+        ReplayBuffer buffer = new ReplayBuffer(2);
+        for (long sequence = 1; sequence <= 5; sequence++) {
+            buffer.append(sequence, entry(sequence));
+        }
+
+        assertNull(buffer.since(2));
+        assertEquals(2, buffer.since(3).size());
+    }
+
+    @Test
+    void testSince_ReturnsNullForUnknownFutureIds() {
+        ReplayBuffer buffer = new ReplayBuffer(2);
+        buffer.append(1, entry(1));
+
+        assertNull(buffer.since(7));
+    }
+
+    private static ReplayBuffer.Entry entry(long sequence) {
+        Set<DataWithMediaType> frames = SseEmitter.event().id(String.valueOf(sequence)).name("new-order").data("order").build();
+        return new ReplayBuffer.Entry(frames, sequence);
+    }
+}
@@ -0,0 +1,92 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.config.properties.SseProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures what one broadcast costs the calling thread (typically a Kafka listener) as the
+ * number of connected screens grows: bytes allocated and CPU time, read from the JVM's
+ * per-thread counters. Events are either addressed to every client or routed to one table
+ * while every client watches a different table, which only touches the routing index.
+ * <p>
+ * Delivery to each client happens on its own virtual thread and is not included. The clients
+ * have no HTTP connection, so their emitters buffer the events in memory. It is skipped by
+ * default; run it with {@code mvn test -Dtest=SseBroadcasterBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class SseBroadcasterBenchmarkTest {
+
+    private static final int[] CLIENT_COUNTS = {1, 10, 100, 500};
+    private static final int WARMUP_BROADCASTS = 200;
+    private static final int MEASURED_BROADCASTS = 1_000;
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void benchmarkBroadcastCostPerClientCount() {
+        assertTrue(threads.isThreadAllocatedMemorySupported() && threads.isCurrentThreadCpuTimeSupported(),
+                "The JVM must report per-thread allocation and CPU time");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threads.setThreadCpuTimeEnabled(true);
+
+        OrderNotificationDTO order = new OrderNotificationDTO(1L, 1L, List.of(
+                new OrderNotificationDTO.OrderItemDTO("Croissant", 2, null),
+                new OrderNotificationDTO.OrderItemDTO("Cafe creme", 1, "Oat milk")));
+
+        for (int clientCount : CLIENT_COUNTS) {
+            Cost addressedToAll = measure(clientCount, false, order);
+            Cost routedToOneTable = measure(clientCount, true, order);
+            log.info("SSE broadcast, {} clients: all clients {} B / {} µs per broadcast; routed to one table {} B / {} µs",
+                    String.format("%4d", clientCount),
+                    String.format("%,8.0f", addressedToAll.bytes()), String.format("%6.2f", addressedToAll.micros()),
+                    String.format("%,8.0f", routedToOneTable.bytes()), String.format("%6.2f", routedToOneTable.micros()));
+            assertTrue(addressedToAll.bytes() > 0);
+        }
+    }
+
+    private Cost measure(int clientCount, boolean routed, OrderNotificationDTO order) {
+        SseProperties sseProperties = new SseProperties();
+        // Large enough that no event is dropped, so every broadcast does the full amount of work
+        sseProperties.setClientQueueCapacity(WARMUP_BROADCASTS + MEASURED_BROADCASTS);
+        SseBroadcaster sseBroadcaster = new SseBroadcaster(sseProperties, new SimpleMeterRegistry(), new ObjectMapper());
+        try {
+            for (int i = 0; i < clientCount; i++) {
+                if (routed) {
+                    sseBroadcaster.subscribe("kitchen", "connected", null, SseSubscription.ofTables(List.of((long) i + 1), null, null));
+                } else {
+                    sseBroadcaster.subscribe("kitchen", "connected");
+                }
+            }
+            Long routingKey = routed ? 1L : null;
+            for (int i = 0; i < WARMUP_BROADCASTS; i++) {
+                sseBroadcaster.broadcast("kitchen", "new-order", order, routingKey);
+            }
+
+            long threadId = Thread.currentThread().threadId();
+            long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            long cpuBefore = threads.getCurrentThreadCpuTime();
+            for (int i = 0; i < MEASURED_BROADCASTS; i++) {
+                sseBroadcaster.broadcast("kitchen", "new-order", order, routingKey);
+            }
+            long cpuNanos = threads.getCurrentThreadCpuTime() - cpuBefore;
+            long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            return new Cost((double) bytes / MEASURED_BROADCASTS, cpuNanos / 1_000.0 / MEASURED_BROADCASTS);
+        } finally {
+            sseBroadcaster.shutdown();
+        }
+    }
+
+    private record Cost(double bytes, double micros) {
+    }
+}
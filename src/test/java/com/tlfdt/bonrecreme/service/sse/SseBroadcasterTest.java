@@ -0,0 +1,76 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tlfdt.bonrecreme.config.properties.SseProperties;
+import com.tlfdt.bonrecreme.controller.api.v1.kitchen.dto.OrderNotificationDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SseBroadcasterTest {
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private SseBroadcaster sseBroadcaster;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = spy(new ObjectMapper());
+        meterRegistry = new SimpleMeterRegistry();
+        sseBroadcaster = new SseBroadcaster(new SseProperties(), meterRegistry, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sseBroadcaster.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 40})
+    void testBroadcast_EncodesPayloadOncePerEvent(int clientCount) throws Exception {
+        for (int i = 0; i < clientCount; i++) {
+            sseBroadcaster.subscribe("kitchen", "connected");
+        }
+        OrderNotificationDTO order = new OrderNotificationDTO(1L, 2L, List.of());
+
+        sseBroadcaster.broadcast("kitchen", "new-order", order);
+
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+        assertEquals(clientCount, sseBroadcaster.clientCount("kitchen"));
+        assertEquals(clientCount, meterRegistry.get("sse.clients").tag("topic", "kitchen").gauge().value());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 40})
+    void testBroadcastAll_EncodesEachEventOnceRegardlessOfClients(int clientCount) throws Exception {
+        for (int i = 0; i < clientCount; i++) {
+            sseBroadcaster.subscribe("kitchen", "connected", null, SseSubscription.ofTables(List.of((long) i % 4 + 1), null, null));
+        }
+        List<OrderNotificationDTO> orders = List.of(
+                new OrderNotificationDTO(1L, 1L, List.of()),
+                new OrderNotificationDTO(2L, 2L, List.of()),
+                new OrderNotificationDTO(3L, 5L, List.of()));
+
+        sseBroadcaster.broadcastAll("kitchen", "new-order", orders, OrderNotificationDTO::getTableId);
+
+        verify(objectMapper, times(orders.size())).writeValueAsBytes(any());
+        assertEquals(0, meterRegistry.get("sse.events.dropped").tag("topic", "kitchen").counter().count());
+    }
+
+    @Test
+    void testBroadcastAll_IgnoresEmptyBatch() throws Exception {
+        sseBroadcaster.broadcastAll("kitchen", "new-order", List.<OrderNotificationDTO>of(), OrderNotificationDTO::getTableId);
+
+        verify(objectMapper, never()).writeValueAsBytes(any());
+        assertEquals(0, sseBroadcaster.clientCount("kitchen"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import com.tlfdt.bonrecreme.service.sse.enums.SlowClientPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseClientTest {
+
+    private final List<Runnable> pendingDrains = new ArrayList<>();
+    private final List<Set<DataWithMediaType>> delivered = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+
+    private SseClient client;
+
+    @BeforeEach
+    void setUp() {
+        SseEmitter emitter = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                delivered.add(items);
+            }
+        };
+        // Drain tasks are captured instead of run, so the queue fills up deterministically.
+        client = new SseClient("kitchen", emitter, SseSubscription.all(), 2, pendingDrains::add, (c, reason) -> failures.add(reason));
+    }
+
+    @Test
+    void testOffer_DropOldestKeepsNewestEvents() {
+        Set<DataWithMediaType> first = frames("1");
+        Set<DataWithMediaType> second = frames("2");
+        Set<DataWithMediaType> third = frames("3");
+
+        assertEquals(SseClient.Offer.QUEUED, client.offer(first, SlowClientPolicy.DROP_OLDEST));
+        assertEquals(SseClient.Offer.QUEUED, client.offer(second, SlowClientPolicy.DROP_OLDEST));
+        assertEquals(SseClient.Offer.DROPPED, client.offer(third, SlowClientPolicy.DROP_OLDEST));
+
+        assertEquals(1, pendingDrains.size());
+        pendingDrains.getFirst().run();
+
+        assertEquals(List.of(second, third), delivered);
+        assertEquals(0, client.queueDepth());
+    }
+
+    @Test
+    void testOffer_DropNewestKeepsBacklog() {
+        Set<DataWithMediaType> first = frames("1");
+        Set<DataWithMediaType> second = frames("2");
+
+        client.offer(first, SlowClientPolicy.DROP_NEWEST);
+        client.offer(second, SlowClientPolicy.DROP_NEWEST);
+        assertEquals(SseClient.Offer.DROPPED, client.offer(frames("3"), SlowClientPolicy.DROP_NEWEST));
+
+        pendingDrains.getFirst().run();
+
+        assertEquals(List.of(first, second), delivered);
+    }
+
+    @Test
+    void testOffer_DisconnectRejectsWhenFull() {
+        client.offer(frames("1"), SlowClientPolicy.DISCONNECT);
+        client.offer(frames("2"), SlowClientPolicy.DISCONNECT);
+
+        assertEquals(SseClient.Offer.REJECTED, client.offer(frames("3"), SlowClientPolicy.DISCONNECT));
+        assertEquals(2, client.queueDepth());
+    }
+
+    @Test
+    void testDrain_ReportsSendFailure() {
+        SseEmitter brokenEmitter = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        SseClient brokenClient = new SseClient("kitchen", brokenEmitter, SseSubscription.all(), 2, pendingDrains::add, (c, reason) -> failures.add(reason));
+
+        brokenClient.offer(frames("1"), SlowClientPolicy.DROP_OLDEST);
+        pendingDrains.getFirst().run();
+
+        assertEquals(List.of("send failed: Broken pipe"), failures);
+    }
+
+    private static Set<DataWithMediaType> frames(String data) {
+        return SseEmitter.event().name("new-order").data(data).build();
+    }
+}
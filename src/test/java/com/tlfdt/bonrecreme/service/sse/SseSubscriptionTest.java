@@ -0,0 +1,38 @@
+package com.tlfdt.bonrecreme.service.sse;
+
+import com.tlfdt.bonrecreme.exception.custom.CustomExceptionHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseSubscriptionTest {
+
+    @Test
+    void testOfTables_CombinesListAndRange() {
+        SseSubscription subscription = SseSubscription.ofTables(List.of(9L), 1L, 3L);
+
+        assertEquals(Set.of(1L, 2L, 3L, 9L), subscription.tableIds());
+        assertTrue(subscription.matches(2L));
+        assertFalse(subscription.matches(5L));
+        assertTrue(subscription.matches(null));
+    }
+
+    @Test
+    void testOfTables_WithoutFiltersMatchesEverything() {
+        SseSubscription subscription = SseSubscription.ofTables(null, null, null);
+
+        assertTrue(subscription.isWildcard());
+        assertTrue(subscription.matches(42L));
+    }
+
+    @Test
+    void testOfTables_RejectsInvalidOrOversizedRanges() {
+        assertThrows(CustomExceptionHandler.class, () -> SseSubscription.ofTables(null, 5L, null));
+        assertThrows(CustomExceptionHandler.class, () -> SseSubscription.ofTables(null, 5L, 1L));
+        assertThrows(CustomExceptionHandler.class,
+                () -> SseSubscription.ofTables(null, 1L, (long) SseSubscription.MAX_TABLES + 1));
+    }
+}